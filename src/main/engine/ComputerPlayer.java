@@ -0,0 +1,213 @@
+package engine;
+
+import model.GameBoard;
+import model.State;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static model.State.*;
+
+// Represents a computer opponent that plays one side of a game, choosing each move with a time-limited search.
+// While the opponent is thinking, the player can ponder: search the position it expects the opponent's reply to lead
+// to on a background thread (see Ponder), and reuse that search if the opponent plays the expected reply.
+public class ComputerPlayer {
+    public static final long DEFAULT_TIME_LIMIT = 1000;
+    public static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+    // Positions with this many empty squares or fewer are solved exactly instead of searched
+    public static final int SOLVE_EMPTIES = 14;
+
+    private volatile State side;
+    private long timeLimit;
+    private Search search;
+    private EndgameSolver solver;
+    private OpeningBook book;
+    private ExecutorService ponderThread;
+    private Ponder ponder;
+    private Future<SearchResult> pondered;
+    private int ponderHits;
+
+    // EFFECTS: Creates a computer player for side that thinks for up to DEFAULT_TIME_LIMIT milliseconds per move,
+    //          using one thread per available processor
+    public ComputerPlayer(State side) {
+        this(side, DEFAULT_TIME_LIMIT, new SquareEvaluator(), DEFAULT_THREADS);
+    }
+
+    // REQUIRES: threads >= 1
+    // EFFECTS: Creates a computer player for side that scores positions with evaluator and thinks for up to
+    //          timeLimit milliseconds per move on the given number of threads
+    public ComputerPlayer(State side, long timeLimit, Evaluator evaluator, int threads) {
+        this.side = side;
+        this.timeLimit = timeLimit;
+        this.search = new Search(evaluator, threads);
+        this.solver = new EndgameSolver();
+        this.book = OpeningBook.getDefault();
+    }
+
+    // getters
+    public State getSide() {
+        return side;
+    }
+
+    public long getTimeLimit() {
+        return timeLimit;
+    }
+
+    public int getThreads() {
+        return search.getThreads();
+    }
+
+    public OpeningBook getBook() {
+        return book;
+    }
+
+    public boolean isSelective() {
+        return search.isSelective();
+    }
+
+    public int getPonderHits() {
+        return ponderHits;
+    }
+
+    // setters
+    // MODIFIES: this
+    // EFFECTS: Has this player play side from now on, cancelling any pondering done for the old side. The search,
+    //          its threads and its transposition table are kept, so a player can change sides as often as needed.
+    public void setSide(State side) {
+        cancelPondering();
+        this.side = side;
+    }
+
+    public void setTimeLimit(long timeLimit) {
+        this.timeLimit = timeLimit;
+    }
+
+    public void setBook(OpeningBook book) {
+        this.book = book;
+    }
+
+    // EFFECTS: Turns Multi-ProbCut pruning of the search on or off, from the next move searched or at once if a move
+    //          is being searched
+    public void setSelective(boolean isSelective) {
+        search.setSelective(isSelective);
+    }
+
+    // EFFECTS: Returns true if game is still being played and it is this player's turn
+    public boolean isTurn(GameBoard game) {
+        return !game.isGameOver() && game.getTurn().equals(side);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Searches game for this player's next move and returns the result, including the nodes searched per
+    //          second. Positions in the opening book are played from the book without searching, and once
+    //          SOLVE_EMPTIES or fewer squares are empty, the game is solved exactly instead, without a time limit.
+    //          Stops pondering first, and if the pondered position is game, counts the time spent pondering it
+    //          against timeLimit: the pondered result is returned at once if it took timeLimit or longer or is exact,
+    //          and otherwise the deeper of it and a search for the rest of timeLimit. game itself is left unchanged.
+    public SearchResult chooseMove(GameBoard game) {
+        SearchResult pondered = stopPondering(game);
+        long start = System.nanoTime();
+        int index = book.find(game);
+        int bookMove = book.getBestMove(game, index);
+        if (index != OpeningBook.NOT_FOUND && game.isValidMove(bookMove)) {
+            return new SearchResult(bookMove, book.getScore(index), 0, 0, System.nanoTime() - start);
+        }
+        if (isSolved(game)) {
+            return solver.solve(game);
+        }
+        if (pondered == null || pondered.getDepth() == 0) {
+            return search(game, timeLimit);
+        }
+        long remaining = timeLimit - pondered.getElapsedNanos() / 1000000;
+        if (remaining <= 0 || pondered.isExact()) {
+            return pondered;
+        }
+        SearchResult result = search(game, remaining);
+        return pondered.getDepth() > result.getDepth() ? pondered : result;
+    }
+
+    // EFFECTS: Searches game for up to timeLimit milliseconds and returns the result
+    private SearchResult search(GameBoard game, long timeLimit) {
+        synchronized (search) {
+            return search.findBestMove(game, Search.MAX_DEPTH, timeLimit);
+        }
+    }
+
+    // EFFECTS: Returns true if chooseMove would search game rather than play from the book or solve it
+    boolean isSearched(GameBoard game) {
+        return !isSolved(game) && !game.isValidMove(book.getBestMove(game));
+    }
+
+    // EFFECTS: Returns true if game has few enough empty squares to be solved exactly
+    private static boolean isSolved(GameBoard game) {
+        return Long.bitCount(~(game.getPieces(FILL) | game.getPieces(CLEAR))) <= SOLVE_EMPTIES;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Starts pondering on game, on a background thread, if it is the opponent's turn and this player is not
+    //          already pondering on it. Any other pondering is cancelled. Returns at once, so it is safe to call from
+    //          the GUI's event thread. game itself is copied, so it may be changed afterwards.
+    public synchronized void startPondering(GameBoard game) {
+        if (ponder != null && !ponder.isCancelled() && Ponder.isSamePosition(ponder.getGame(), game)) {
+            return;
+        }
+        cancelPondering();
+        if (Search.isFinished(game) || isTurn(game)) {
+            return;
+        }
+        if (ponderThread == null) {
+            ponderThread = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ponder");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        ponder = new Ponder(this, search, new GameBoard(game), timeLimit);
+        pondered = ponderThread.submit(ponder);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Makes any pondering stop as soon as it can, without waiting for it, so it is safe to call from the
+    //          GUI's event thread
+    public synchronized void cancelPondering() {
+        if (ponder != null) {
+            ponder.cancel();
+        }
+    }
+
+    // EFFECTS: Returns true if this player is pondering, or has been asked to and is about to start
+    public synchronized boolean isPondering() {
+        return ponder != null && !ponder.isCancelled() && !pondered.isDone();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Cancels any pondering and waits for it to stop. Returns its result if its predicted position is game,
+    //          counting a ponder hit, and null otherwise.
+    private SearchResult stopPondering(GameBoard game) {
+        Ponder stopped;
+        Future<SearchResult> result;
+        synchronized (this) {
+            stopped = ponder;
+            result = pondered;
+            ponder = null;
+        }
+        if (stopped == null) {
+            return null;
+        }
+        stopped.cancel();
+        try {
+            SearchResult searched = result.get();
+            if (stopped.isHit(game)) {
+                ponderHits++;
+                return searched;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Pondering failed", e);
+        }
+        return null;
+    }
+}
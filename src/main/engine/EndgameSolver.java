@@ -0,0 +1,318 @@
+package engine;
+
+import model.BitBoard;
+import model.GameBoard;
+import model.State;
+
+import static engine.TranspositionTable.*;
+import static model.BitBoard.generateFlips;
+import static model.BitBoard.generateMoves;
+import static model.GameBoard.BOARD_SIZE;
+import static model.GameBoard.PASS;
+
+// Solves positions near the end of a game exactly, finding the best move and the final margin of victory under
+// perfect play by both players. Works on the two piece masks directly and keeps its own list of empty squares,
+// ordered so that corners come first and the squares next to corners come last.
+// Moves are ordered by the opponent's mobility after the move (fastest first) while FASTEST_FIRST_EMPTIES or more
+// squares are empty. Closer to the end, moves in regions of the board with an odd number of empty squares are tried
+// first (parity ordering), and the last few squares are solved without generating moves at all.
+// Suited to positions with about MAX_EMPTIES or fewer empty squares. A solver must not be shared by two callers at
+// the same time.
+public class EndgameSolver {
+    // Beyond this many empty squares a solve can take minutes
+    public static final int MAX_EMPTIES = 20;
+    public static final int FASTEST_FIRST_EMPTIES = 7;
+    // Positions with at least this many empty squares are looked up in the transposition table
+    public static final int HASH_EMPTIES = 10;
+    // Moves are tried in this order when the solver has nothing better to go on: corners, edges two squares from a
+    // corner, the middle of edges, inner squares, squares on an edge next to a corner, then squares diagonally next
+    // to a corner. The four centre squares are never empty and come last.
+    static final int[] SQUARE_ORDER = {0, 7, 56, 63, 2, 5, 16, 23, 40, 47, 58, 61, 3, 4, 24, 31, 32, 39, 59, 60,
+            18, 21, 42, 45, 19, 20, 26, 29, 34, 37, 43, 44, 11, 12, 25, 30, 33, 38, 51, 52,
+            10, 13, 17, 22, 41, 46, 50, 53, 1, 6, 8, 15, 48, 55, 57, 62, 9, 14, 49, 54, 27, 28, 35, 36};
+
+    // Marks both ends of the empty square list
+    private static final int END = BOARD_SIZE;
+    private static final int INFINITY = BOARD_SIZE + 1;
+    private static final long CORNERS = 0x8100000000000081L;
+    // The bit of each square's quarter of the board in parity
+    private static final int[] QUADRANTS = new int[BOARD_SIZE];
+
+    static {
+        for (int square = 0; square < BOARD_SIZE; square++) {
+            QUADRANTS[square] = 1 << ((square / 32) * 2 + (square % 8) / 4);
+        }
+    }
+
+    private TranspositionTable table;
+    private int[] next;
+    private int[] previous;
+    // Bit q is set when quarter q of the board has an odd number of empty squares
+    private int parity;
+    private int[][] moveBuffers;
+    private int[][] keyBuffers;
+    private long nodes;
+    private int bestMove;
+
+    // EFFECTS: Creates a solver with a transposition table of TranspositionTable.DEFAULT_SIZE megabytes
+    public EndgameSolver() {
+        this(new TranspositionTable(TranspositionTable.DEFAULT_SIZE));
+    }
+
+    // EFFECTS: Creates a solver that stores its results in table
+    public EndgameSolver(TranspositionTable table) {
+        this.table = table;
+        next = new int[BOARD_SIZE + 1];
+        previous = new int[BOARD_SIZE + 1];
+        moveBuffers = new int[BOARD_SIZE + 1][BOARD_SIZE];
+        keyBuffers = new int[BOARD_SIZE + 1][BOARD_SIZE];
+    }
+
+    // EFFECTS: Solves game exactly and returns the best move for the player to move (PASS if they have none) and
+    //          its score, given by Search.exactScore. The depth of the result is the number of empty squares.
+    //          game itself is left unchanged.
+    public SearchResult solve(GameBoard game) {
+        long start = System.nanoTime();
+        State turn = game.getTurn();
+        long own = game.getPieces(turn);
+        long opp = game.getPieces(BitBoard.opposite(turn));
+        int empties = fillEmptyList(~(own | opp));
+        nodes = 0;
+
+        table.newSearch();
+        long moves = generateMoves(own, opp);
+        int best;
+        if (moves == 0) {
+            best = search(own, opp, -INFINITY, INFINITY, empties);
+            bestMove = PASS;
+        } else {
+            best = searchFastestFirst(own, opp, moves, -INFINITY, INFINITY, empties, PASS);
+        }
+        return new SearchResult(bestMove, Search.exactScore(best), empties, nodes, System.nanoTime() - start);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Rebuilds the empty square list from the squares in empty, following SQUARE_ORDER, and the parity of
+    //          every quarter of the board. Returns the number of empty squares.
+    private int fillEmptyList(long empty) {
+        int last = END;
+        int count = 0;
+        parity = 0;
+        for (int square : SQUARE_ORDER) {
+            if ((empty & (1L << square)) != 0) {
+                next[last] = square;
+                previous[square] = last;
+                last = square;
+                parity ^= QUADRANTS[square];
+                count++;
+            }
+        }
+        next[last] = END;
+        previous[END] = last;
+        return count;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Returns the final margin of victory for own with both players playing perfectly, searched within the
+    //          window (alpha, beta), where empties squares are empty
+    private int search(long own, long opp, int alpha, int beta, int empties) {
+        if (empties == 1) {
+            return solveOne(own, opp, next[END]);
+        } else if (empties == 2) {
+            return solveTwo(own, opp, alpha, beta, next[END], next[next[END]], false);
+        } else if (empties <= 4) {
+            return searchShallow(own, opp, alpha, beta, empties, false);
+        }
+        nodes++;
+        long moves = generateMoves(own, opp);
+        if (moves == 0) {
+            if (generateMoves(opp, own) == 0) {
+                return difference(own, opp);
+            }
+            return -search(opp, own, -beta, -alpha, empties);
+        } else if (empties >= HASH_EMPTIES) {
+            return searchHashed(own, opp, moves, alpha, beta, empties);
+        } else if (empties >= FASTEST_FIRST_EMPTIES) {
+            return searchFastestFirst(own, opp, moves, alpha, beta, empties, PASS);
+        }
+        return searchParity(own, opp, moves, alpha, beta, empties);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Looks the position up in the transposition table, returning the stored score if it settles the
+    //          window. Otherwise searches it with the stored move first and stores the result.
+    private int searchHashed(long own, long opp, long moves, int alpha, int beta, int empties) {
+        long hash = hash(own, opp);
+        long entry = table.probe(hash);
+        if (entry != MISS && isCutoff(entry, alpha, beta)) {
+            return getScore(entry);
+        }
+        int firstMove = entry == MISS ? PASS : getMove(entry);
+        int score = searchFastestFirst(own, opp, moves, alpha, beta, empties, firstMove);
+        table.store(hash, empties, score, boundFor(score, alpha, beta), bestMove);
+        return score;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Searches firstMove and then the other moves in order of how few moves they leave the opponent, and
+    //          returns the best score. Moves after the first are searched with a null window first, and again with
+    //          the full window only if they turn out to beat alpha. Stores the best move in bestMove.
+    private int searchFastestFirst(long own, long opp, long moves, int alpha, int beta, int empties, int firstMove) {
+        int best = -INFINITY;
+        int localBest = PASS;
+        int count = sortMoves(own, opp, moves, empties, firstMove);
+        for (int i = 0; i < count && best < beta; i++) {
+            int move = moveBuffers[empties][i];
+            int lower = Math.max(alpha, best);
+            int score = searchMove(own, opp, move, lower, i == 0 ? beta : lower + 1, empties);
+            if (i > 0 && lower < score && score < beta) {
+                score = searchMove(own, opp, move, lower, beta, empties);
+            }
+            if (score > best) {
+                best = score;
+                localBest = move;
+            }
+        }
+        bestMove = localBest;
+        return best;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Searches moves in regions with an odd number of empty squares before the others, and returns the
+    //          best score
+    private int searchParity(long own, long opp, long moves, int alpha, int beta, int empties) {
+        int best = -INFINITY;
+        for (int odd = 1; odd >= 0; odd--) {
+            for (int square = next[END]; square != END && best < beta; square = next[square]) {
+                if ((moves & (1L << square)) != 0 && ((parity & QUADRANTS[square]) != 0) == (odd == 1)) {
+                    best = Math.max(best, searchMove(own, opp, square, Math.max(alpha, best), beta, empties));
+                }
+            }
+        }
+        return best;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Searches positions with three or four empty squares, trying squares in order of parity and finding
+    //          each move's flips directly instead of generating moves. hasPassed is true if the other player has
+    //          just passed.
+    private int searchShallow(long own, long opp, int alpha, int beta, int empties, boolean hasPassed) {
+        nodes++;
+        int best = -INFINITY;
+        for (int odd = 1; odd >= 0; odd--) {
+            for (int square = next[END]; square != END && best < beta; square = next[square]) {
+                if (((parity & QUADRANTS[square]) != 0) == (odd == 1) && generateFlips(own, opp, square) != 0) {
+                    best = Math.max(best, searchMove(own, opp, square, Math.max(alpha, best), beta, empties));
+                }
+            }
+        }
+        if (best == -INFINITY) {
+            return hasPassed ? difference(own, opp) : -searchShallow(opp, own, -beta, -alpha, empties, true);
+        }
+        return best;
+    }
+
+    // REQUIRES: own can play at square
+    // MODIFIES: this
+    // EFFECTS: Plays square for own, searches the resulting position and takes the move back. Returns the score
+    //          of the move for own.
+    private int searchMove(long own, long opp, int square, int alpha, int beta, int empties) {
+        long flips = generateFlips(own, opp, square);
+        long placed = 1L << square;
+        removeEmpty(square);
+        int score = -search(opp & ~flips, own | flips | placed, -beta, -alpha, empties - 1);
+        restoreEmpty(square);
+        return score;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Solves the position with the two empty squares first and second. hasPassed is true if the other
+    //          player has just passed.
+    private int solveTwo(long own, long opp, int alpha, int beta, int first, int second, boolean hasPassed) {
+        nodes++;
+        int best = -INFINITY;
+        long flips = generateFlips(own, opp, first);
+        if (flips != 0) {
+            best = -solveOne(opp & ~flips, own | flips | (1L << first), second);
+        }
+        flips = best < beta ? generateFlips(own, opp, second) : 0L;
+        if (flips != 0) {
+            best = Math.max(best, -solveOne(opp & ~flips, own | flips | (1L << second), first));
+        }
+        if (best == -INFINITY) {
+            return hasPassed ? difference(own, opp) : -solveTwo(opp, own, -beta, -alpha, first, second, true);
+        }
+        return best;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Returns the final margin of victory for own when square is the only empty square left
+    private int solveOne(long own, long opp, int square) {
+        nodes++;
+        int ownCount = Long.bitCount(own);
+        int oppCount = Long.bitCount(opp);
+        int flipped = Long.bitCount(generateFlips(own, opp, square));
+        if (flipped != 0) {
+            return ownCount - oppCount + 2 * flipped + 1;
+        }
+        flipped = Long.bitCount(generateFlips(opp, own, square));
+        if (flipped != 0) {
+            return ownCount - oppCount - 2 * flipped - 1;
+        }
+        return ownCount - oppCount;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Stores the squares in moves in moveBuffers[empties], sorted so that firstMove comes first and then the
+    //          moves leaving the opponent the fewest replies, with a bonus for corners. Returns the number of moves.
+    private int sortMoves(long own, long opp, long moves, int empties, int firstMove) {
+        int[] squares = moveBuffers[empties];
+        int[] keys = keyBuffers[empties];
+        int count = 0;
+        for (int square = next[END]; square != END; square = next[square]) {
+            if ((moves & (1L << square)) != 0) {
+                long flips = generateFlips(own, opp, square);
+                int key = Long.bitCount(generateMoves(opp & ~flips, own | flips | (1L << square)));
+                key = (CORNERS & (1L << square)) != 0 ? key - 1 : key;
+                key = square == firstMove ? -INFINITY : key;
+                int i = count++;
+                for (; i > 0 && keys[i - 1] > key; i--) {
+                    squares[i] = squares[i - 1];
+                    keys[i] = keys[i - 1];
+                }
+                squares[i] = square;
+                keys[i] = key;
+            }
+        }
+        return count;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Takes square out of the empty square list and updates the parity of its quarter
+    private void removeEmpty(int square) {
+        next[previous[square]] = next[square];
+        previous[next[square]] = previous[square];
+        parity ^= QUADRANTS[square];
+    }
+
+    // REQUIRES: square was the last square removed by removeEmpty
+    // MODIFIES: this
+    // EFFECTS: Puts square back into the empty square list in its old place and updates the parity of its quarter
+    private void restoreEmpty(int square) {
+        next[previous[square]] = square;
+        previous[next[square]] = square;
+        parity ^= QUADRANTS[square];
+    }
+
+    // EFFECTS: Returns a hash of the position where own is to move, mixing the bits of both masks
+    static long hash(long own, long opp) {
+        long hash = own * 0x9e3779b97f4a7c15L + Long.rotateLeft(opp, 29) * 0xc2b2ae3d27d4eb4fL;
+        hash = (hash ^ (hash >>> 32)) * 0xd6e8feb86659fd93L;
+        return hash ^ (hash >>> 32);
+    }
+
+    // EFFECTS: Returns how many more pieces own has than opp
+    private static int difference(long own, long opp) {
+        return Long.bitCount(own) - Long.bitCount(opp);
+    }
+}
@@ -0,0 +1,13 @@
+package engine;
+
+import model.GameBoard;
+
+// Represents a static evaluation of game positions used by the search
+public interface Evaluator {
+    // Scores of finished games lie beyond +/- WIN_SCORE, so they always outrank any static evaluation
+    int WIN_SCORE = 1000000;
+
+    // EFFECTS: Returns a score for board from the point of view of the player whose turn it is. Higher scores are
+    //          better for that player, and every score lies strictly between -WIN_SCORE and WIN_SCORE.
+    int evaluate(GameBoard board);
+}
@@ -0,0 +1,168 @@
+package engine;
+
+import model.BitBoard;
+import model.GameBoard;
+import model.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static model.GameBoard.PASS;
+
+// Represents a computer opponent that chooses moves by Monte Carlo Tree Search with the UCT formula instead of
+// alpha-beta search. Every thread runs random playouts on one shared MctsTree, using virtual loss to spread out over
+// different lines. The tree is kept between moves: if the next position is found within REUSE_PLIES moves of the
+// previous root, the search carries on from the part of the tree below it. The tree is cleared once it is more than
+// RESET_FRACTION full before a search starts.
+// A player must not be asked for two moves at the same time.
+public class MctsPlayer {
+    public static final long DEFAULT_TIME_LIMIT = 1000;
+    public static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+    public static final int REUSE_PLIES = 3;
+    public static final double RESET_FRACTION = 0.5;
+
+    private State side;
+    private long timeLimit;
+    private int threads;
+    private MctsTree tree;
+    private MctsWorker[] workers;
+    private ExecutorService pool;
+
+    // EFFECTS: Creates a player for side that thinks for up to DEFAULT_TIME_LIMIT milliseconds per move, using one
+    //          thread per available processor and a tree of MctsTree.DEFAULT_CAPACITY nodes
+    public MctsPlayer(State side) {
+        this(side, DEFAULT_TIME_LIMIT, DEFAULT_THREADS, MctsTree.DEFAULT_CAPACITY);
+    }
+
+    // REQUIRES: threads >= 1 and capacity >= 1
+    // EFFECTS: Creates a player for side that thinks for up to timeLimit milliseconds per move on the given number
+    //          of threads, with a tree of capacity nodes
+    public MctsPlayer(State side, long timeLimit, int threads, int capacity) {
+        this.side = side;
+        this.timeLimit = timeLimit;
+        this.threads = threads;
+        this.tree = new MctsTree(capacity);
+        workers = new MctsWorker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new MctsWorker(tree, 0x9e3779b97f4a7c15L * (i + 1));
+        }
+    }
+
+    // getters
+    public State getSide() {
+        return side;
+    }
+
+    public long getTimeLimit() {
+        return timeLimit;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public MctsTree getTree() {
+        return tree;
+    }
+
+    // setters
+    public void setTimeLimit(long timeLimit) {
+        this.timeLimit = timeLimit;
+    }
+
+    // EFFECTS: Returns true if game is still being played and it is this player's turn
+    public boolean isTurn(GameBoard game) {
+        return !game.isGameOver() && game.getTurn().equals(side);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Searches game for this player's next move for up to the time limit and returns the result
+    public SearchResult chooseMove(GameBoard game) {
+        return search(game, Long.MAX_VALUE, timeLimit);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Runs about maxPlayouts playouts from game, stopping early after timeLimit milliseconds, and returns
+    //          the most visited move, or PASS if there are no valid moves. The score is the expected result of the
+    //          move as a percentage from -100 (a sure loss) to 100 (a sure win), the depth is the deepest line in the
+    //          tree and the nodes are the playouts run. game itself is left unchanged.
+    public SearchResult search(GameBoard game, long maxPlayouts, long timeLimit) {
+        long start = System.nanoTime();
+        if (game.getValidMoveMask() == 0 || game.isGameOver()) {
+            return new SearchResult(PASS, 0, 0, 0, System.nanoTime() - start);
+        }
+        setRoot(game);
+        long deadline = start + timeLimit * 1000000L;
+        AtomicLong remaining = new AtomicLong(maxPlayouts);
+        if (threads == 1) {
+            run(workers[0], remaining, deadline);
+        } else {
+            runParallel(remaining, deadline);
+        }
+        return getResult(game.getValidMoveMask(), System.nanoTime() - start);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Moves the root of the tree to game, keeping the tree below it if possible
+    private void setRoot(GameBoard game) {
+        State turn = game.getTurn();
+        long own = game.getPieces(turn);
+        long opp = game.getPieces(BitBoard.opposite(turn));
+        if (tree.getSize() > tree.getCapacity() * RESET_FRACTION || !tree.advance(own, opp, REUSE_PLIES)) {
+            tree.reset(own, opp);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Runs every worker on its own thread until the playouts or the time run out
+    private void runParallel(AtomicLong remaining, long deadline) {
+        if (pool == null) {
+            pool = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "mcts");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        List<Future<?>> tasks = new ArrayList<>();
+        for (MctsWorker worker : workers) {
+            tasks.add(pool.submit(() -> run(worker, remaining, deadline)));
+        }
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (Exception e) {
+                throw new IllegalStateException("A playout thread failed", e);
+            }
+        }
+    }
+
+    // MODIFIES: worker
+    // EFFECTS: Runs playouts on worker until remaining reaches zero or the deadline passes
+    private static void run(MctsWorker worker, AtomicLong remaining, long deadline) {
+        worker.clearStats();
+        while (remaining.getAndDecrement() > 0 && System.nanoTime() < deadline) {
+            worker.playout();
+        }
+    }
+
+    // EFFECTS: Returns the result of the search that just finished, which took elapsed nanoseconds, on a position
+    //          with the given valid moves
+    private SearchResult getResult(long validMoves, long elapsed) {
+        long playouts = 0;
+        int depth = 0;
+        for (MctsWorker worker : workers) {
+            playouts += worker.getPlayouts();
+            depth = Math.max(depth, worker.getMaxDepth());
+        }
+        int best = tree.getMostVisitedChild();
+        if (best == MctsTree.UNEXPANDED) {
+            return new SearchResult(Search.nextMove(validMoves), 0, depth, playouts, elapsed);
+        }
+        int score = tree.getResult(best) * 100 / Math.max(1, tree.getVisits(best)) - 100;
+        return new SearchResult(tree.getMove(best), score, depth, playouts, elapsed);
+    }
+}
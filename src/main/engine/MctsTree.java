@@ -0,0 +1,247 @@
+package engine;
+
+import model.BitBoard;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static model.GameBoard.PASS;
+
+// Represents the search tree of MctsPlayer, held in preallocated parallel arrays indexed by node number instead of
+// one object per node. A node stores the move that leads to it, where its children start and how many there are,
+// its visit count and its result: two points for every win and one for every draw, counted for the player who made
+// the move into the node. The children of a node are given consecutive numbers when it is expanded.
+// Nodes do not store their positions, which are worked out by playing moves down from the root. Several threads may
+// walk and grow the tree at once: counts are updated atomically, and a node's children are published by writing
+// where they start only after they have been filled in.
+public class MctsTree {
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+    // move and child count take a byte each; first child, visits and result take an int each
+    public static final int BYTES_PER_NODE = 1 + 1 + 4 + 4 + 4;
+    // Exploration constant of the UCT formula
+    public static final double EXPLORATION = 1.0;
+
+    static final int UNEXPANDED = -1;
+    static final int EXPANDING = -2;
+
+    private final int capacity;
+    private final byte[] moves;
+    private final byte[] childCounts;
+    private final AtomicIntegerArray firstChildren;
+    private final AtomicIntegerArray visits;
+    private final AtomicIntegerArray results;
+    private final AtomicInteger size = new AtomicInteger();
+
+    private int root;
+    private long rootOwn;
+    private long rootOpp;
+
+    // REQUIRES: capacity >= 1
+    // EFFECTS: Creates a tree with room for capacity nodes, holding only the starting position as its root
+    public MctsTree(int capacity) {
+        this.capacity = capacity;
+        moves = new byte[capacity];
+        childCounts = new byte[capacity];
+        firstChildren = new AtomicIntegerArray(capacity);
+        visits = new AtomicIntegerArray(capacity);
+        results = new AtomicIntegerArray(capacity);
+        reset(0x810000000L, 0x1008000000L);
+    }
+
+    // getters
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSize() {
+        return Math.min(capacity, size.get());
+    }
+
+    int getRoot() {
+        return root;
+    }
+
+    long getRootOwn() {
+        return rootOwn;
+    }
+
+    long getRootOpp() {
+        return rootOpp;
+    }
+
+    int getMove(int node) {
+        return moves[node];
+    }
+
+    int getChildCount(int node) {
+        return childCounts[node];
+    }
+
+    int getFirstChild(int node) {
+        return firstChildren.get(node);
+    }
+
+    int getVisits(int node) {
+        return visits.get(node);
+    }
+
+    int getResult(int node) {
+        return results.get(node);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Empties the tree and makes the position with the given pieces its root, where own holds the pieces of
+    //          the player to move
+    public void reset(long own, long opp) {
+        size.set(0);
+        root = allocate(1);
+        moves[root] = PASS;
+        initialize(root, 1);
+        rootOwn = own;
+        rootOpp = opp;
+    }
+
+    // REQUIRES: no thread is walking the tree
+    // MODIFIES: this
+    // EFFECTS: Looks for the position with the given pieces within plies moves below the root. If found, makes it the
+    //          new root, keeping everything below it, and returns true. Otherwise returns false and changes nothing.
+    public boolean advance(long own, long opp, int plies) {
+        int node = find(root, rootOwn, rootOpp, own, opp, plies);
+        if (node == UNEXPANDED) {
+            return false;
+        }
+        root = node;
+        rootOwn = own;
+        rootOpp = opp;
+        return true;
+    }
+
+    // EFFECTS: Returns the node within plies moves below node, which has the pieces nodeOwn and nodeOpp, that has the
+    //          pieces own and opp, or UNEXPANDED if there is none
+    private int find(int node, long nodeOwn, long nodeOpp, long own, long opp, int plies) {
+        if (nodeOwn == own && nodeOpp == opp) {
+            return node;
+        }
+        int first = firstChildren.get(node);
+        if (plies == 0 || first < 0) {
+            return UNEXPANDED;
+        }
+        for (int child = first; child < first + childCounts[node]; child++) {
+            long flips = moves[child] == PASS ? 0L : BitBoard.generateFlips(nodeOwn, nodeOpp, moves[child]);
+            long placed = moves[child] == PASS ? 0L : 1L << moves[child];
+            int found = find(child, nodeOpp & ~flips, nodeOwn | flips | placed, own, opp, plies - 1);
+            if (found != UNEXPANDED) {
+                return found;
+            }
+        }
+        return UNEXPANDED;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Reserves count consecutive nodes and returns the first, or UNEXPANDED if the tree is full
+    private int allocate(int count) {
+        if (size.get() + count > capacity) {
+            return UNEXPANDED;
+        }
+        int first = size.getAndAdd(count);
+        return first + count > capacity ? UNEXPANDED : first;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Clears the count nodes starting at first, leaving their moves as they are
+    private void initialize(int first, int count) {
+        for (int node = first; node < first + count; node++) {
+            childCounts[node] = 0;
+            firstChildren.set(node, UNEXPANDED);
+            visits.set(node, 0);
+            results.set(node, 0);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Gives node, whose position has the pieces own and opp, one child for every valid move, or a single
+    //          PASS child if there are none but the game is not over. Does nothing if node has already been expanded,
+    //          another thread is expanding it or the tree is full.
+    void expand(int node, long own, long opp) {
+        if (!firstChildren.compareAndSet(node, UNEXPANDED, EXPANDING)) {
+            return;
+        }
+        long valid = BitBoard.generateMoves(own, opp);
+        int count = valid != 0 ? Long.bitCount(valid) : BitBoard.generateMoves(opp, own) != 0 ? 1 : 0;
+        int first = count == 0 ? 0 : allocate(count);
+        if (first == UNEXPANDED) {
+            firstChildren.set(node, UNEXPANDED);
+            return;
+        }
+        int child = first;
+        for (long remaining = valid; remaining != 0; remaining &= remaining - 1) {
+            moves[child++] = (byte) Long.numberOfTrailingZeros(remaining);
+        }
+        if (valid == 0 && count == 1) {
+            moves[first] = PASS;
+        }
+        initialize(first, count);
+        childCounts[node] = (byte) count;
+        firstChildren.set(node, first);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Expands node, whose position has the pieces own and opp, if it has not been yet, and returns true if it
+    //          has children that can be walked into now
+    boolean hasChildren(int node, long own, long opp) {
+        if (firstChildren.get(node) == UNEXPANDED) {
+            expand(node, own, opp);
+        }
+        return firstChildren.get(node) >= 0 && childCounts[node] > 0;
+    }
+
+    // REQUIRES: node has been expanded and has at least one child
+    // EFFECTS: Returns the child of node with the highest UCT value. Children nobody has visited yet come first.
+    int select(int node) {
+        int first = firstChildren.get(node);
+        double logVisits = Math.log(Math.max(1, visits.get(node)));
+        int best = first;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int child = first; child < first + childCounts[node]; child++) {
+            int childVisits = visits.get(child);
+            if (childVisits == 0) {
+                return child;
+            }
+            double value = results.get(child) / (2.0 * childVisits)
+                    + EXPLORATION * Math.sqrt(logVisits / childVisits);
+            if (value > bestValue) {
+                best = child;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Counts a visit to node that has not finished yet. Until its result is added, the visit counts as a
+    //          loss for the player moving into node, which steers other threads towards other children.
+    void addVisit(int node) {
+        visits.incrementAndGet(node);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Adds points (2 for a win, 1 for a draw, 0 for a loss) to node's result
+    void addResult(int node, int points) {
+        results.addAndGet(node, points);
+    }
+
+    // EFFECTS: Returns the child of the root visited most often, or UNEXPANDED if the root has no children
+    int getMostVisitedChild() {
+        int first = firstChildren.get(root);
+        if (first < 0 || childCounts[root] == 0) {
+            return UNEXPANDED;
+        }
+        int best = first;
+        for (int child = first + 1; child < first + childCounts[root]; child++) {
+            if (visits.get(child) > visits.get(best)) {
+                best = child;
+            }
+        }
+        return best;
+    }
+}
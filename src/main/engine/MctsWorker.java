@@ -0,0 +1,136 @@
+package engine;
+
+import model.BitBoard;
+
+import static model.GameBoard.BOARD_SIZE;
+import static model.GameBoard.PASS;
+
+// Runs playouts on an MctsTree for one thread. Each playout walks down the tree from the root by UCT, expands the
+// node it stops at, plays random moves from there to the end of the game and adds the result to every node on the
+// path. The path and the random number generator belong to the worker, so a playout allocates nothing.
+class MctsWorker {
+    // A game lasts at most BOARD_SIZE - 4 moves, with at most one pass before each
+    private static final int MAX_PATH = 2 * BOARD_SIZE;
+
+    private MctsTree tree;
+    private int[] path = new int[MAX_PATH + 1];
+    private long random;
+    private long playouts;
+    private int maxDepth;
+    private long leafOwn;
+    private long leafOpp;
+
+    // REQUIRES: seed != 0
+    // EFFECTS: Creates a worker for tree whose random moves are drawn from a generator seeded with seed
+    MctsWorker(MctsTree tree, long seed) {
+        this.tree = tree;
+        this.random = seed;
+    }
+
+    // getters
+    long getPlayouts() {
+        return playouts;
+    }
+
+    int getMaxDepth() {
+        return maxDepth;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Clears the playout count and the deepest path reached
+    void clearStats() {
+        playouts = 0;
+        maxDepth = 0;
+    }
+
+    // MODIFIES: this, tree
+    // EFFECTS: Runs one playout from the root of tree
+    void playout() {
+        int depth = descend();
+        backPropagate(depth, simulate(leafOwn, leafOpp));
+        playouts++;
+        maxDepth = Math.max(maxDepth, depth);
+    }
+
+    // MODIFIES: this, tree
+    // EFFECTS: Walks down tree from the root, expanding nodes on the way, until reaching a node visited for the first
+    //          time, a node with no children or a node that cannot be expanded yet. Records the path, leaves the
+    //          pieces of the last node in leafOwn and leafOpp, and returns its depth.
+    private int descend() {
+        long own = tree.getRootOwn();
+        long opp = tree.getRootOpp();
+        int node = tree.getRoot();
+        int depth = 0;
+        path[0] = node;
+        tree.addVisit(node);
+        while (depth < MAX_PATH && tree.hasChildren(node, own, opp)) {
+            node = tree.select(node);
+            tree.addVisit(node);
+            path[++depth] = node;
+            int move = tree.getMove(node);
+            long flips = move == PASS ? 0L : BitBoard.generateFlips(own, opp, move);
+            long next = opp & ~flips;
+            opp = own | flips | (move == PASS ? 0L : 1L << move);
+            own = next;
+            if (tree.getVisits(node) == 1) {
+                break;
+            }
+        }
+        leafOwn = own;
+        leafOpp = opp;
+        return depth;
+    }
+
+    // MODIFIES: tree
+    // EFFECTS: Adds the result of a playout to every node on the path down to depth, where difference is the final
+    //          piece difference for the player to move at the last node
+    private void backPropagate(int depth, int difference) {
+        // Points for the player who moved into the node at the bottom of the path
+        int points = difference < 0 ? 2 : difference == 0 ? 1 : 0;
+        for (int i = depth; i >= 0; i--) {
+            tree.addResult(path[i], points);
+            points = 2 - points;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Plays random moves from the position with the given pieces until the game is over, and returns the
+    //          final piece difference for the player to move at the start
+    int simulate(long own, long opp) {
+        long mover = own;
+        long other = opp;
+        boolean isSwapped = false;
+        long moves = BitBoard.generateMoves(mover, other);
+        while (moves != 0 || BitBoard.generateMoves(other, mover) != 0) {
+            if (moves != 0) {
+                long square = pickSquare(moves);
+                long flips = BitBoard.generateFlips(mover, other, Long.numberOfTrailingZeros(square));
+                mover |= flips | square;
+                other &= ~flips;
+            }
+            long swap = mover;
+            mover = other;
+            other = swap;
+            isSwapped = !isSwapped;
+            moves = BitBoard.generateMoves(mover, other);
+        }
+        int difference = Long.bitCount(mover) - Long.bitCount(other);
+        return isSwapped ? -difference : difference;
+    }
+
+    // REQUIRES: moves != 0
+    // MODIFIES: this
+    // EFFECTS: Returns the mask of one of the squares in moves, chosen at random
+    private long pickSquare(long moves) {
+        // xorshift64*
+        random ^= random >>> 12;
+        random ^= random << 25;
+        random ^= random >>> 27;
+        long value = (random * 0x2545f4914f6cdd1dL) >>> 33;
+        long remaining = moves;
+        for (int skip = (int) (value % Long.bitCount(moves)); skip > 0; skip--) {
+            remaining &= remaining - 1;
+        }
+        return Long.lowestOneBit(remaining);
+    }
+}
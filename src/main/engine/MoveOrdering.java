@@ -0,0 +1,174 @@
+package engine;
+
+import model.BitBoard;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static model.GameBoard.BOARD_SIZE;
+import static model.GameBoard.PASS;
+
+// Puts the valid moves of a position in the order a search should try them, most promising first:
+//  - the move from the transposition table (the hash move),
+//  - the two killer moves: the last moves to cause a cutoff in a position with the same number of empty squares,
+//  - then every other move, by a score adding up its history (how often and how deep it has caused cutoffs), the
+//    priority of its square (corners first, then edges, inner squares, C-squares and X-squares, as in
+//    Search.MOVE_ORDER) and, deep enough in the tree, a penalty for every move it leaves the opponent.
+// Each of the heuristics apart from the square priorities can be turned off, to measure what it is worth. The
+// ordering keeps statistics of how often the first move tried causes the cutoff, which is what good ordering buys.
+// One ordering is shared by all of a search's threads. Their updates to the killers and the history may race, which
+// can lose an update but never yields an invalid move, since every killer is checked against the valid moves.
+public class MoveOrdering {
+    public static final int HASH_MOVE = 1;
+    public static final int KILLERS = 2;
+    public static final int HISTORY = 4;
+    public static final int MOBILITY = 8;
+    public static final int ALL = HASH_MOVE | KILLERS | HISTORY | MOBILITY;
+    // Opponent mobility is only worked out for moves at least this many plies above the leaves
+    public static final int MOBILITY_DEPTH = 3;
+
+    private static final int HASH_SCORE = Integer.MAX_VALUE;
+    private static final int KILLER_SCORE = 1 << 28;
+    private static final int PRIORITY_WEIGHT = 256;
+    private static final int MOBILITY_WEIGHT = 2048;
+    // The history is halved once any square's history passes this, and at the start of every search
+    private static final int HISTORY_LIMIT = 1 << 16;
+    private static final int[] PRIORITIES = new int[BOARD_SIZE];
+
+    static {
+        for (int square = 0; square < BOARD_SIZE; square++) {
+            for (int group = 0; group < Search.MOVE_ORDER.length; group++) {
+                if ((Search.MOVE_ORDER[group] & (1L << square)) != 0) {
+                    PRIORITIES[square] = Search.MOVE_ORDER.length - 1 - group;
+                }
+            }
+        }
+    }
+
+    private int features;
+    private int[][] killers;
+    private int[] history;
+    private LongAdder cutoffs;
+    private LongAdder firstMoveCutoffs;
+
+    // EFFECTS: Creates an ordering that uses every heuristic
+    public MoveOrdering() {
+        this(ALL);
+    }
+
+    // EFFECTS: Creates an ordering that uses the heuristics in features, a combination of HASH_MOVE, KILLERS,
+    //          HISTORY and MOBILITY
+    public MoveOrdering(int features) {
+        this.features = features;
+        killers = new int[BOARD_SIZE + 1][2];
+        history = new int[BOARD_SIZE];
+        cutoffs = new LongAdder();
+        firstMoveCutoffs = new LongAdder();
+        newSearch();
+    }
+
+    // getters
+    public int getFeatures() {
+        return features;
+    }
+
+    public long getCutoffs() {
+        return cutoffs.sum();
+    }
+
+    public long getFirstMoveCutoffs() {
+        return firstMoveCutoffs.sum();
+    }
+
+    // setters
+    public void setFeatures(int features) {
+        this.features = features;
+    }
+
+    // EFFECTS: Returns the share of cutoffs caused by the first move tried, or 0 if there have been none
+    public double getFirstMoveCutoffRate() {
+        long total = cutoffs.sum();
+        return total == 0 ? 0 : (double) firstMoveCutoffs.sum() / total;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Clears the cutoff statistics
+    public void clearStats() {
+        cutoffs.reset();
+        firstMoveCutoffs.reset();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Forgets the killer moves and halves the history, ready for a search of a new position
+    public void newSearch() {
+        for (int[] slots : killers) {
+            slots[0] = PASS;
+            slots[1] = PASS;
+        }
+        for (int square = 0; square < BOARD_SIZE; square++) {
+            history[square] /= 2;
+        }
+    }
+
+    // REQUIRES: moves != 0, own & opp == 0, and moves and scores have room for BOARD_SIZE entries
+    // MODIFIES: moves, scores
+    // EFFECTS: Fills moves with the squares in valid, the valid moves of the position with pieces own and opp to be
+    //          searched to depth, in the order to try them, and returns how many there are. hashMove is tried first
+    //          if it is valid. scores is filled with the score each move was sorted by.
+    public int order(long valid, int hashMove, long own, long opp, int depth, int[] moves, int[] scores) {
+        int empties = Long.bitCount(~(own | opp));
+        int count = 0;
+        for (long remaining = valid; remaining != 0; remaining &= remaining - 1) {
+            int move = Long.numberOfTrailingZeros(remaining);
+            int score = score(move, hashMove, empties, own, opp, depth);
+            int i = count++;
+            for (; i > 0 && scores[i - 1] < score; i--) {
+                moves[i] = moves[i - 1];
+                scores[i] = scores[i - 1];
+            }
+            moves[i] = move;
+            scores[i] = score;
+        }
+        return count;
+    }
+
+    // EFFECTS: Returns the score to sort move by, in a position with the given pieces and number of empty squares
+    private int score(int move, int hashMove, int empties, long own, long opp, int depth) {
+        if ((features & HASH_MOVE) != 0 && move == hashMove) {
+            return HASH_SCORE;
+        } else if ((features & KILLERS) != 0 && move == killers[empties][0]) {
+            return KILLER_SCORE;
+        } else if ((features & KILLERS) != 0 && move == killers[empties][1]) {
+            return KILLER_SCORE - 1;
+        }
+        int score = PRIORITY_WEIGHT * PRIORITIES[move];
+        if ((features & HISTORY) != 0) {
+            score += history[move];
+        }
+        if ((features & MOBILITY) != 0 && depth >= MOBILITY_DEPTH) {
+            long flips = BitBoard.generateFlips(own, opp, move);
+            score -= MOBILITY_WEIGHT * Long.bitCount(BitBoard.generateMoves(opp & ~flips, own | flips | 1L << move));
+        }
+        return score;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Records that move, the index-th move tried in a position with empties empty squares searched to
+    //          depth, caused a cutoff
+    public void recordCutoff(int move, int index, int empties, int depth) {
+        cutoffs.increment();
+        if (index == 0) {
+            firstMoveCutoffs.increment();
+        }
+        int[] slots = killers[empties];
+        if (slots[0] != move) {
+            slots[1] = slots[0];
+            slots[0] = move;
+        }
+        history[move] += depth * depth;
+        if (history[move] > HISTORY_LIMIT) {
+            for (int square = 0; square < BOARD_SIZE; square++) {
+                history[square] /= 2;
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package engine;
+
+import model.GameBoard;
+import model.Symmetry;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static model.GameBoard.PASS;
+
+// Represents a read-only opening book: the best move and score of positions near the start of the game, looked up
+// by the Zobrist hash of the position. Only the canonical form of each position is stored (see Symmetry), so one
+// record serves all eight of its symmetric variants. The book file starts with MAGIC and the number of records,
+// followed by records of RECORD_SIZE bytes (hash, move and score) sorted by hash. The file is mapped into memory
+// rather than read onto the heap, so every player in the program can share one copy, and lookups are a binary search
+// over the records. A book may be read by many threads at once.
+public class OpeningBook {
+    public static final String DEFAULT_BOOK = "./data/book.bin";
+    public static final int MAGIC = 0x4f424b31;
+    public static final int HEADER_SIZE = 2 * Integer.BYTES;
+    public static final int RECORD_SIZE = Long.BYTES + 2 * Integer.BYTES;
+    // Returned by find when a position is not in the book
+    public static final int NOT_FOUND = -1;
+
+    private static OpeningBook defaultBook;
+
+    private ByteBuffer records;
+    private int size;
+
+    // REQUIRES: records holds a book in the format described above
+    // EFFECTS: Creates a book that reads its records from records
+    private OpeningBook(ByteBuffer records) {
+        this.records = records;
+        this.size = records.capacity() == 0 ? 0 : records.getInt(Integer.BYTES);
+    }
+
+    // EFFECTS: Returns a book with no positions in it
+    public static OpeningBook empty() {
+        return new OpeningBook(ByteBuffer.allocate(0));
+    }
+
+    // EFFECTS: Maps the book file at path into memory and returns it.
+    //          Throws IOException if the file cannot be read or is not a book
+    public static OpeningBook load(String path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC
+                || buffer.capacity() != HEADER_SIZE + (long) buffer.getInt(Integer.BYTES) * RECORD_SIZE) {
+            throw new IOException(path + " is not an opening book");
+        }
+        return new OpeningBook(buffer);
+    }
+
+    // EFFECTS: Returns the book at DEFAULT_BOOK, loading it the first time it is asked for. Returns an empty book if
+    //          there is no book there.
+    public static synchronized OpeningBook getDefault() {
+        if (defaultBook == null) {
+            try {
+                defaultBook = Files.exists(Paths.get(DEFAULT_BOOK)) ? load(DEFAULT_BOOK) : empty();
+            } catch (IOException e) {
+                defaultBook = empty();
+            }
+        }
+        return defaultBook;
+    }
+
+    // REQUIRES: hashes, moves and scores have the same length, and no hash appears twice
+    // EFFECTS: Writes a book holding the given positions to path, sorted by hash. The arrays are left unchanged.
+    //          Throws IOException if the file cannot be written
+    public static void write(String path, long[] hashes, int[] moves, int[] scores) throws IOException {
+        Integer[] order = new Integer[hashes.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(hashes.length);
+            for (int i : order) {
+                out.writeLong(hashes[i]);
+                out.writeInt(moves[i]);
+                out.writeInt(scores[i]);
+            }
+        }
+    }
+
+    // getters
+    public int getSize() {
+        return size;
+    }
+
+    // EFFECTS: Returns the index of the record for hash, or NOT_FOUND if hash is not in the book
+    public int find(long hash) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long key = getHash(middle);
+            if (key < hash) {
+                low = middle + 1;
+            } else if (key > hash) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    // EFFECTS: Returns the index of the record for the canonical form of game, or NOT_FOUND if it is not in the book
+    public int find(GameBoard game) {
+        return size == 0 ? NOT_FOUND : find(Symmetry.canonicalHash(game));
+    }
+
+    // EFFECTS: Returns the book move for the player to move in game, or PASS if game is not in the book
+    public int getBestMove(GameBoard game) {
+        return getBestMove(game, find(game));
+    }
+
+    // REQUIRES: index is find(game)
+    // EFFECTS: Returns the book move for the player to move in game from record index, without looking game up
+    //          again, or PASS if index is NOT_FOUND
+    public int getBestMove(GameBoard game, int index) {
+        return index == NOT_FOUND ? PASS : Symmetry.fromCanonical(getMove(index), Symmetry.getCanonicalSymmetry(game));
+    }
+
+    // REQUIRES: 0 <= index < getSize()
+    // EFFECTS: Returns the hash of the position in record index
+    public long getHash(int index) {
+        return records.getLong(HEADER_SIZE + index * RECORD_SIZE);
+    }
+
+    // REQUIRES: 0 <= index < getSize()
+    // EFFECTS: Returns the best move of the canonical position in record index
+    public int getMove(int index) {
+        return records.getInt(HEADER_SIZE + index * RECORD_SIZE + Long.BYTES);
+    }
+
+    // REQUIRES: 0 <= index < getSize()
+    // EFFECTS: Returns the score of the best move in record index, from the point of view of the player to move
+    public int getScore(int index) {
+        return records.getInt(HEADER_SIZE + index * RECORD_SIZE + Long.BYTES + Integer.BYTES);
+    }
+}
@@ -0,0 +1,168 @@
+package engine;
+
+import model.BitBoard;
+import model.GameBoard;
+import model.State;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static model.GameBoard.BOARD_SIZE;
+
+// Evaluates positions by adding up a learned weight for the contents of every pattern instance on the board (see
+// Patterns), plus weights for mobility and parity. The game is split into PHASES phases by the number of pieces on
+// the board, and every phase has its own flat table of pattern weights. Weights are read from a binary file: MAGIC,
+// PHASES and the table size, then for every phase its mobility weight, parity weight and pattern table.
+public class PatternEvaluator implements Evaluator {
+    public static final String DEFAULT_WEIGHTS = "./data/patterns.bin";
+    public static final int MAGIC = 0x50415431;
+    public static final int PHASES = 6;
+
+    private static PatternEvaluator defaultEvaluator;
+
+    private short[][] tables;
+    private int[] mobilityWeights;
+    private int[] parityWeights;
+
+    // REQUIRES: tables holds PHASES arrays of Patterns.getTableSize() weights, and mobilityWeights and parityWeights
+    //           hold PHASES weights each
+    // EFFECTS: Creates an evaluator with the given weights. The arrays are shared, not copied.
+    public PatternEvaluator(short[][] tables, int[] mobilityWeights, int[] parityWeights) {
+        this.tables = tables;
+        this.mobilityWeights = mobilityWeights;
+        this.parityWeights = parityWeights;
+    }
+
+    // getters
+    public short[][] getTables() {
+        return tables;
+    }
+
+    public int[] getMobilityWeights() {
+        return mobilityWeights;
+    }
+
+    public int[] getParityWeights() {
+        return parityWeights;
+    }
+
+    // EFFECTS: Returns the sum of the pattern, mobility and parity weights of board's phase for the player to move,
+    //          held strictly between -WIN_SCORE and WIN_SCORE so that it is never mistaken for a known result
+    @Override
+    public int evaluate(GameBoard board) {
+        State turn = board.getTurn();
+        long own = board.getPieces(turn);
+        long opp = board.getPieces(BitBoard.opposite(turn));
+        int phase = getPhase(own, opp);
+        short[] table = tables[phase];
+        int score = 0;
+        for (int instance = 0; instance < Patterns.getInstanceCount(); instance++) {
+            score += table[Patterns.index(instance, own, opp)];
+        }
+        int mobility = Long.bitCount(board.getValidMoveMask()) - Long.bitCount(BitBoard.generateMoves(opp, own));
+        int parity = Long.bitCount(~(own | opp)) & 1;
+        long sum = score + (long) mobilityWeights[phase] * mobility + (long) parityWeights[phase] * parity;
+        return (int) Math.max(-(WIN_SCORE - 1), Math.min(WIN_SCORE - 1, sum));
+    }
+
+    // EFFECTS: Returns the game phase of the position with the given pieces, from 0 at the start to PHASES - 1
+    public static int getPhase(long own, long opp) {
+        int played = Long.bitCount(own | opp) - 4;
+        return Math.min(PHASES - 1, Math.max(0, played * PHASES / (BOARD_SIZE - 4)));
+    }
+
+    // EFFECTS: Returns the evaluator with the weights at DEFAULT_WEIGHTS, loading them the first time it is asked for.
+    //          Returns fromSquareWeights() if there are no weights there.
+    public static synchronized PatternEvaluator getDefault() {
+        if (defaultEvaluator == null) {
+            try {
+                boolean exists = Files.exists(Paths.get(DEFAULT_WEIGHTS));
+                defaultEvaluator = exists ? load(DEFAULT_WEIGHTS) : fromSquareWeights();
+            } catch (IOException e) {
+                defaultEvaluator = fromSquareWeights();
+            }
+        }
+        return defaultEvaluator;
+    }
+
+    // EFFECTS: Reads the weights file at path and returns an evaluator using them.
+    //          Throws IOException if the file cannot be read or does not hold weights for the current patterns
+    public static PatternEvaluator load(String path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != PHASES || in.readInt() != Patterns.getTableSize()) {
+                throw new IOException(path + " does not hold pattern weights");
+            }
+            short[][] tables = new short[PHASES][Patterns.getTableSize()];
+            int[] mobilityWeights = new int[PHASES];
+            int[] parityWeights = new int[PHASES];
+            for (int phase = 0; phase < PHASES; phase++) {
+                mobilityWeights[phase] = in.readInt();
+                parityWeights[phase] = in.readInt();
+                for (int i = 0; i < tables[phase].length; i++) {
+                    tables[phase][i] = in.readShort();
+                }
+            }
+            return new PatternEvaluator(tables, mobilityWeights, parityWeights);
+        }
+    }
+
+    // EFFECTS: Writes this evaluator's weights to path in the format read by load.
+    //          Throws IOException if the file cannot be written
+    public void write(String path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(PHASES);
+            out.writeInt(Patterns.getTableSize());
+            for (int phase = 0; phase < PHASES; phase++) {
+                out.writeInt(mobilityWeights[phase]);
+                out.writeInt(parityWeights[phase]);
+                for (short weight : tables[phase]) {
+                    out.writeShort(weight);
+                }
+            }
+        }
+    }
+
+    // EFFECTS: Returns an evaluator whose pattern weights add up to the square weights of SquareEvaluator, each
+    //          square's weight shared out evenly between the instances that cover it, with SquareEvaluator's
+    //          mobility weight and no parity weight. Serves as a starting point for training.
+    public static PatternEvaluator fromSquareWeights() {
+        int[] coverage = Patterns.getCoverage();
+        short[] table = new short[Patterns.getTableSize()];
+        for (int pattern = 0; pattern < Patterns.PATTERNS; pattern++) {
+            int[] squares = Patterns.getPatternSquares(pattern);
+            for (int index = 0; index < Patterns.getSize(pattern); index++) {
+                table[Patterns.getOffset(pattern) + index] = seedWeight(squares, index, coverage);
+            }
+        }
+        short[][] tables = new short[PHASES][];
+        int[] mobilityWeights = new int[PHASES];
+        for (int phase = 0; phase < PHASES; phase++) {
+            tables[phase] = table.clone();
+            mobilityWeights[phase] = SquareEvaluator.MOBILITY_WEIGHT;
+        }
+        return new PatternEvaluator(tables, mobilityWeights, new int[PHASES]);
+    }
+
+    // EFFECTS: Returns the sum of the square weights of the pieces described by index on squares, each divided by
+    //          the number of instances covering its square. Rounds half away from zero, so swapping the sides of
+    //          every piece negates the weight.
+    private static short seedWeight(int[] squares, int index, int[] coverage) {
+        double weight = 0;
+        int remaining = index;
+        for (int i = squares.length - 1; i >= 0; i--) {
+            int contents = remaining % 3;
+            remaining /= 3;
+            int sign = contents == 1 ? 1 : contents == 2 ? -1 : 0;
+            weight += sign * (double) SquareEvaluator.getWeight(squares[i]) / coverage[squares[i]];
+        }
+        return (short) (weight < 0 ? -Math.round(-weight) : Math.round(weight));
+    }
+}
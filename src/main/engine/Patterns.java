@@ -0,0 +1,147 @@
+package engine;
+
+import model.Symmetry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static model.GameBoard.BOARD_SIZE;
+
+// The board patterns read by PatternEvaluator. Each pattern is a fixed list of squares, and every symmetric copy of
+// it on the board (an instance) shares one table of weights. An instance is indexed in base 3 by its squares in
+// order, each counting 0 if empty, 1 for the player to move and 2 for the opponent. The tables of all the patterns
+// sit one after another in a single flat array per game phase, starting at getOffset of each pattern.
+public class Patterns {
+    public static final int EDGE_2X = 0;
+    public static final int CORNER_3X3 = 1;
+    public static final int CORNER_2X5 = 2;
+    public static final int DIAGONAL_8 = 3;
+    public static final int DIAGONAL_7 = 4;
+    public static final int DIAGONAL_6 = 5;
+    public static final int DIAGONAL_5 = 6;
+    public static final int DIAGONAL_4 = 7;
+    public static final int PATTERNS = 8;
+
+    // The squares of one instance of each pattern, in the order above
+    private static final int[][] SQUARES = {
+            {9, 0, 1, 2, 3, 4, 5, 6, 7, 14},
+            {0, 1, 2, 8, 9, 10, 16, 17, 18},
+            {0, 1, 2, 3, 4, 8, 9, 10, 11, 12},
+            {0, 9, 18, 27, 36, 45, 54, 63},
+            {1, 10, 19, 28, 37, 46, 55},
+            {2, 11, 20, 29, 38, 47},
+            {3, 12, 21, 30, 39},
+            {4, 13, 22, 31}};
+
+    private static final int[] OFFSETS = new int[PATTERNS + 1];
+    private static final int[][] INSTANCES;
+    private static final int[] INSTANCE_PATTERNS;
+
+    static {
+        for (int pattern = 0; pattern < PATTERNS; pattern++) {
+            OFFSETS[pattern + 1] = OFFSETS[pattern] + power(SQUARES[pattern].length);
+        }
+        List<int[]> instances = new ArrayList<>();
+        List<Integer> patterns = new ArrayList<>();
+        for (int pattern = 0; pattern < PATTERNS; pattern++) {
+            addInstances(pattern, instances, patterns);
+        }
+        INSTANCES = instances.toArray(new int[0][]);
+        INSTANCE_PATTERNS = new int[patterns.size()];
+        for (int i = 0; i < INSTANCE_PATTERNS.length; i++) {
+            INSTANCE_PATTERNS[i] = patterns.get(i);
+        }
+    }
+
+    // MODIFIES: instances, patterns
+    // EFFECTS: Adds every symmetric copy of pattern that covers a different set of squares to instances, and pattern
+    //          to patterns once for each copy added
+    private static void addInstances(int pattern, List<int[]> instances, List<Integer> patterns) {
+        List<Long> covered = new ArrayList<>();
+        for (int symmetry = 0; symmetry < Symmetry.SYMMETRIES; symmetry++) {
+            int[] squares = new int[SQUARES[pattern].length];
+            long mask = 0L;
+            for (int i = 0; i < squares.length; i++) {
+                squares[i] = Symmetry.transformSquare(SQUARES[pattern][i], symmetry);
+                mask |= 1L << squares[i];
+            }
+            if (!covered.contains(mask)) {
+                covered.add(mask);
+                instances.add(squares);
+                patterns.add(pattern);
+            }
+        }
+    }
+
+    // EFFECTS: Returns 3 to the power of exponent
+    private static int power(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 3;
+        }
+        return result;
+    }
+
+    // EFFECTS: Returns the number of weights in one phase's table, covering every pattern
+    public static int getTableSize() {
+        return OFFSETS[PATTERNS];
+    }
+
+    // REQUIRES: 0 <= pattern < PATTERNS
+    // EFFECTS: Returns the index of the first weight of pattern in a phase's table
+    public static int getOffset(int pattern) {
+        return OFFSETS[pattern];
+    }
+
+    // REQUIRES: 0 <= pattern < PATTERNS
+    // EFFECTS: Returns the number of weights in pattern's table
+    public static int getSize(int pattern) {
+        return OFFSETS[pattern + 1] - OFFSETS[pattern];
+    }
+
+    // REQUIRES: 0 <= pattern < PATTERNS
+    // EFFECTS: Returns the squares of the first instance of pattern, in order. The array must not be changed.
+    public static int[] getPatternSquares(int pattern) {
+        return SQUARES[pattern];
+    }
+
+    // EFFECTS: Returns the number of pattern instances on the board
+    public static int getInstanceCount() {
+        return INSTANCES.length;
+    }
+
+    // REQUIRES: 0 <= instance < getInstanceCount()
+    // EFFECTS: Returns the pattern that instance is a copy of
+    public static int getPattern(int instance) {
+        return INSTANCE_PATTERNS[instance];
+    }
+
+    // REQUIRES: 0 <= instance < getInstanceCount()
+    // EFFECTS: Returns the squares of instance, in order. The array must not be changed.
+    public static int[] getSquares(int instance) {
+        return INSTANCES[instance];
+    }
+
+    // REQUIRES: 0 <= instance < getInstanceCount() and own & opp == 0
+    // EFFECTS: Returns the index into a phase's table of the weight for instance, where own holds the pieces of the
+    //          player to move and opp the pieces of the opponent
+    public static int index(int instance, long own, long opp) {
+        int[] squares = INSTANCES[instance];
+        int index = 0;
+        for (int square : squares) {
+            index = index * 3 + (int) ((own >>> square) & 1) + 2 * (int) ((opp >>> square) & 1);
+        }
+        return OFFSETS[INSTANCE_PATTERNS[instance]] + index;
+    }
+
+    // EFFECTS: Returns how many instances cover each square, indexed by square
+    public static int[] getCoverage() {
+        int[] coverage = new int[BOARD_SIZE];
+        for (int[] squares : INSTANCES) {
+            for (int square : squares) {
+                coverage[square]++;
+            }
+        }
+        return coverage;
+    }
+}
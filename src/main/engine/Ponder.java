@@ -0,0 +1,91 @@
+package engine;
+
+import model.GameBoard;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static model.State.*;
+
+// Represents one background search a ComputerPlayer runs on its opponent's time. It predicts the opponent's reply with
+// a search to PREDICT_DEPTH, then searches the position the reply would lead to until it is cancelled or the search
+// finishes. If the prediction hits, the time this search ran counts against the player's time for the move: its result
+// is played at once if it ran for the player's whole time limit, and otherwise the player searches for the rest of it,
+// starting from the entries this one has left in the transposition table.
+// A ponder is run by ComputerPlayer's ponder thread, holding the lock on the player's search so that it never runs
+// alongside one of the player's own searches.
+class Ponder implements Callable<SearchResult> {
+    static final int PREDICT_DEPTH = 6;
+    // Long enough that pondering is only ever ended by cancelling it
+    static final long PONDER_TIME_LIMIT = 3600000;
+
+    private ComputerPlayer player;
+    private Search search;
+    private GameBoard game;
+    private long timeLimit;
+    private AtomicBoolean stop = new AtomicBoolean();
+    private volatile GameBoard predicted;
+
+    // REQUIRES: it is the opponent of player's turn on game, and game is not shared with anything else
+    // EFFECTS: Creates a ponder for player with search, on game, that predicts the reply within timeLimit
+    //          milliseconds
+    Ponder(ComputerPlayer player, Search search, GameBoard game, long timeLimit) {
+        this.player = player;
+        this.search = search;
+        this.game = game;
+        this.timeLimit = timeLimit;
+    }
+
+    // getters
+    GameBoard getGame() {
+        return game;
+    }
+
+    // EFFECTS: Returns the position the predicted reply leads to, or null if there is none yet
+    GameBoard getPredicted() {
+        return predicted;
+    }
+
+    boolean isCancelled() {
+        return stop.get();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Makes the ponder stop as soon as it can, from any thread, without waiting for it
+    void cancel() {
+        stop.set(true);
+    }
+
+    // EFFECTS: Returns true if the prediction has been made and game is the position it leads to
+    boolean isHit(GameBoard game) {
+        GameBoard position = predicted;
+        return position != null && isSamePosition(position, game);
+    }
+
+    // EFFECTS: Returns true if first and second have the same pieces and the same player to move
+    static boolean isSamePosition(GameBoard first, GameBoard second) {
+        return first.getTurn() == second.getTurn() && first.getPieces(FILL) == second.getPieces(FILL)
+                && first.getPieces(CLEAR) == second.getPieces(CLEAR);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Predicts the opponent's reply and searches the position it leads to, and returns the result of that
+    //          search. Returns null if cancelled before then, or if the player would not search that position, as
+    //          when it is in the book, is solved exactly or leaves the player to pass.
+    @Override
+    public SearchResult call() {
+        synchronized (search) {
+            if (stop.get()) {
+                return null;
+            }
+            int reply = search.findBestMove(game, PREDICT_DEPTH, timeLimit, stop).getBestMove();
+            GameBoard next = new GameBoard(game);
+            next.makeMove(reply);
+            if (stop.get() || !player.isTurn(next) || !player.isSearched(next)) {
+                return null;
+            }
+            predicted = next;
+            return search.findBestMove(next, Search.MAX_DEPTH, PONDER_TIME_LIMIT, stop);
+        }
+    }
+}
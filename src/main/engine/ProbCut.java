@@ -0,0 +1,166 @@
+package engine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static engine.PatternEvaluator.PHASES;
+
+// The parameters of Multi-ProbCut, a selective search that prunes a node when a shallow search predicts, with
+// enough confidence, that a deep one would fail high or low. For every game phase (as given by
+// PatternEvaluator.getPhase), every depth from MIN_DEPTH to MAX_DEPTH and each of the up to PAIRS shallower depths it
+// is checked against (see getShallowDepths), the deep score is modelled as slope * shallow score + intercept, with
+// normally distributed errors of standard deviation sigma.
+// Parameters are fitted from self-play by tools.ProbCutFitter and read from a binary file: MAGIC, PHASES, MAX_DEPTH
+// and PAIRS, then slope, intercept and sigma as floats for every phase, every depth up to MAX_DEPTH and every pair.
+// A sigma of 0 means there are no parameters for that pair, so it is never used to prune.
+public class ProbCut {
+    public static final String DEFAULT_PARAMETERS = "./data/probcut.bin";
+    public static final int MAGIC = 0x4d504331;
+    public static final int MIN_DEPTH = 3;
+    public static final int MAX_DEPTH = 16;
+    public static final int PAIRS = 2;
+    // How many standard deviations the shallow score must clear the bound by
+    public static final double DEFAULT_THRESHOLD = 1.5;
+
+    private static final int[][] SHALLOW_DEPTHS = new int[MAX_DEPTH + 1][];
+    private static ProbCut defaultProbCut;
+
+    static {
+        for (int depth = MIN_DEPTH; depth <= MAX_DEPTH; depth++) {
+            int shallow = depth / 2;
+            if ((depth - shallow) % 2 != 0) {
+                shallow--;
+            }
+            shallow = Math.max(1, shallow);
+            SHALLOW_DEPTHS[depth] = shallow > 2 ? new int[]{shallow - 2, shallow} : new int[]{shallow};
+        }
+    }
+
+    private float[][][] slopes;
+    private float[][][] intercepts;
+    private float[][][] sigmas;
+    private double threshold;
+
+    // EFFECTS: Creates parameters with no regressions, which never prune, and DEFAULT_THRESHOLD
+    public ProbCut() {
+        slopes = new float[PHASES][MAX_DEPTH + 1][PAIRS];
+        intercepts = new float[PHASES][MAX_DEPTH + 1][PAIRS];
+        sigmas = new float[PHASES][MAX_DEPTH + 1][PAIRS];
+        threshold = DEFAULT_THRESHOLD;
+    }
+
+    // getters
+    public double getThreshold() {
+        return threshold;
+    }
+
+    // setters
+    public void setThreshold(double threshold) {
+        this.threshold = threshold;
+    }
+
+    // EFFECTS: Returns the parameters at DEFAULT_PARAMETERS, loading them the first time they are asked for. Returns
+    //          parameters that never prune if there are none there.
+    public static synchronized ProbCut getDefault() {
+        if (defaultProbCut == null) {
+            try {
+                boolean exists = Files.exists(Paths.get(DEFAULT_PARAMETERS));
+                defaultProbCut = exists ? load(DEFAULT_PARAMETERS) : new ProbCut();
+            } catch (IOException e) {
+                defaultProbCut = new ProbCut();
+            }
+        }
+        return defaultProbCut;
+    }
+
+    // REQUIRES: MIN_DEPTH <= depth <= MAX_DEPTH
+    // EFFECTS: Returns the shallow depths depth is checked against, cheapest first: about half of depth, with the
+    //          same parity so both scores come from the same player's evaluations, then two plies less than that if
+    //          there is room. The array must not be changed.
+    public static int[] getShallowDepths(int depth) {
+        return SHALLOW_DEPTHS[depth];
+    }
+
+    // REQUIRES: 0 <= phase < PHASES and 0 <= pair < PAIRS
+    // EFFECTS: Returns true if there are parameters for checking depth against its pair-th shallow depth in phase
+    public boolean hasParameters(int phase, int depth, int pair) {
+        return depth >= MIN_DEPTH && depth <= MAX_DEPTH && sigmas[phase][depth][pair] > 0;
+    }
+
+    // REQUIRES: hasParameters(phase, depth, pair)
+    // EFFECTS: Returns the score at or above which the pair-th shallow search predicts a deep search to depth
+    //          reaching beta
+    public int getHighBound(int phase, int depth, int pair, int beta) {
+        double margin = threshold * sigmas[phase][depth][pair];
+        return (int) Math.ceil((beta + margin - intercepts[phase][depth][pair]) / slopes[phase][depth][pair]);
+    }
+
+    // REQUIRES: hasParameters(phase, depth, pair)
+    // EFFECTS: Returns the score at or below which the pair-th shallow search predicts a deep search to depth
+    //          staying at or below alpha
+    public int getLowBound(int phase, int depth, int pair, int alpha) {
+        double margin = threshold * sigmas[phase][depth][pair];
+        return (int) Math.floor((alpha - margin - intercepts[phase][depth][pair]) / slopes[phase][depth][pair]);
+    }
+
+    // EFFECTS: Returns the slope, intercept and sigma for checking depth against its pair-th shallow depth in phase
+    public float[] getParameters(int phase, int depth, int pair) {
+        return new float[]{slopes[phase][depth][pair], intercepts[phase][depth][pair], sigmas[phase][depth][pair]};
+    }
+
+    // EFFECTS: Reads the parameters file at path and returns the parameters in it.
+    //          Throws IOException if the file cannot be read or does not hold ProbCut parameters
+    public static ProbCut load(String path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != PHASES || in.readInt() != MAX_DEPTH
+                    || in.readInt() != PAIRS) {
+                throw new IOException(path + " does not hold ProbCut parameters");
+            }
+            ProbCut result = new ProbCut();
+            for (int phase = 0; phase < PHASES; phase++) {
+                for (int depth = 0; depth <= MAX_DEPTH; depth++) {
+                    for (int pair = 0; pair < PAIRS; pair++) {
+                        result.setParameters(phase, depth, pair, in.readFloat(), in.readFloat(), in.readFloat());
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    // EFFECTS: Writes these parameters to path in the format read by load.
+    //          Throws IOException if the file cannot be written
+    public void write(String path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(PHASES);
+            out.writeInt(MAX_DEPTH);
+            out.writeInt(PAIRS);
+            for (int phase = 0; phase < PHASES; phase++) {
+                for (int depth = 0; depth <= MAX_DEPTH; depth++) {
+                    for (int pair = 0; pair < PAIRS; pair++) {
+                        out.writeFloat(slopes[phase][depth][pair]);
+                        out.writeFloat(intercepts[phase][depth][pair]);
+                        out.writeFloat(sigmas[phase][depth][pair]);
+                    }
+                }
+            }
+        }
+    }
+
+    // REQUIRES: 0 <= phase < PHASES, 0 <= depth <= MAX_DEPTH and 0 <= pair < PAIRS
+    // MODIFIES: this
+    // EFFECTS: Sets the regression for checking depth against its pair-th shallow depth in phase
+    public void setParameters(int phase, int depth, int pair, float slope, float intercept, float sigma) {
+        slopes[phase][depth][pair] = slope;
+        intercepts[phase][depth][pair] = intercept;
+        sigmas[phase][depth][pair] = sigma;
+    }
+}
@@ -0,0 +1,238 @@
+package engine;
+
+import model.BitBoard;
+import model.GameBoard;
+import model.State;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static model.GameBoard.BOARD_SIZE;
+import static model.GameBoard.PASS;
+import static model.State.*;
+
+// Searches game positions for the best move using principal variation search, a form of alpha-beta search that
+// checks every move after the first with a null window. Searches deepen one ply at a time, each around an aspiration
+// window centred on the previous score, until the depth limit or a hard time limit is reached.
+// With more than one thread, the search follows the Young Brothers Wait Concept: once the first move at a node has
+// been searched, the remaining moves are searched in parallel on a ForkJoinPool. Every thread shares one
+// transposition table, which is kept between searches, and one MoveOrdering. A search must not be shared by two
+// callers at the same time.
+// A search is full width unless it is made selective, in which case nodes are pruned by Multi-ProbCut (see ProbCut)
+// and scores are no longer guaranteed to be exact for the depth searched.
+public class Search {
+    public static final int MAX_DEPTH = BOARD_SIZE;
+    public static final int ASPIRATION_WINDOW = 40;
+    // Greater than any score a position can have
+    public static final int INFINITY = Evaluator.WIN_SCORE + BOARD_SIZE + 1;
+
+    // Squares are tried in the order of these groups: corners, other edge squares, inner squares, then the
+    // squares along the edge next to corners (C-squares) and diagonally next to corners (X-squares)
+    private static final long CORNERS = 0x8100000000000081L;
+    private static final long X_SQUARES = 0x0042000000004200L;
+    private static final long C_SQUARES = 0x4281000000008142L;
+    private static final long EDGES = 0x3c0081818181003cL;
+    private static final long INNER = ~(CORNERS | X_SQUARES | C_SQUARES | EDGES);
+    static final long[] MOVE_ORDER = {CORNERS, EDGES, INNER, C_SQUARES, X_SQUARES};
+
+    private Evaluator evaluator;
+    private int threads;
+    private TranspositionTable table;
+    private MoveOrdering ordering;
+    private ProbCut probCut;
+    private volatile boolean isSelective;
+    private ForkJoinPool pool;
+    private long deadline;
+    private AtomicBoolean stop = new AtomicBoolean();
+    private volatile boolean isAborted;
+
+    // EFFECTS: Creates a single-threaded search that scores positions with evaluator
+    public Search(Evaluator evaluator) {
+        this(evaluator, 1);
+    }
+
+    // REQUIRES: threads >= 1
+    // EFFECTS: Creates a search that scores positions with evaluator and runs on the given number of threads, with
+    //          a transposition table of TranspositionTable.DEFAULT_SIZE megabytes
+    public Search(Evaluator evaluator, int threads) {
+        this(evaluator, threads, new TranspositionTable(TranspositionTable.DEFAULT_SIZE));
+    }
+
+    // REQUIRES: threads >= 1
+    // EFFECTS: Creates a search that scores positions with evaluator, runs on the given number of threads and
+    //          stores its results in table
+    public Search(Evaluator evaluator, int threads, TranspositionTable table) {
+        this.evaluator = evaluator;
+        this.threads = threads;
+        this.table = table;
+        this.ordering = new MoveOrdering();
+        this.probCut = ProbCut.getDefault();
+    }
+
+    // getters
+    public Evaluator getEvaluator() {
+        return evaluator;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    public MoveOrdering getOrdering() {
+        return ordering;
+    }
+
+    public ProbCut getProbCut() {
+        return probCut;
+    }
+
+    public boolean isSelective() {
+        return isSelective;
+    }
+
+    // setters
+    public void setProbCut(ProbCut probCut) {
+        this.probCut = probCut;
+    }
+
+    // EFFECTS: Turns Multi-ProbCut pruning with the search's ProbCut parameters on or off. Takes effect at once,
+    //          even during a search.
+    public void setSelective(boolean isSelective) {
+        this.isSelective = isSelective;
+    }
+
+    // EFFECTS: Returns true if the current search has run out of time
+    boolean isAborted() {
+        return isAborted;
+    }
+
+    // EFFECTS: Returns true if the current search searches moves in parallel
+    boolean isParallel() {
+        return threads > 1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Aborts the current search if it has run out of time or been asked to stop
+    void checkTime() {
+        if (stop.get() || System.nanoTime() >= deadline) {
+            isAborted = true;
+        }
+    }
+
+    // EFFECTS: Searches game to increasing depths until maxDepth is reached, the final result is known or
+    //          timeLimit milliseconds pass. Returns the best move of the deepest search that finished, or PASS if
+    //          the player to move has no valid moves. game itself is left unchanged.
+    public SearchResult findBestMove(GameBoard game, int maxDepth, long timeLimit) {
+        return findBestMove(game, maxDepth, timeLimit, new AtomicBoolean());
+    }
+
+    // EFFECTS: Searches game as findBestMove(game, maxDepth, timeLimit) does, but also stops, as if out of time, as
+    //          soon as stop is set, which may be done from another thread. Returns at once if stop is already set.
+    public SearchResult findBestMove(GameBoard game, int maxDepth, long timeLimit, AtomicBoolean stop) {
+        long start = System.nanoTime();
+        deadline = start + timeLimit * 1000000L;
+        this.stop = stop;
+        isAborted = stop.get();
+        table.newSearch();
+        ordering.newSearch();
+        GameBoard board = new GameBoard(game);
+        if (board.getValidMoveMask() == 0 || board.isGameOver()) {
+            return new SearchResult(PASS, 0, 0, 0, System.nanoTime() - start);
+        }
+
+        SearchWorker worker = new SearchWorker(this, board, null);
+        if (isParallel()) {
+            return getPool().invoke(ForkJoinTask.adapt(() -> deepen(worker, maxDepth, start)));
+        }
+        return deepen(worker, maxDepth, start);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Returns the pool that runs parallel searches, creating it the first time it is needed
+    private ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(threads);
+        }
+        return pool;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Runs the iterative deepening loop of findBestMove on worker's board
+    private SearchResult deepen(SearchWorker worker, int maxDepth, long start) {
+        GameBoard board = worker.getBoard();
+        int bestMove = nextMove(board.getValidMoveMask());
+        int score = 0;
+        int completed = 0;
+        int empties = Long.bitCount(~(board.getPieces(FILL) | board.getPieces(CLEAR)));
+        for (int depth = 1; depth <= Math.min(maxDepth, empties) && !isAborted; depth++) {
+            int value = aspirationSearch(worker, depth, score, bestMove);
+            if (!isAborted) {
+                score = value;
+                bestMove = worker.getBestMove();
+                completed = depth;
+            }
+        }
+        return new SearchResult(bestMove, score, completed, worker.getNodes(), System.nanoTime() - start);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Searches the root of worker's board to depth within a window around guess, searching again with a
+    //          full window if the score falls outside it. firstMove is tried first.
+    private int aspirationSearch(SearchWorker worker, int depth, int guess, int firstMove) {
+        if (depth == 1) {
+            return worker.searchRoot(depth, -INFINITY, INFINITY, firstMove);
+        }
+        int alpha = guess - ASPIRATION_WINDOW;
+        int beta = guess + ASPIRATION_WINDOW;
+        int score = worker.searchRoot(depth, alpha, beta, firstMove);
+        if (!isAborted && (score <= alpha || score >= beta)) {
+            score = worker.searchRoot(depth, -INFINITY, INFINITY, firstMove);
+        }
+        return score;
+    }
+
+    // EFFECTS: Returns true if neither player can move on board, so the game is over even if nobody has passed yet
+    public static boolean isFinished(GameBoard board) {
+        if (board.isGameOver()) {
+            return true;
+        }
+        State turn = board.getTurn();
+        return board.getValidMoveMask() == 0
+                && BitBoard.generateMoves(board.getPieces(BitBoard.opposite(turn)), board.getPieces(turn)) == 0;
+    }
+
+    // REQUIRES: isFinished(board)
+    // EFFECTS: Returns the final score of board for the player to move, as given by exactScore
+    public static int finalScore(GameBoard board) {
+        int own = Long.bitCount(board.getPieces(board.getTurn()));
+        int opp = Long.bitCount(board.getPieces(BitBoard.opposite(board.getTurn())));
+        return exactScore(own - opp);
+    }
+
+    // EFFECTS: Returns the score of a finished game won by difference pieces: beyond WIN_SCORE by the margin of
+    //          victory for a win, beyond -WIN_SCORE for a loss, and 0 for a tie
+    public static int exactScore(int difference) {
+        if (difference > 0) {
+            return Evaluator.WIN_SCORE + difference;
+        } else if (difference < 0) {
+            return -Evaluator.WIN_SCORE + difference;
+        }
+        return 0;
+    }
+
+    // REQUIRES: moves != 0
+    // EFFECTS: Returns the square in moves to try first, going through the groups in MOVE_ORDER
+    public static int nextMove(long moves) {
+        for (long group : MOVE_ORDER) {
+            if ((moves & group) != 0) {
+                return Long.numberOfTrailingZeros(moves & group);
+            }
+        }
+        return Long.numberOfTrailingZeros(moves);
+    }
+}
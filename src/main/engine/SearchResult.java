@@ -0,0 +1,61 @@
+package engine;
+
+import model.GameBoard;
+
+// Represents the outcome of a search: the best move found, its score and how much work it took to find
+public class SearchResult {
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedNanos;
+
+    // EFFECTS: Creates a result for a search that found bestMove with the given score at depth, visiting nodes
+    //          positions in elapsedNanos nanoseconds
+    public SearchResult(int bestMove, int score, int depth, long nodes, long elapsedNanos) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // getters
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    // EFFECTS: Returns the number of positions visited per second of search
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1000000000L / elapsedNanos;
+    }
+
+    // EFFECTS: Returns true if the score is the known final result of the game rather than an estimate
+    public boolean isExact() {
+        return Math.abs(score) > Evaluator.WIN_SCORE;
+    }
+
+    // EFFECTS: Returns a one-line summary of the search
+    @Override
+    public String toString() {
+        String move = bestMove == GameBoard.PASS ? "pass" : Integer.toString(bestMove);
+        return String.format("move %s, score %d, depth %d, %d nodes in %d ms (%d nodes/s)",
+                move, score, depth, nodes, elapsedNanos / 1000000, getNodesPerSecond());
+    }
+}
@@ -0,0 +1,239 @@
+package engine;
+
+import model.BitBoard;
+import model.GameBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static engine.TranspositionTable.*;
+import static model.GameBoard.BOARD_SIZE;
+import static model.GameBoard.PASS;
+import static model.State.CLEAR;
+import static model.State.FILL;
+
+// Carries out the recursive part of a search on its own board. A single-threaded search uses one worker for the
+// whole tree; a parallel search gives a new worker and a copy of the board to every move it hands to another thread.
+// Results are looked up in and stored to the search's transposition table, which all workers share.
+class SearchWorker {
+    // Nodes at least this many plies above the leaves search their younger brothers in parallel
+    static final int SPLIT_DEPTH = 4;
+    // The clock is checked whenever the node count is a multiple of CLOCK_MASK + 1, and at every node deep enough
+    // to split, since the worker of a small sibling task may never count that many nodes
+    private static final long CLOCK_MASK = 1023;
+    // Returned by probCut when no check prunes the node
+    private static final int NO_CUT = Integer.MIN_VALUE;
+
+    private Search search;
+    private GameBoard board;
+    private SplitPoint parent;
+    private long nodes;
+    private int bestMove;
+    // The ordered moves and their scores at each number of empty squares, which every move lowers by one. Each
+    // buffer is made the first time it is needed, since workers for parallel siblings only search a few levels.
+    private int[][] moveBuffers;
+    private int[][] scoreBuffers;
+
+    // EFFECTS: Creates a worker for search that plays on board. parent is the split point that handed this worker
+    //          its move, or null for the worker at the root.
+    SearchWorker(Search search, GameBoard board, SplitPoint parent) {
+        this.search = search;
+        this.board = board;
+        this.parent = parent;
+        moveBuffers = new int[BOARD_SIZE + 1][];
+        scoreBuffers = new int[BOARD_SIZE + 1][];
+    }
+
+    // getters
+    GameBoard getBoard() {
+        return board;
+    }
+
+    long getNodes() {
+        return nodes;
+    }
+
+    int getBestMove() {
+        return bestMove;
+    }
+
+    // EFFECTS: Returns true if this worker's results are no longer needed, either because the search ran out of
+    //          time or because a move searched alongside it caused a cutoff
+    boolean isStopped() {
+        return search.isAborted() || (parent != null && parent.isStopped());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Searches every valid move on the board, starting with firstMove, and returns the best score. The best
+    //          move is available from getBestMove() afterwards.
+    int searchRoot(int depth, int alpha, int beta, int firstMove) {
+        return searchMoves(board.getValidMoveMask(), firstMove, depth, alpha, beta);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Returns the score of the board searched to depth within the window (alpha, beta), from the point of
+    //          view of the player to move. Returns 0 once the worker has been stopped.
+    int search(int depth, int alpha, int beta) {
+        if ((++nodes & CLOCK_MASK) == 0 || depth >= SPLIT_DEPTH) {
+            search.checkTime();
+        }
+        if (isStopped()) {
+            return 0;
+        } else if (Search.isFinished(board)) {
+            return Search.finalScore(board);
+        } else if (depth == 0) {
+            return search.getEvaluator().evaluate(board);
+        }
+
+        long entry = search.getTable().probe(board.getHash());
+        if (entry != MISS && getDepth(entry) >= depth && isCutoff(entry, alpha, beta)) {
+            return getScore(entry);
+        }
+        int cut = search.isSelective() ? probCut(depth, alpha, beta) : NO_CUT;
+        if (cut != NO_CUT) {
+            return cut;
+        }
+        int score = searchNode(depth, alpha, beta, entry);
+        if (!isStopped()) {
+            search.getTable().store(board.getHash(), depth, score, boundFor(score, alpha, beta), bestMove);
+        }
+        return score;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Runs the Multi-ProbCut checks for a search of the board to depth within (alpha, beta): shallow
+    //          null-window searches around the bounds the search's ProbCut gives for each shallow depth. Returns beta
+    //          or alpha if one predicts that the deep search would fail high or low, and NO_CUT otherwise. Nodes
+    //          shallower than ProbCut.MIN_DEPTH or deeper than ProbCut.MAX_DEPTH are never cut.
+    private int probCut(int depth, int alpha, int beta) {
+        if (depth < ProbCut.MIN_DEPTH || depth > ProbCut.MAX_DEPTH) {
+            return NO_CUT;
+        }
+        ProbCut probCut = search.getProbCut();
+        int phase = PatternEvaluator.getPhase(board.getPieces(FILL), board.getPieces(CLEAR));
+        int[] shallowDepths = ProbCut.getShallowDepths(depth);
+        for (int pair = 0; pair < shallowDepths.length && !isStopped(); pair++) {
+            if (!probCut.hasParameters(phase, depth, pair)) {
+                continue;
+            }
+            int high = probCut.getHighBound(phase, depth, pair, beta);
+            if (beta < Evaluator.WIN_SCORE && high < Evaluator.WIN_SCORE
+                    && search(shallowDepths[pair], high - 1, high) >= high) {
+                return beta;
+            }
+            int low = probCut.getLowBound(phase, depth, pair, alpha);
+            if (alpha > -Evaluator.WIN_SCORE && low > -Evaluator.WIN_SCORE
+                    && search(shallowDepths[pair], low, low + 1) <= low) {
+                return alpha;
+            }
+        }
+        return NO_CUT;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Searches the moves on the board, or the pass if there are none, and returns the best score. The move
+    //          stored in entry is the hash move for the ordering. Stores the best move in bestMove.
+    private int searchNode(int depth, int alpha, int beta, long entry) {
+        long moves = board.getValidMoveMask();
+        if (moves == 0) {
+            board.makeMove(PASS);
+            int score = -search(depth, -beta, -alpha);
+            board.unmakeMove();
+            bestMove = PASS;
+            return score;
+        }
+        return searchMoves(moves, entry == MISS ? PASS : getMove(entry), depth, alpha, beta);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Searches moves in the order given by the search's MoveOrdering, with firstMove as the hash move,
+    //          stopping early on a cutoff, and returns the best score. Once the first move has been searched, the
+    //          rest are searched in parallel if the search allows it and depth is at least SPLIT_DEPTH. Stores the
+    //          best move in bestMove.
+    private int searchMoves(long moves, int firstMove, int depth, int alpha, int beta) {
+        int empties = Long.bitCount(~(board.getPieces(FILL) | board.getPieces(CLEAR)));
+        int count = orderMoves(moves, firstMove, depth, empties);
+        int[] ordered = moveBuffers[empties];
+        int best = searchMove(ordered[0], depth, alpha, beta, true);
+        int localBest = ordered[0];
+        int next = 1;
+        if (best < beta && count > 1 && search.isParallel() && depth >= SPLIT_DEPTH) {
+            SplitPoint split = new SplitPoint(parent, Math.max(alpha, best), beta, best, localBest);
+            searchSplit(split, ordered, count, depth);
+            best = split.getBest();
+            localBest = split.getBestMove();
+            next = count;
+        }
+        for (; best < beta && next < count && !isStopped(); next++) {
+            int score = searchMove(ordered[next], depth, Math.max(alpha, best), beta, false);
+            if (score > best) {
+                best = score;
+                localBest = ordered[next];
+            }
+        }
+        recordCutoff(best >= beta, localBest, ordered, count, empties, depth);
+        bestMove = localBest;
+        return best;
+    }
+
+    // EFFECTS: If isCutoff and the worker has not been stopped, tells the ordering that move caused a cutoff at a
+    //          node with empties empty squares searched to depth, along with where move was among the first count
+    //          moves of ordered. That is where it was tried even when the moves were searched in parallel.
+    private void recordCutoff(boolean isCutoff, int move, int[] ordered, int count, int empties, int depth) {
+        if (isCutoff && !isStopped()) {
+            int index = 0;
+            while (index < count - 1 && ordered[index] != move) {
+                index++;
+            }
+            search.getOrdering().recordCutoff(move, index, empties, depth);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Puts moves in the order to search them to depth, with hashMove as the hash move, in the buffers for
+    //          a board with empties empty squares, and returns how many there are
+    private int orderMoves(long moves, int hashMove, int depth, int empties) {
+        if (moveBuffers[empties] == null) {
+            moveBuffers[empties] = new int[BOARD_SIZE];
+            scoreBuffers[empties] = new int[BOARD_SIZE];
+        }
+        long own = board.getPieces(board.getTurn());
+        long opp = board.getPieces(BitBoard.opposite(board.getTurn()));
+        MoveOrdering ordering = search.getOrdering();
+        return ordering.order(moves, hashMove, own, opp, depth, moveBuffers[empties], scoreBuffers[empties]);
+    }
+
+    // MODIFIES: this, split
+    // EFFECTS: Searches the moves after the first of the count in ordered in parallel and records their scores in
+    //          split
+    private void searchSplit(SplitPoint split, int[] ordered, int count, int depth) {
+        List<SiblingTask> tasks = new ArrayList<>(count - 1);
+        for (int i = 1; i < count; i++) {
+            SiblingTask task = new SiblingTask(search, new GameBoard(board), split, ordered[i], depth);
+            task.fork();
+            tasks.add(task);
+        }
+        for (SiblingTask task : tasks) {
+            nodes += task.join();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Plays move on the board, searches the resulting position one ply shallower and takes the move back.
+    //          Moves after the first are searched with a null window first, and again with the full window only if
+    //          they turn out to beat alpha.
+    int searchMove(int move, int depth, int alpha, int beta, boolean isFirst) {
+        board.makeMove(move);
+        int score;
+        if (isFirst) {
+            score = -search(depth - 1, -beta, -alpha);
+        } else {
+            score = -search(depth - 1, -alpha - 1, -alpha);
+            if (alpha < score && score < beta) {
+                score = -search(depth - 1, -beta, -alpha);
+            }
+        }
+        board.unmakeMove();
+        return score;
+    }
+}
@@ -0,0 +1,39 @@
+package engine;
+
+import model.GameBoard;
+
+import java.util.concurrent.RecursiveTask;
+
+// Searches one of the younger brothers at a split point on its own copy of the board. Returns the number of nodes
+// it searched; its score is reported to the split point.
+class SiblingTask extends RecursiveTask<Long> {
+    private Search search;
+    private GameBoard board;
+    private SplitPoint split;
+    private int move;
+    private int depth;
+
+    // EFFECTS: Creates a task that searches move to depth on board, which must be a copy of the split node
+    SiblingTask(Search search, GameBoard board, SplitPoint split, int move, int depth) {
+        this.search = search;
+        this.board = board;
+        this.split = split;
+        this.move = move;
+        this.depth = depth;
+    }
+
+    // MODIFIES: split
+    // EFFECTS: Searches move with the latest alpha of the split point, reports the score unless the search was
+    //          stopped partway, and returns the number of nodes searched
+    @Override
+    protected Long compute() {
+        SearchWorker worker = new SearchWorker(search, board, split);
+        if (!worker.isStopped()) {
+            int score = worker.searchMove(move, depth, split.getAlpha(), split.getBeta(), false);
+            if (!worker.isStopped()) {
+                split.update(move, score);
+            }
+        }
+        return worker.getNodes();
+    }
+}
@@ -0,0 +1,57 @@
+package engine;
+
+// Represents a node whose younger brothers are being searched in parallel. Sibling tasks report their scores here
+// and read the latest alpha before they start, and all of them stop early once one of them causes a cutoff.
+class SplitPoint {
+    private SplitPoint parent;
+    private int alpha;
+    private int beta;
+    private int best;
+    private int bestMove;
+    private volatile boolean isCutoff;
+
+    // EFFECTS: Creates a split point inside parent (null at the top of the tree) with the window (alpha, beta),
+    //          where the eldest brother bestMove has already been searched with the score best
+    SplitPoint(SplitPoint parent, int alpha, int beta, int best, int bestMove) {
+        this.parent = parent;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.best = best;
+        this.bestMove = bestMove;
+    }
+
+    // getters
+    synchronized int getAlpha() {
+        return alpha;
+    }
+
+    int getBeta() {
+        return beta;
+    }
+
+    synchronized int getBest() {
+        return best;
+    }
+
+    synchronized int getBestMove() {
+        return bestMove;
+    }
+
+    // EFFECTS: Returns true if this split point or any split point above it has had a cutoff
+    boolean isStopped() {
+        return isCutoff || (parent != null && parent.isStopped());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Records that move has the given score, raising alpha and signalling a cutoff as needed
+    synchronized void update(int move, int score) {
+        if (score > best) {
+            best = score;
+            bestMove = move;
+            alpha = Math.max(alpha, score);
+            if (score >= beta) {
+                isCutoff = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package engine;
+
+import model.BitBoard;
+import model.GameBoard;
+import model.State;
+
+// Evaluates positions by weighting each square on the board and adding a bonus for mobility. Corners are worth the
+// most, while the squares next to them are penalized since they tend to give the corner away.
+public class SquareEvaluator implements Evaluator {
+    public static final int MOBILITY_WEIGHT = 8;
+    private static final int[] WEIGHTS = {
+        100, -20, 10,  5,  5, 10, -20, 100,
+        -20, -50, -2, -2, -2, -2, -50, -20,
+         10,  -2, -1, -1, -1, -1,  -2,  10,
+          5,  -2, -1, -1, -1, -1,  -2,   5,
+          5,  -2, -1, -1, -1, -1,  -2,   5,
+         10,  -2, -1, -1, -1, -1,  -2,  10,
+        -20, -50, -2, -2, -2, -2, -50, -20,
+        100, -20, 10,  5,  5, 10, -20, 100
+    };
+
+    // EFFECTS: Returns the weighted square score plus the mobility bonus of board for the player to move
+    @Override
+    public int evaluate(GameBoard board) {
+        State turn = board.getTurn();
+        long own = board.getPieces(turn);
+        long opp = board.getPieces(BitBoard.opposite(turn));
+        int mobility = Long.bitCount(board.getValidMoveMask()) - Long.bitCount(BitBoard.generateMoves(opp, own));
+        return weigh(own) - weigh(opp) + MOBILITY_WEIGHT * mobility;
+    }
+
+    // REQUIRES: 0 <= square < BOARD_SIZE
+    // EFFECTS: Returns the weight of square
+    static int getWeight(int square) {
+        return WEIGHTS[square];
+    }
+
+    // EFFECTS: Returns the sum of the weights of every square in pieces
+    private int weigh(long pieces) {
+        int total = 0;
+        for (long squares = pieces; squares != 0; squares &= squares - 1) {
+            total += WEIGHTS[Long.numberOfTrailingZeros(squares)];
+        }
+        return total;
+    }
+}
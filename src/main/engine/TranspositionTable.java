@@ -0,0 +1,167 @@
+package engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+// Represents a fixed-size table of search results keyed by a 64-bit hash of a position, such as its Zobrist hash.
+// Each entry takes two longs: the packed result, and the hash xored with that result. A reader accepts an entry only
+// if the two agree, so a result half-written by another thread is treated as a miss rather than trusted. This lets
+// every search thread share the table without any locks.
+// Entries are grouped into buckets of two. The first slot of a bucket keeps the deepest result, unless it is left
+// over from an earlier search; the second slot takes every result the first slot turns away.
+public class TranspositionTable {
+    public static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+    public static final int DEFAULT_SIZE = 16;
+    // Kinds of score: exact, at least the stored score (fail high) and at most the stored score (fail low)
+    public static final int EXACT = 1;
+    public static final int LOWER = 2;
+    public static final int UPPER = 3;
+    // Returned by probe when no entry matches
+    public static final long MISS = 0L;
+
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int MOVE_SHIFT = 42;
+    private static final int AGE_SHIFT = 49;
+    private static final long BYTE_MASK = 0xff;
+
+    private long[] keys;
+    private long[] results;
+    private long bucketMask;
+    private int age;
+    private LongAdder hits;
+    private LongAdder misses;
+    private LongAdder collisions;
+
+    // REQUIRES: megabytes >= 1
+    // EFFECTS: Creates an empty table taking up at most the given number of megabytes. The number of entries is
+    //          rounded down to a power of two.
+    public TranspositionTable(int megabytes) {
+        long entries = Long.highestOneBit((long) megabytes * 1024 * 1024 / BYTES_PER_ENTRY);
+        keys = new long[(int) entries];
+        results = new long[(int) entries];
+        bucketMask = entries / 2 - 1;
+        hits = new LongAdder();
+        misses = new LongAdder();
+        collisions = new LongAdder();
+    }
+
+    // getters
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    // EFFECTS: Returns the number of times a stored result was overwritten by the result of a different position
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Marks the start of a new search, so the deepest results of earlier searches may be replaced
+    public void newSearch() {
+        age = (age + 1) & (int) BYTE_MASK;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Removes every entry and resets the counters
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(results, 0L);
+        hits.reset();
+        misses.reset();
+        collisions.reset();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Returns the packed result stored for hash, or MISS if there is none
+    public long probe(long hash) {
+        int index = indexOf(hash);
+        for (int slot = index; slot < index + 2; slot++) {
+            long result = results[slot];
+            if (result != MISS && (keys[slot] ^ result) == hash) {
+                hits.increment();
+                return result;
+            }
+        }
+        misses.increment();
+        return MISS;
+    }
+
+    // REQUIRES: 0 <= depth <= 255, bound is one of EXACT, LOWER and UPPER, and PASS <= move < BOARD_SIZE
+    // MODIFIES: this
+    // EFFECTS: Stores the result of searching the position with the given hash to depth. The first slot of the
+    //          bucket is replaced if it holds the same position, a shallower result or a result from an earlier
+    //          search; otherwise the second slot is replaced.
+    public void store(long hash, int depth, int score, int bound, int move) {
+        long result = (score & 0xffffffffL) | ((long) depth << DEPTH_SHIFT) | ((long) bound << BOUND_SHIFT)
+                | ((long) (move + 1) << MOVE_SHIFT) | ((long) age << AGE_SHIFT);
+        int slot = indexOf(hash);
+        long stored = results[slot];
+        boolean isSame = (keys[slot] ^ stored) == hash;
+        if (!isSame && stored != MISS && getDepth(stored) > depth && getAge(stored) == age) {
+            slot++;
+            stored = results[slot];
+            isSame = (keys[slot] ^ stored) == hash;
+        }
+        if (!isSame && stored != MISS) {
+            collisions.increment();
+        }
+        results[slot] = result;
+        keys[slot] = hash ^ result;
+    }
+
+    // EFFECTS: Returns the index of the first slot of the bucket for hash
+    private int indexOf(long hash) {
+        return (int) (hash & bucketMask) * 2;
+    }
+
+    // REQUIRES: result != MISS
+    // EFFECTS: Returns the score stored in result
+    public static int getScore(long result) {
+        return (int) result;
+    }
+
+    // REQUIRES: result != MISS
+    // EFFECTS: Returns the depth stored in result
+    public static int getDepth(long result) {
+        return (int) ((result >>> DEPTH_SHIFT) & BYTE_MASK);
+    }
+
+    // REQUIRES: result != MISS
+    // EFFECTS: Returns the kind of score stored in result: EXACT, LOWER or UPPER
+    public static int getBound(long result) {
+        return (int) ((result >>> BOUND_SHIFT) & 3);
+    }
+
+    // REQUIRES: result != MISS
+    // EFFECTS: Returns the best move stored in result, which is PASS if the player to move had to pass
+    public static int getMove(long result) {
+        return (int) ((result >>> MOVE_SHIFT) & 0x7f) - 1;
+    }
+
+    // REQUIRES: result != MISS
+    // EFFECTS: Returns true if the score stored in result settles a search of the window (alpha, beta)
+    public static boolean isCutoff(long result, int alpha, int beta) {
+        int bound = getBound(result);
+        int score = getScore(result);
+        return bound == EXACT || (bound == LOWER && score >= beta) || (bound == UPPER && score <= alpha);
+    }
+
+    // EFFECTS: Returns the kind of score that a search of the window (alpha, beta) returning score has found
+    public static int boundFor(int score, int alpha, int beta) {
+        return score <= alpha ? UPPER : score >= beta ? LOWER : EXACT;
+    }
+
+    // EFFECTS: Returns the search age stored in result
+    private static int getAge(long result) {
+        return (int) ((result >>> AGE_SHIFT) & BYTE_MASK);
+    }
+}
@@ -0,0 +1,221 @@
+package model;
+
+import static model.GameBoard.BOARD_SIZE;
+import static model.GameBoard.SIDE_LENGTH;
+import static model.State.*;
+
+// Represents the pieces on a game board as two 64-bit masks, one for each state. Bit i of a mask is set when
+// square i (numbered as in GameBoard) holds a piece of that state. Valid moves are found by shifting whole masks at
+// once rather than by visiting squares one at a time, and flips by walking the precomputed rays in Rays. Each
+// bitboard finds its valid moves and flips with a MoveGenerator, MoveGenerator.DEFAULT unless another is given.
+public class BitBoard {
+    public static final int DIRECTIONS = 8;
+    // Masks out the leftmost and rightmost columns, which a horizontal shift would otherwise wrap onto
+    public static final long NOT_LEFT_COLUMN = 0xfefefefefefefefeL;
+    public static final long NOT_RIGHT_COLUMN = 0x7f7f7f7f7f7f7f7fL;
+
+    // Shift amounts for each direction, in the order right, down, left, up, lower right, lower left, upper right
+    // and upper left. Negative amounts shift towards square 0.
+    private static final int[] SHIFTS = {1, SIDE_LENGTH, -1, -SIDE_LENGTH,
+            SIDE_LENGTH + 1, SIDE_LENGTH - 1, -(SIDE_LENGTH - 1), -(SIDE_LENGTH + 1)};
+    private static final long[] MASKS = {NOT_LEFT_COLUMN, -1L, NOT_RIGHT_COLUMN, -1L,
+            NOT_LEFT_COLUMN, NOT_RIGHT_COLUMN, NOT_LEFT_COLUMN, NOT_RIGHT_COLUMN};
+
+    private long fill;
+    private long clear;
+    private MoveGenerator generator;
+
+    // EFFECTS: Initializes a bitboard with no pieces on it
+    public BitBoard() {
+        fill = 0L;
+        clear = 0L;
+        generator = MoveGenerator.DEFAULT;
+    }
+
+    // EFFECTS: Initializes a bitboard with the same pieces and move generator as other
+    public BitBoard(BitBoard other) {
+        fill = other.fill;
+        clear = other.clear;
+        generator = other.generator;
+    }
+
+    // getters
+    public long getFill() {
+        return fill;
+    }
+
+    public long getClear() {
+        return clear;
+    }
+
+    public MoveGenerator getGenerator() {
+        return generator;
+    }
+
+    // setters
+    public void setGenerator(MoveGenerator generator) {
+        this.generator = generator;
+    }
+
+    // EFFECTS: Returns the mask of all pieces of the given state
+    public long getPieces(State state) {
+        return state.equals(FILL) ? fill : clear;
+    }
+
+    // EFFECTS: Returns the mask of all squares without a piece
+    public long getEmpty() {
+        return ~(fill | clear);
+    }
+
+    // EFFECTS: Returns the number of pieces of the given state
+    public int count(State state) {
+        return Long.bitCount(getPieces(state));
+    }
+
+    // REQUIRES: 0 <= position < BOARD_SIZE
+    // EFFECTS: Returns the state of the piece at position, or null if the square is empty
+    public State getState(int position) {
+        long square = 1L << position;
+        if ((fill & square) != 0) {
+            return FILL;
+        } else if ((clear & square) != 0) {
+            return CLEAR;
+        }
+        return null;
+    }
+
+    // REQUIRES: 0 <= position < BOARD_SIZE
+    // MODIFIES: this
+    // EFFECTS: Puts a piece of the given state at position, replacing any piece already there
+    public void setState(int position, State state) {
+        long square = 1L << position;
+        if (state.equals(FILL)) {
+            fill |= square;
+            clear &= ~square;
+        } else {
+            clear |= square;
+            fill &= ~square;
+        }
+    }
+
+    // REQUIRES: fill & clear == 0
+    // MODIFIES: this
+    // EFFECTS: Replaces all pieces on the board with fill pieces on the squares in fill and clear pieces on the
+    //          squares in clear
+    public void setPieces(long fill, long clear) {
+        this.fill = fill;
+        this.clear = clear;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Removes all pieces from the board
+    public void reset() {
+        fill = 0L;
+        clear = 0L;
+    }
+
+    // EFFECTS: Returns the mask of all squares where turn can legally place a piece
+    public long getValidMoves(State turn) {
+        return generator.generateMoves(getPieces(turn), getPieces(opposite(turn)));
+    }
+
+    // REQUIRES: previous is the result of getValidMoves(turn) from before the squares in changed were altered, and
+    //          no other squares have been altered since
+    // EFFECTS: Returns the mask of all squares where turn can legally place a piece. Only the empty squares that
+    //          share a line with a changed square are checked again; every other square keeps its previous result.
+    public long updateValidMoves(State turn, long previous, long changed) {
+        long empty = getEmpty();
+        long affected = changed;
+        for (long squares = changed; squares != 0; squares &= squares - 1) {
+            affected |= Rays.getLine(Long.numberOfTrailingZeros(squares));
+        }
+        affected &= empty;
+
+        long own = getPieces(turn);
+        long opp = getPieces(opposite(turn));
+        long moves = previous & empty & ~affected;
+        for (long squares = affected; squares != 0; squares &= squares - 1) {
+            int position = Long.numberOfTrailingZeros(squares);
+            if (generator.generateFlips(own, opp, position) != 0) {
+                moves |= 1L << position;
+            }
+        }
+        return moves;
+    }
+
+    // EFFECTS: Returns the mask of pieces that would be flipped if turn placed a piece at position. Returns 0 if
+    //          position is outside the board, already occupied, or would flip nothing.
+    public long getFlips(State turn, int position) {
+        if (!(0 <= position && position < BOARD_SIZE) || (getEmpty() & (1L << position)) == 0) {
+            return 0L;
+        }
+        return generator.generateFlips(getPieces(turn), getPieces(opposite(turn)), position);
+    }
+
+    // REQUIRES: flips is the result of getFlips(turn, position) on the current board
+    // MODIFIES: this
+    // EFFECTS: Places a piece for turn at position and flips every piece in flips
+    public void play(State turn, int position, long flips) {
+        long changed = flips | (1L << position);
+        if (turn.equals(FILL)) {
+            fill |= changed;
+            clear &= ~changed;
+        } else {
+            clear |= changed;
+            fill &= ~changed;
+        }
+    }
+
+    // REQUIRES: play(turn, position, flips) was the last change made to this bitboard
+    // MODIFIES: this
+    // EFFECTS: Takes back the piece turn placed at position and returns every piece in flips to the other player
+    public void unplay(State turn, int position, long flips) {
+        long placed = 1L << position;
+        if (turn.equals(FILL)) {
+            fill &= ~(flips | placed);
+            clear |= flips;
+        } else {
+            clear &= ~(flips | placed);
+            fill |= flips;
+        }
+    }
+
+    // EFFECTS: Returns the opposing state of the given state
+    public static State opposite(State state) {
+        return state.equals(FILL) ? CLEAR : FILL;
+    }
+
+    // REQUIRES: 0 <= dir < DIRECTIONS
+    // EFFECTS: Moves every piece in pieces one square in direction dir, dropping any that leave the board
+    public static long shift(long pieces, int dir) {
+        int amount = SHIFTS[dir];
+        long shifted = amount > 0 ? pieces << amount : pieces >>> -amount;
+        return shifted & MASKS[dir];
+    }
+
+    // EFFECTS: Returns the mask of empty squares that would flip at least one of opp's pieces if own placed a
+    //          piece there. Each direction grows a run of opposing pieces out from own's pieces; a run can hold at
+    //          most SIDE_LENGTH - 2 pieces, so the loop extends it SIDE_LENGTH - 3 times past the first piece.
+    public static long generateMoves(long own, long opp) {
+        long empty = ~(own | opp);
+        long moves = 0L;
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+            long run = shift(own, dir) & opp;
+            for (int i = 0; i < SIDE_LENGTH - 3; i++) {
+                run |= shift(run, dir) & opp;
+            }
+            moves |= shift(run, dir) & empty;
+        }
+        return moves;
+    }
+
+    // REQUIRES: position is an empty square on the board
+    // EFFECTS: Returns the mask of opp's pieces that would be flipped if own placed a piece at position
+    public static long generateFlips(long own, long opp, int position) {
+        long flips = 0L;
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+            flips |= Rays.walk(own, opp, position, dir);
+        }
+        return flips;
+    }
+}
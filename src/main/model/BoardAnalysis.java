@@ -0,0 +1,142 @@
+package model;
+
+import static model.BitBoard.*;
+import static model.GameBoard.SIDE_LENGTH;
+
+// Counts and masks used by evaluators, hints and analytics, worked out on whole bitboards at once with shifts and
+// popcounts. Nothing is allocated and no square is visited one at a time, so each query takes the same handful of
+// operations whatever the position. own and opp are the pieces of the player asked about and of their opponent.
+public final class BoardAnalysis {
+    // Squares on the edge of the board, past which no line continues
+    public static final long EDGES = 0xff818181818181ffL;
+    private static final long TOP_AND_BOTTOM_ROWS = 0xff000000000000ffL;
+    private static final long LEFT_AND_RIGHT_COLUMNS = 0x8181818181818181L;
+    private static final long LEFT_COLUMN = 0x0101010101010101L;
+    // Every diagonal running from upper left to lower right, then every one running from upper right to lower left
+    private static final long[] DIAGONALS = new long[2 * (2 * SIDE_LENGTH - 1)];
+
+    static {
+        for (int row = 0; row < SIDE_LENGTH; row++) {
+            for (int column = 0; column < SIDE_LENGTH; column++) {
+                long square = 1L << (row * SIDE_LENGTH + column);
+                DIAGONALS[column - row + SIDE_LENGTH - 1] |= square;
+                DIAGONALS[2 * SIDE_LENGTH - 1 + row + column] |= square;
+            }
+        }
+    }
+
+    private BoardAnalysis() {
+    }
+
+    // EFFECTS: Returns the number of squares where own can place a piece
+    public static int mobility(long own, long opp) {
+        return Long.bitCount(generateMoves(own, opp));
+    }
+
+    // EFFECTS: Returns the number of empty squares next to at least one of opp's pieces, which own may be able to
+    //          play on later
+    public static int potentialMobility(long own, long opp) {
+        return Long.bitCount(neighbours(opp) & ~(own | opp));
+    }
+
+    // EFFECTS: Returns the mask of own's frontier pieces: those next to at least one empty square
+    public static long frontier(long own, long opp) {
+        return own & neighbours(~(own | opp));
+    }
+
+    // EFFECTS: Returns the mask of every square next to at least one of the squares in squares, apart from those
+    //          squares themselves. The squares are first spread across their rows, then the widened rows up and down.
+    public static long neighbours(long squares) {
+        long across = ((squares << 1) & NOT_LEFT_COLUMN) | ((squares >>> 1) & NOT_RIGHT_COLUMN);
+        long rows = squares | across;
+        return (across | (rows << SIDE_LENGTH) | (rows >>> SIDE_LENGTH)) & ~squares;
+    }
+
+    // EFFECTS: Returns the mask of the empty squares that lie in regions with an odd number of empty squares, where
+    //          a region is a group of empty squares joined to each other in any of the eight directions
+    public static long oddRegions(long empty) {
+        long odd = 0L;
+        for (long remaining = empty; remaining != 0; ) {
+            long region = region(empty, remaining & -remaining);
+            if ((Long.bitCount(region) & 1) != 0) {
+                odd |= region;
+            }
+            remaining &= ~region;
+        }
+        return odd;
+    }
+
+    // EFFECTS: Returns the number of regions of empty squares, as in oddRegions, with an odd number of squares
+    public static int oddRegionCount(long empty) {
+        int count = 0;
+        for (long remaining = empty; remaining != 0; ) {
+            long region = region(empty, remaining & -remaining);
+            count += Long.bitCount(region) & 1;
+            remaining &= ~region;
+        }
+        return count;
+    }
+
+    // REQUIRES: seed is one of the squares in empty
+    // EFFECTS: Returns the region of empty squares holding seed, grown out from seed until it stops changing
+    private static long region(long empty, long seed) {
+        long region = seed;
+        for (long grown = 0L; grown != region; ) {
+            grown = region;
+            region |= neighbours(region) & empty;
+        }
+        return region;
+    }
+
+    // EFFECTS: Returns the mask of own's pieces that can never be flipped. A piece is stable when along each of the
+    //          four lines through it (across, down and both diagonals) the line is full, or it has the edge of the
+    //          board or a stable piece of its own on one side. Starting from no stable pieces, the rule is applied to
+    //          all pieces at once until no more become stable. Pieces that are only stable for subtler reasons are
+    //          not found, so the result is a subset of the truly stable pieces.
+    public static long stable(long own, long opp) {
+        long filled = own | opp;
+        long across = fullRows(filled) | LEFT_AND_RIGHT_COLUMNS;
+        long down = fullColumns(filled) | TOP_AND_BOTTOM_ROWS;
+        long diagonal = fullDiagonals(filled, 0) | EDGES;
+        long antiDiagonal = fullDiagonals(filled, DIAGONALS.length / 2) | EDGES;
+        long stable = 0L;
+        for (long previous = -1L; previous != stable; ) {
+            previous = stable;
+            stable = own & (across | shift(stable, 0) | shift(stable, 2))
+                    & (down | shift(stable, 1) | shift(stable, 3))
+                    & (diagonal | shift(stable, 4) | shift(stable, 7))
+                    & (antiDiagonal | shift(stable, 5) | shift(stable, 6));
+        }
+        return stable;
+    }
+
+    // EFFECTS: Returns the mask of every row of the board that has no empty square
+    private static long fullRows(long filled) {
+        long rows = filled;
+        rows &= rows >>> 4;
+        rows &= rows >>> 2;
+        rows &= rows >>> 1;
+        return (rows & LEFT_COLUMN) * 0xffL;
+    }
+
+    // EFFECTS: Returns the mask of every column of the board that has no empty square
+    private static long fullColumns(long filled) {
+        long columns = filled;
+        columns &= columns >>> 32;
+        columns &= columns >>> 16;
+        columns &= columns >>> 8;
+        return (columns & 0xffL) * LEFT_COLUMN;
+    }
+
+    // EFFECTS: Returns the mask of every diagonal in one direction that has no empty square, where the diagonals
+    //          in that direction start at DIAGONALS[first]
+    private static long fullDiagonals(long filled, int first) {
+        long full = 0L;
+        for (int i = first; i < first + DIAGONALS.length / 2; i++) {
+            if ((filled & DIAGONALS[i]) == DIAGONALS[i]) {
+                full |= DIAGONALS[i];
+            }
+        }
+        return full;
+    }
+}
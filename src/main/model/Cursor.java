@@ -2,18 +2,25 @@ package model;
 
 import exceptions.IllegalCursorException;
 
-import static model.GameBoard.BOARD_SIZE;
 import static model.GameBoard.SIDE_LENGTH;
 
-// Represents a cursor on the board - retains its original position, but can also check surrounding squares.
+// Represents a cursor on the board - retains its original position, but can also check surrounding squares. The
+// board is GameBoard's unless another side length is given, as for a VariantBoard.
 public class Cursor {
     private int original;
     private int current;
+    private final int sideLength;
 
-    // EFFECTS: Initializes a cursor at the given position
+    // EFFECTS: Initializes a cursor at the given position on a board with side length SIDE_LENGTH
     public Cursor(int position) {
+        this(position, SIDE_LENGTH);
+    }
+
+    // EFFECTS: Initializes a cursor at the given position on a board with the given side length
+    public Cursor(int position, int sideLength) {
         original = position;
         current = position;
+        this.sideLength = sideLength;
     }
 
     // getters
@@ -25,6 +32,10 @@ public class Cursor {
         return original;
     }
 
+    public int getSideLength() {
+        return sideLength;
+    }
+
     // setters
     public void setCurrent(int position) {
         current = position;
@@ -34,7 +45,7 @@ public class Cursor {
     // EFFECTS: Sets the entirety of the cursor to position. Throws IllegalCursorException if
     //          the cursor attempts to move outside of the board
     public void setPosition(int position) throws IllegalCursorException {
-        if (!(0 <= position && position < BOARD_SIZE)) {
+        if (!(0 <= position && position < sideLength * sideLength)) {
             throw new IllegalCursorException();
         }
         original = position;
@@ -52,7 +63,7 @@ public class Cursor {
     //          if it attempts to move to the next row or outside the bounds of the board
     public void moveCursorRight() throws IllegalCursorException {
         int newPosition = current + 1;
-        if (newPosition >= BOARD_SIZE || (newPosition % SIDE_LENGTH == 0)) {
+        if (newPosition >= sideLength * sideLength || (newPosition % sideLength == 0)) {
             throw new IllegalCursorException();
         }
         current = newPosition;
@@ -63,7 +74,7 @@ public class Cursor {
     //          it attempts to move to the row above or outside the bounds of the board
     public void moveCursorLeft() throws IllegalCursorException {
         int newPosition = current - 1;
-        if (newPosition < 0 || (newPosition % SIDE_LENGTH == (SIDE_LENGTH - 1))) {
+        if (newPosition < 0 || (newPosition % sideLength == (sideLength - 1))) {
             throw new IllegalCursorException();
         }
         current = newPosition;
@@ -73,8 +84,8 @@ public class Cursor {
     // EFFECTS: Moves the cursor down by one unit and throws an IllegalCursorException if
     //          it attempts to move outside the bounds of the board
     public void moveCursorDown() throws IllegalCursorException {
-        int newPosition = current + SIDE_LENGTH;
-        if (newPosition >= BOARD_SIZE) {
+        int newPosition = current + sideLength;
+        if (newPosition >= sideLength * sideLength) {
             throw new IllegalCursorException();
         }
         current = newPosition;
@@ -84,7 +95,7 @@ public class Cursor {
     // EFFECTS: Moves the cursor up by one unit and throws an IllegalCursorException if
     //          it attempts to move outside the bounds of the board
     public void moveCursorUp() throws IllegalCursorException {
-        int newPosition = current - SIDE_LENGTH;
+        int newPosition = current - sideLength;
         if (newPosition < 0) {
             throw new IllegalCursorException();
         }
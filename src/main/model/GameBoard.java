@@ -2,7 +2,6 @@ package model;
 
 import org.json.JSONArray;
 import persistence.Writable;
-import exceptions.IllegalCursorException;
 import org.json.JSONObject;
 
 import java.util.*;
@@ -11,8 +10,16 @@ import static model.State.*;
 
 // Represents a game of Othello played on a square board with side length SIDE_LENGTH. Each square on the board is
 // represented by a number ranging from 0 to 63, increasing from left to right and from top to bottom.
+// The pieces are kept in a bitboard. The map of GamePieces returned by getBoard is only built for callers that ask
+// for it, so boards that are only played on, such as the copies made by searches, hold no piece objects at all.
+// Once built, its pieces are ordinary GamePieces that placePiece flips in place, and that callers may change too.
+// Valid moves and flips are found by the MoveGenerator of the bitboard, which copies share with the board they were
+// made from.
+// A game is not safe to change from more than one thread, but after every change made by a public method other than
+// makeMove and unmakeMove it publishes an immutable Position, which any thread may read through getPosition. Moves
+// made with makeMove and unmakeMove, which searches play on their own copies, are only published by publish().
 public class GameBoard implements Writable {
-    // INVARIANT: SIDE_LENGTH must be 8
+    // INVARIANT: SIDE_LENGTH must be 8 - boards of other sizes are played with VariantBoard
     public static final int SIDE_LENGTH = 8;
     public static final int BOARD_SIZE = SIDE_LENGTH * SIDE_LENGTH;
     public static final int MARGIN = SIDE_LENGTH / 2 - 1;
@@ -22,29 +29,51 @@ public class GameBoard implements Writable {
     public static final int Q2 = (SIDE_LENGTH * MARGIN) + MARGIN;
     public static final int Q3 = (SIDE_LENGTH * (MARGIN + 1)) + MARGIN;
     public static final int Q4 = (SIDE_LENGTH * (MARGIN + 1)) + (MARGIN + 1);
+    // Position given to makeMove when the current player has no valid moves and must pass
+    public static final int PASS = -1;
+    // Capacity of the undo stack once a move is first played - a game has at most BOARD_SIZE - 4 moves, each of
+    // which can be followed by a pass
+    private static final int UNDO_CAPACITY = 2 * BOARD_SIZE;
+    // initialCapacity of board, set to 86 as to avoid any rehashing
+    private static final int MAP_CAPACITY = 86;
+    private static final long[] EMPTY_STACK = new long[0];
 
     private Map<Integer, GamePiece> board;
     private State turn;
     private Map<Integer, Set<GamePiece>> validMoves;
-    private Cursor cursor;
+    private BitBoard bits;
+    private long legalMoves;
+    private long waitingMoves;
+    private boolean isIncremental;
     private boolean isGameOver;
     private int clearPieceCount;
     private int fillPieceCount;
     private int gameOverCounter;
-    private Set<GamePiece> playedPieces;
+    private long playedSquares;
+    private boolean isMapStale;
+    private long hash;
+    private volatile Position position;
+
+    // Undo stack kept in parallel primitive arrays so that makeMove and unmakeMove never allocate once the first
+    // move has been played. Each entry holds the pieces flipped by a move, the state packed by packUndoState, and
+    // the valid moves and hash from before the move.
+    private long[] undoFlips;
+    private long[] undoStates;
+    private long[] undoLegalMoves;
+    private long[] undoWaitingMoves;
+    private long[] undoHashes;
+    private int undoDepth;
 
     // EFFECTS: Constructs a new game board in the starting configuration (fill goes first)
     public GameBoard() {
-        // initialCapacity set to 86 as to avoid any rehashing
-        board = new HashMap<>(86);
         turn = FILL;
-        validMoves = new HashMap<>();
-        cursor = new Cursor(0);
+        bits = new BitBoard();
         isGameOver = false;
         clearPieceCount = 0;
         fillPieceCount = 0;
         gameOverCounter = 0;
-        playedPieces = new HashSet<>();
+        playedSquares = 0L;
+        initializeUndoStack();
 
         setUpGame();
         setValidMoves();
@@ -57,26 +86,79 @@ public class GameBoard implements Writable {
         fillPieceCount = fillPieces;
         gameOverCounter = gameOverCount;
 
-        // initialCapacity set to 86 as to avoid any rehashing
-        board = new HashMap<>(86);
-        validMoves = new HashMap<>();
-        cursor = new Cursor(0);
+        bits = new BitBoard();
         isGameOver = false;
+        initializeUndoStack();
 
         setValidMoves();
     }
 
+    // EFFECTS: Constructs a copy of other's current position that can be played without affecting other. The copy
+    //          starts with an empty undo stack.
+    public GameBoard(GameBoard other) {
+        bits = new BitBoard(other.bits);
+        turn = other.turn;
+        legalMoves = other.legalMoves;
+        waitingMoves = other.waitingMoves;
+        isIncremental = other.isIncremental;
+        isGameOver = other.isGameOver;
+        clearPieceCount = other.clearPieceCount;
+        fillPieceCount = other.fillPieceCount;
+        gameOverCounter = other.gameOverCounter;
+        playedSquares = other.playedSquares;
+        hash = other.hash;
+        initializeUndoStack();
+        publish();
+    }
+
+    // EFFECTS: Constructs a game in the position captured by snapshot, with an empty undo stack
+    public GameBoard(Position snapshot) {
+        bits = new BitBoard();
+        bits.setPieces(snapshot.getFill(), snapshot.getClear());
+        turn = snapshot.getTurn();
+        legalMoves = snapshot.getValidMoveMask();
+        isGameOver = snapshot.isGameOver();
+        clearPieceCount = snapshot.getClearPieceCount();
+        fillPieceCount = snapshot.getFillPieceCount();
+        gameOverCounter = snapshot.getGameOverCounter();
+        hash = snapshot.getHash();
+        initializeUndoStack();
+        position = snapshot;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Creates an empty undo stack, which allocates no room for moves until the first one is pushed
+    private void initializeUndoStack() {
+        undoFlips = EMPTY_STACK;
+        undoStates = EMPTY_STACK;
+        undoLegalMoves = EMPTY_STACK;
+        undoWaitingMoves = EMPTY_STACK;
+        undoHashes = EMPTY_STACK;
+        undoDepth = 0;
+    }
+
     // getters
+    // EFFECTS: Returns a map from every occupied square to its piece, building it from the bitboard the first time
+    //          it is asked for after a change. Pieces put into the map only take part in the game once setValidMoves
+    //          is called.
     public Map<Integer, GamePiece> getBoard() {
+        syncMaps();
         return this.board;
     }
 
+    // EFFECTS: Returns an unmodifiable map from every valid move of the current player to the pieces it would flip.
+    //          The map is only built when asked for, once per position; getValidMoveMask, flipsFor and
+    //          getValidMoveSquares answer the same questions without allocating.
     public Map<Integer, Set<GamePiece>> getValidMoves() {
-        return this.validMoves;
+        if (validMoves == null) {
+            validMoves = buildValidMoveMap();
+        }
+        return validMoves;
     }
 
+    // EFFECTS: Returns an unmodifiable set of the valid moves of the current player, as getValidMoves() does
     public Set<Integer> getValidMoveKeys() {
-        return this.validMoves.keySet();
+        return getValidMoves().keySet();
     }
 
     public State getTurn() {
@@ -99,9 +181,94 @@ public class GameBoard implements Writable {
         return gameOverCounter;
     }
 
+    public long getPlayedSquares() {
+        return playedSquares;
+    }
+
+    // EFFECTS: Returns the last published snapshot of the game. Safe to call from any thread.
+    public Position getPosition() {
+        return position;
+    }
+
+    public int getUndoDepth() {
+        return undoDepth;
+    }
+
+    // EFFECTS: Returns the Zobrist hash of the current position, including whose turn it is
+    public long getHash() {
+        return hash;
+    }
+
+    // EFFECTS: Returns the mask of all squares where the current player can place a piece
+    public long getValidMoveMask() {
+        return legalMoves;
+    }
+
+    // EFFECTS: Returns a new iterator over the squares where the current player can place a piece, lowest first.
+    //          This is a convenience that allocates on every call; code that runs often should pass its own iterator
+    //          to getValidMoveSquares(SquareIterator), or walk getValidMoveMask() directly.
+    public SquareIterator getValidMoveSquares() {
+        return new SquareIterator(legalMoves);
+    }
+
+    // MODIFIES: reuse
+    // EFFECTS: Resets reuse to iterate over the squares where the current player can place a piece, lowest first,
+    //          and returns it, without allocating
+    public SquareIterator getValidMoveSquares(SquareIterator reuse) {
+        return reuse.reset(legalMoves);
+    }
+
+    // EFFECTS: Returns the mask of the pieces the current player would flip by placing a piece at square, or 0 if
+    //          square is not a valid move
+    public long flipsFor(int square) {
+        return isValidMove(square) ? bits.getFlips(turn, square) : 0L;
+    }
+
+    // EFFECTS: Returns the mask of all pieces of the given state
+    public long getPieces(State state) {
+        return bits.getPieces(state);
+    }
+
+    // EFFECTS: Returns the number of squares where the given player could place a piece if it were their turn. Uses
+    //          the valid moves already found for the current player, and for the other player too while incremental
+    //          move generation is on, so only the other player's moves with it off need working out.
+    public int getMobility(State state) {
+        if (state.equals(turn)) {
+            return Long.bitCount(legalMoves);
+        } else if (isIncremental) {
+            return Long.bitCount(waitingMoves);
+        }
+        return BoardAnalysis.mobility(bits.getPieces(state), bits.getPieces(BitBoard.opposite(state)));
+    }
+
+    public boolean isIncremental() {
+        return isIncremental;
+    }
+
+    public MoveGenerator getMoveGenerator() {
+        return bits.getGenerator();
+    }
+
     // setters
     public void setGameOverCounter(int num) {
         this.gameOverCounter = num;
+        publish();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Turns incremental move generation on or off. While on, valid moves are kept for both players and
+    //          only the squares affected by each placed piece are checked again, so passing a turn needs no rescan.
+    public void setIncremental(boolean isIncremental) {
+        this.isIncremental = isIncremental;
+        setValidMoves();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Finds valid moves and flips with generator from now on, and finds the valid moves of the current
+    //          player with it
+    public void setMoveGenerator(MoveGenerator generator) {
+        bits.setGenerator(generator);
+        setValidMoves();
     }
 
     // MODIFIES: this
@@ -132,17 +299,33 @@ public class GameBoard implements Writable {
         } else {
             clearPieceCount = num;
         }
+        publish();
     }
 
     // MODIFIES: this
     // EFFECTS: Sets up the board in the starting configuration.
     public void setUpGame() {
-        board.put(Q1, new GamePiece(Q1, FILL));
-        board.put(Q2, new GamePiece(Q2, CLEAR));
-        board.put(Q3, new GamePiece(Q3, FILL));
-        board.put(Q4, new GamePiece(Q4, CLEAR));
+        putPiece(Q1, FILL);
+        putPiece(Q2, CLEAR);
+        putPiece(Q3, FILL);
+        putPiece(Q4, CLEAR);
         clearPieceCount = 2;
         fillPieceCount = 2;
+        publish();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Puts a piece of the given state at position on the bitboard, and on board if it has been built
+    private void putPiece(int position, State state) {
+        if (isMapBuilt()) {
+            board.put(position, new GamePiece(position, state));
+        }
+        State replaced = bits.getState(position);
+        if (replaced != null) {
+            hash ^= Zobrist.getKey(replaced, position);
+        }
+        hash ^= Zobrist.getKey(state, position);
+        bits.setState(position, state);
     }
 
     // MODIFIES: this
@@ -162,6 +345,7 @@ public class GameBoard implements Writable {
     public void checkGameOver() {
         if (gameOverCounter == 2) {
             isGameOver = true;
+            publish();
         }
     }
 
@@ -170,7 +354,7 @@ public class GameBoard implements Writable {
     //          and returns false. Does nothing and returns true if there are valid moves.
     public boolean checkAnyValidMoves() {
         boolean anyValidMoves = true;
-        if (validMoves.isEmpty()) {
+        if (legalMoves == 0) {
             gameOverCounter++;
             nextTurn();
             anyValidMoves = false;
@@ -179,14 +363,25 @@ public class GameBoard implements Writable {
     }
 
     // MODIFIES: this
-    // EFFECTS: Advances the game to the next player's turn and stores any valid moves.
+    // EFFECTS: Advances the game to the next player's turn and finds their valid moves.
     public void nextTurn() {
-        if (turn.equals(FILL)) {
-            turn = CLEAR;
+        switchTurn();
+        validMoves = null;
+        publish();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Hands the turn to the other player and finds their valid moves, without touching validMoves
+    private void switchTurn() {
+        turn = BitBoard.opposite(turn);
+        hash ^= Zobrist.TURN_KEY;
+        if (isIncremental) {
+            long nextMoves = waitingMoves;
+            waitingMoves = legalMoves;
+            legalMoves = nextMoves;
         } else {
-            turn = FILL;
+            legalMoves = bits.getValidMoves(turn);
         }
-        setValidMoves();
     }
 
     // MODIFIES: this
@@ -195,23 +390,11 @@ public class GameBoard implements Writable {
     //          Returns true if successful, false otherwise.
     public boolean placePiece(int position) {
         boolean isPiecePlaced = false;
-        if (validMoves.containsKey(position)) {
-            GamePiece toPlace = new GamePiece(position, turn);
-            board.put(position, toPlace);
-            for (GamePiece piece : validMoves.get(position)) {
-                piece.flip();
+        if (isValidMove(position)) {
+            playMove(position, bits.getFlips(turn, position));
+            if (isMapBuilt()) {
+                placeOnMap(position);
             }
-
-            if (turn.equals(FILL)) {
-                fillPieceCount += (validMoves.get(position).size() + 1);
-                clearPieceCount -= validMoves.get(position).size();
-            } else {
-                fillPieceCount -= validMoves.get(position).size();
-                clearPieceCount += (validMoves.get(position).size() + 1);
-            }
-
-            playedPieces = validMoves.get(position);
-            playedPieces.add(toPlace);
             nextTurn();
             isPiecePlaced = true;
         }
@@ -219,108 +402,238 @@ public class GameBoard implements Writable {
         return isPiecePlaced;
     }
 
+    // REQUIRES: board is built and the current player has just played position
     // MODIFIES: this
-    // EFFECTS: Scans the entire board and adds any valid moves to validMoves
-    public void setValidMoves() {
-        // Clears validMoves for every new board state
-        validMoves = new HashMap<>();
-
-        for (GamePiece piece : board.values()) {
-            if (piece.getState().equals(turn)) {
-                cursor.setPosition(piece.getPosition());
-                checkAllDirections(turn);
+    // EFFECTS: Puts a new piece for the current player at position on board, and flips the pieces of board that the
+    //          move flipped, so that pieces callers hold from getBoard() change along with the game
+    private void placeOnMap(int position) {
+        board.put(position, new GamePiece(position, turn));
+        for (long flips = playedSquares & ~(1L << position); flips != 0; flips &= flips - 1) {
+            int square = Long.numberOfTrailingZeros(flips);
+            GamePiece piece = board.get(square);
+            if (piece == null) {
+                board.put(square, new GamePiece(square, turn));
+            } else {
+                piece.setState(turn);
             }
         }
     }
 
     // MODIFIES: this
-    // EFFECTS: Checks for valid moves in all directions, using the current player's pieces as anchor points.
-    private void checkAllDirections(State turn) {
-        for (int i = 1; i <= 8; i++) {
-            checkDirection(turn, i);
+    // EFFECTS: If valid, plays position for the current player on the bitboard and advances the game to the next
+    //          turn, recording the move on the undo stack. position may be PASS when the current player has no
+    //          valid moves; passing twice in a row ends the game. Does not rebuild getBoard() or getValidMoves()
+    //          until they are next asked for, so it allocates nothing. Returns true if successful, false otherwise.
+    public boolean makeMove(int position) {
+        if (isValidMove(position)) {
+            playMove(position, bits.getFlips(turn, position));
+            gameOverCounter = 0;
+        } else if (position == PASS && legalMoves == 0 && !isGameOver) {
+            pushUndo(PASS, 0L);
+            gameOverCounter++;
+            isGameOver = gameOverCounter == 2;
+        } else {
+            return false;
         }
+        switchTurn();
+        isMapStale = true;
+        validMoves = null;
+        return true;
     }
 
     // MODIFIES: this
-    // EFFECTS: Checks all pieces leading from cursor and adds any valid moves to validMoves. Resets the cursor
-    //          if it attempts to move illegally.
-    private void checkDirection(State turn, int direction) {
-        try {
-            Set<GamePiece> potentialFlips = new HashSet<>();
-            moveCursorDirection(direction);
-            GamePiece toCheck = board.get(cursor.getCurrent());
-
-            // The entry being checked must be of the opposite state
-            while (toCheck != null && !(toCheck.getState().equals(turn))) {
-                potentialFlips.add(toCheck);
-                moveCursorDirection(direction);
-                toCheck = board.get(cursor.getCurrent());
+    // EFFECTS: Takes back the last move played by makeMove or placePiece, restoring the board, turn, piece counters
+    //          and gameOverCounter as they were before it. Returns false if there is no move to take back.
+    public boolean unmakeMove() {
+        if (undoDepth == 0) {
+            return false;
+        }
+        undoDepth--;
+        long state = undoStates[undoDepth];
+        restoreUndoState(state);
+        int position = (byte) state;
+        if (position != PASS) {
+            bits.unplay(turn, position, undoFlips[undoDepth]);
+        }
+        legalMoves = undoLegalMoves[undoDepth];
+        waitingMoves = undoWaitingMoves[undoDepth];
+        hash = undoHashes[undoDepth];
+        playedSquares = 0L;
+        isMapStale = true;
+        validMoves = null;
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Records the move on the undo stack, then places a piece for the current player at position, flips
+    //          the pieces in flips and updates the valid moves and piece counters. Does not change the turn.
+    private void playMove(int position, long flips) {
+        pushUndo(position, flips);
+        bits.play(turn, position, flips);
+        hash ^= Zobrist.getKey(turn, position) ^ Zobrist.getFlipKey(flips);
+        playedSquares = flips | (1L << position);
+        if (isIncremental) {
+            legalMoves = bits.updateValidMoves(turn, legalMoves, playedSquares);
+            waitingMoves = bits.updateValidMoves(BitBoard.opposite(turn), waitingMoves, playedSquares);
+        }
+        updatePieceCounts(Long.bitCount(flips));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Pushes the current state of the game onto the undo stack along with the move about to be played,
+    //          growing the stack if it is full
+    private void pushUndo(int position, long flips) {
+        if (undoDepth == undoStates.length) {
+            int capacity = Math.max(UNDO_CAPACITY, 2 * undoStates.length);
+            undoFlips = Arrays.copyOf(undoFlips, capacity);
+            undoStates = Arrays.copyOf(undoStates, capacity);
+            undoLegalMoves = Arrays.copyOf(undoLegalMoves, capacity);
+            undoWaitingMoves = Arrays.copyOf(undoWaitingMoves, capacity);
+            undoHashes = Arrays.copyOf(undoHashes, capacity);
+        }
+        undoFlips[undoDepth] = flips;
+        undoStates[undoDepth] = packUndoState(position);
+        undoLegalMoves[undoDepth] = legalMoves;
+        undoWaitingMoves[undoDepth] = waitingMoves;
+        undoHashes[undoDepth] = hash;
+        undoDepth++;
+    }
+
+    // EFFECTS: Packs position, the turn, gameOverCounter, isGameOver and both piece counters into one long. Bits
+    //          0-7 hold position, bit 8 the turn, bits 9-15 gameOverCounter, bit 16 isGameOver, bits 32-47 the
+    //          fill piece counter and bits 48-63 the clear piece counter.
+    private long packUndoState(int position) {
+        long state = position & 0xffL;
+        state |= (turn.equals(FILL) ? 0L : 1L) << 8;
+        state |= (gameOverCounter & 0x7fL) << 9;
+        state |= (isGameOver ? 1L : 0L) << 16;
+        state |= (fillPieceCount & 0xffffL) << 32;
+        state |= (clearPieceCount & 0xffffL) << 48;
+        return state;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Restores the turn, gameOverCounter, isGameOver and piece counters from a state made by packUndoState
+    private void restoreUndoState(long state) {
+        turn = ((state >>> 8) & 1L) == 0 ? FILL : CLEAR;
+        gameOverCounter = (int) ((state >>> 9) & 0x7fL);
+        isGameOver = ((state >>> 16) & 1L) != 0;
+        fillPieceCount = (short) (state >>> 32);
+        clearPieceCount = (short) (state >>> 48);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Builds board from the bitboard if it has never been built, or if makeMove, unmakeMove or setPieces has
+    //          changed the position since it was last built
+    private void syncMaps() {
+        if (board == null) {
+            board = new HashMap<>(MAP_CAPACITY);
+            isMapStale = true;
+        }
+        if (isMapStale) {
+            isMapStale = false;
+            board.clear();
+            for (long pieces = ~bits.getEmpty(); pieces != 0; pieces &= pieces - 1) {
+                int position = Long.numberOfTrailingZeros(pieces);
+                board.put(position, new GamePiece(position, bits.getState(position)));
             }
+        }
+    }
+
+    // EFFECTS: Returns true if board has been built and is in sync with the bitboard, apart from any pieces put
+    //          into it directly
+    private boolean isMapBuilt() {
+        return board != null && !isMapStale;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Updates the fill and clear piece counters after the current player places a piece that flips
+    //          flipCount pieces
+    private void updatePieceCounts(int flipCount) {
+        if (turn.equals(FILL)) {
+            fillPieceCount += (flipCount + 1);
+            clearPieceCount -= flipCount;
+        } else {
+            fillPieceCount -= flipCount;
+            clearPieceCount += (flipCount + 1);
+        }
+    }
+
+    // EFFECTS: Returns true if the current player can place a piece at position
+    public boolean isValidMove(int position) {
+        return 0 <= position && position < BOARD_SIZE && (legalMoves & (1L << position)) != 0;
+    }
 
-            // The entry being checked must hold an empty piece, and there are opposing pieces that would be flipped
-            // if a piece is placed at that entry
-            if (toCheck == null && !(potentialFlips.isEmpty())) {
-                if (validMoves.containsKey(cursor.getCurrent())) {
-                    // Adds the potential flips to the corresponding key if it already exists in validMoves
-                    validMoves.get(cursor.getCurrent()).addAll(potentialFlips);
-                } else {
-                    // Adds a key-value pair to validMoves if the key does not already exist
-                    validMoves.put(cursor.getCurrent(), potentialFlips);
-                }
+    // MODIFIES: this
+    // EFFECTS: Scans the entire board and finds the valid moves of the current player. Pieces put directly into the map
+    //          returned by getBoard() only take part in the game once this is called.
+    public void setValidMoves() {
+        if (isMapBuilt()) {
+            bits.reset();
+            for (GamePiece piece : board.values()) {
+                bits.setState(piece.getPosition(), piece.getState());
             }
-            // Resets the cursor for the next iteration of checkDirections
-            cursor.reset();
-        } catch (IllegalCursorException e) {
-            cursor.reset();
         }
+        findValidMoves();
     }
 
+    // REQUIRES: fill & clear == 0
     // MODIFIES: this
-    // EFFECTS: Calls the appropriate cursor movement method based on dir (1 calls moveCursorRight, moving
-    //          clockwise, such that 8 will call moveCursorUpperRight).
-    private void moveCursorDirection(int dir) throws IllegalCursorException {
-        switch (dir) {
-            case 1:
-                cursor.moveCursorRight();
-                break;
-            case 2:
-                cursor.moveCursorDown();
-                break;
-            case 3:
-                cursor.moveCursorLeft();
-                break;
-            case 4:
-                cursor.moveCursorUp();
-                break;
-            default:
-                moveCursorDirectionDiagonal(dir);
+    // EFFECTS: Replaces every piece on the board with fill pieces on the squares in fill and clear pieces on the
+    //          squares in clear, then finds the valid moves of the current player as setValidMoves does. The piece
+    //          counters are left as they are.
+    public void setPieces(long fill, long clear) {
+        bits.setPieces(fill, clear);
+        isMapStale = true;
+        findValidMoves();
+    }
 
+    // MODIFIES: this
+    // EFFECTS: Clears the undo stack, then recomputes the hash and the valid moves from the bitboard and publishes
+    //          the result
+    private void findValidMoves() {
+        undoDepth = 0;
+        hash = Zobrist.hash(bits.getFill(), bits.getClear(), turn);
+        legalMoves = bits.getValidMoves(turn);
+        if (isIncremental) {
+            waitingMoves = bits.getValidMoves(BitBoard.opposite(turn));
         }
+        validMoves = null;
+        publish();
     }
 
     // MODIFIES: this
-    // EFFECTS: Calls the appropriate cursor movement method based on dir (only called on diagonal
-    //          directions) - will only be called for dir = 5 to dir = 8.
-    private void moveCursorDirectionDiagonal(int dir) throws IllegalCursorException {
-        switch (dir) {
-            case 5:
-                cursor.moveCursorLowerRight();
-                break;
-            case 6:
-                cursor.moveCursorLowerLeft();
-                break;
-            case 7:
-                cursor.moveCursorUpperRight();
-                break;
-            default:
-                cursor.moveCursorUpperLeft();
+    // EFFECTS: Publishes a snapshot of the game as it is now, for getPosition to return. Called by every public method
+    //          that changes the game apart from makeMove and unmakeMove, which never allocate.
+    public void publish() {
+        position = new Position(bits.getFill(), bits.getClear(), turn, legalMoves, hash, fillPieceCount,
+                clearPieceCount, gameOverCounter, isGameOver);
+    }
+
+    // EFFECTS: Returns an unmodifiable map from the valid moves of the current turn held in legalMoves to the pieces
+    //          each would flip. These are the pieces of board if it is built, and the shared pieces from GamePiece.of
+    //          otherwise, so that asking for the valid moves never builds board.
+    private Map<Integer, Set<GamePiece>> buildValidMoveMap() {
+        boolean isBuilt = isMapBuilt();
+        Map<Integer, Set<GamePiece>> moveMap = new HashMap<>();
+        for (long moves = legalMoves; moves != 0; moves &= moves - 1) {
+            int position = Long.numberOfTrailingZeros(moves);
+            Set<GamePiece> potentialFlips = new HashSet<>();
+            for (long flips = bits.getFlips(turn, position); flips != 0; flips &= flips - 1) {
+                int square = Long.numberOfTrailingZeros(flips);
+                GamePiece piece = isBuilt ? board.get(square) : null;
+                potentialFlips.add(piece != null ? piece : GamePiece.of(square, bits.getState(square)));
+            }
+            moveMap.put(position, Collections.unmodifiableSet(potentialFlips));
         }
+        return Collections.unmodifiableMap(moveMap);
     }
 
     // EFFECTS: Returns this as a JSON Object
     @Override
     public JSONObject toJson() {
         JSONObject json = new JSONObject();
+        json.put("size", SIDE_LENGTH);
         json.put("turn", turn);
         json.put("clearPieceCount", clearPieceCount);
         json.put("fillPieceCount", fillPieceCount);
@@ -329,14 +642,20 @@ public class GameBoard implements Writable {
         return json;
     }
 
-    // EFFECTS: Returns this.board as a JSON Array
+    // EFFECTS: Returns the pieces on the board as a JSON Array: those of board if it is built, since it may hold
+    //          pieces put there directly, and otherwise the shared pieces for the bitboard, without building board
     private JSONArray piecesToJson() {
         JSONArray jsonArray = new JSONArray();
-
-        for (GamePiece piece : board.values()) {
-            jsonArray.put(piece.toJson());
+        if (isMapBuilt()) {
+            for (GamePiece piece : board.values()) {
+                jsonArray.put(piece.toJson());
+            }
+        } else {
+            for (long pieces = ~bits.getEmpty(); pieces != 0; pieces &= pieces - 1) {
+                int square = Long.numberOfTrailingZeros(pieces);
+                jsonArray.put(GamePiece.of(square, bits.getState(square)).toJson());
+            }
         }
-
         return jsonArray;
     }
 }
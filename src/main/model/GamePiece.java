@@ -3,17 +3,44 @@ package model;
 import org.json.JSONObject;
 import persistence.Writable;
 
+import static model.GameBoard.BOARD_SIZE;
 import static model.State.*;
 
-// Represents a game piece on the board
+// Represents a game piece on the board. Pieces made with the constructor, which are the ones GameBoard.getBoard()
+// holds, can be changed. The pieces returned by of() are shared by every caller and so cannot be; they are for code
+// that only reads pieces and would otherwise make a new one for every square.
 public class GamePiece implements Writable {
+    // The shared pieces, indexed by state and then position
+    private static final GamePiece[][] SHARED = new GamePiece[State.values().length][BOARD_SIZE];
+
+    static {
+        for (State state : State.values()) {
+            for (int position = 0; position < BOARD_SIZE; position++) {
+                SHARED[state.ordinal()][position] = new GamePiece(position, state, true);
+            }
+        }
+    }
+
     private State state;
     private final int position;
+    private final boolean isShared;
 
     // EFFECTS: Initializes a game piece with the given state and position
     public GamePiece(int position, State state) {
+        this(position, state, false);
+    }
+
+    // EFFECTS: Initializes a game piece with the given state and position, which can only be changed if not shared
+    private GamePiece(int position, State state, boolean isShared) {
         this.position = position;
         this.state = state;
+        this.isShared = isShared;
+    }
+
+    // REQUIRES: 0 <= position < BOARD_SIZE
+    // EFFECTS: Returns the shared, unchangeable piece with the given state and position
+    public static GamePiece of(int position, State state) {
+        return SHARED[state.ordinal()][position];
     }
 
     // getters:
@@ -25,14 +52,23 @@ public class GamePiece implements Writable {
         return this.state;
     }
 
+    public boolean isShared() {
+        return isShared;
+    }
+
     // setters:
+    // MODIFIES: this
+    // EFFECTS: Sets the piece's state. Throws UnsupportedOperationException if the piece is shared.
     public void setState(State state) {
+        checkNotShared();
         this.state = state;
     }
 
     // MODIFIES: this
-    // EFFECTS: Changes the piece's state from FILL to CLEAR or vice versa.
+    // EFFECTS: Changes the piece's state from FILL to CLEAR or vice versa. Throws UnsupportedOperationException if
+    //          the piece is shared.
     public void flip() {
+        checkNotShared();
         if (state.equals(FILL)) {
             state = CLEAR;
         } else {
@@ -40,6 +76,13 @@ public class GamePiece implements Writable {
         }
     }
 
+    // EFFECTS: Throws UnsupportedOperationException if this piece is shared
+    private void checkNotShared() {
+        if (isShared) {
+            throw new UnsupportedOperationException("Shared pieces cannot be changed");
+        }
+    }
+
     // EFFECTS: Returns this as a JSON object
     @Override
     public JSONObject toJson() {
@@ -0,0 +1,230 @@
+package model;
+
+import java.util.Arrays;
+
+// Represents the shape of a square board with an even side length from MIN_SIDE to MAX_SIDE, for VariantBoard.
+// Squares are numbered as in GameBoard, from 0 in the upper left corner, left to right and top to bottom. A set of
+// squares is kept as getWords() longs, square i being bit i % 64 of word i / 64, so boards of up to 8x8 fit in one
+// long and can use the single-word methods, while larger boards use the multi-word ones. Both move whole sets of
+// squares at once with shifts and masks, like BitBoard does for GameBoard.
+public final class Geometry {
+    public static final int MIN_SIDE = 4;
+    public static final int MAX_SIDE = 16;
+    public static final int DIRECTIONS = BitBoard.DIRECTIONS;
+    // Row and column steps for each direction, in the same order as BitBoard: right, down, left, up, lower right,
+    // lower left, upper right and upper left
+    private static final int[] ROW_STEPS = {0, 1, 0, -1, 1, 1, -1, -1};
+    private static final int[] COLUMN_STEPS = {1, 0, -1, 0, 1, -1, 1, -1};
+    private static final Geometry[] GEOMETRIES = new Geometry[MAX_SIDE + 1];
+
+    static {
+        for (int side = MIN_SIDE; side <= MAX_SIDE; side += 2) {
+            GEOMETRIES[side] = new Geometry(side);
+        }
+    }
+
+    private final int side;
+    private final int size;
+    private final int words;
+    // How far a shift in each direction moves a square's index
+    private final int[] shifts;
+    // For each direction, the squares that a shift in that direction can land on without leaving the board or
+    // wrapping onto another row
+    private final long[][] masks;
+    private final long[] squares;
+
+    // EFFECTS: Creates the geometry of a board with the given side length
+    private Geometry(int side) {
+        this.side = side;
+        size = side * side;
+        words = (size + Long.SIZE - 1) / Long.SIZE;
+        shifts = new int[DIRECTIONS];
+        masks = new long[DIRECTIONS][words];
+        squares = new long[words];
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+            shifts[dir] = ROW_STEPS[dir] * side + COLUMN_STEPS[dir];
+            for (int square = 0; square < size; square++) {
+                if (isOnBoard(square / side + ROW_STEPS[dir], square % side + COLUMN_STEPS[dir])) {
+                    set(masks[dir], square + shifts[dir]);
+                }
+            }
+        }
+        for (int square = 0; square < size; square++) {
+            set(squares, square);
+        }
+    }
+
+    // EFFECTS: Returns the geometry of a board with the given side length. Throws IllegalArgumentException if side
+    //          is odd or outside MIN_SIDE to MAX_SIDE.
+    public static Geometry of(int side) {
+        if (side < MIN_SIDE || side > MAX_SIDE || side % 2 != 0) {
+            throw new IllegalArgumentException("Unsupported side length " + side);
+        }
+        return GEOMETRIES[side];
+    }
+
+    // getters
+    public int getSide() {
+        return side;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getWords() {
+        return words;
+    }
+
+    // EFFECTS: Returns the square at row and column, counting from 0
+    public int getSquare(int row, int column) {
+        return row * side + column;
+    }
+
+    // EFFECTS: Returns the four squares in the middle of the board, in the order of GameBoard's Q1 to Q4. Q1 and Q3
+    //          start with fill pieces and Q2 and Q4 with clear ones.
+    public int[] getStartSquares() {
+        int margin = side / 2 - 1;
+        return new int[]{getSquare(margin, margin + 1), getSquare(margin, margin),
+                getSquare(margin + 1, margin), getSquare(margin + 1, margin + 1)};
+    }
+
+    // EFFECTS: Returns true if row and column are both within the board
+    public boolean isOnBoard(int row, int column) {
+        return 0 <= row && row < side && 0 <= column && column < side;
+    }
+
+    // EFFECTS: Returns true if square is set in the words of set
+    public static boolean contains(long[] set, int square) {
+        return (set[square >>> 6] & (1L << square)) != 0;
+    }
+
+    // MODIFIES: set
+    // EFFECTS: Adds square to the words of set
+    public static void set(long[] set, int square) {
+        set[square >>> 6] |= 1L << square;
+    }
+
+    // MODIFIES: set
+    // EFFECTS: Removes square from the words of set
+    public static void unset(long[] set, int square) {
+        set[square >>> 6] &= ~(1L << square);
+    }
+
+    // REQUIRES: getWords() == 1, 0 <= dir < DIRECTIONS
+    // EFFECTS: Moves every square in pieces one square in direction dir, dropping any that leave the board
+    public long shift(long pieces, int dir) {
+        int amount = shifts[dir];
+        long shifted = amount > 0 ? pieces << amount : pieces >>> -amount;
+        return shifted & masks[dir][0];
+    }
+
+    // REQUIRES: pieces and result have getWords() words and are different arrays, 0 <= dir < DIRECTIONS
+    // MODIFIES: result
+    // EFFECTS: Sets result to every square in pieces moved one square in direction dir, dropping any that leave the
+    //          board. Bits carried out of one word are carried into the next.
+    public void shift(long[] pieces, int dir, long[] result) {
+        int amount = shifts[dir];
+        for (int i = 0; i < words; i++) {
+            long shifted;
+            if (amount > 0) {
+                shifted = (pieces[i] << amount) | (i > 0 ? pieces[i - 1] >>> (Long.SIZE - amount) : 0L);
+            } else {
+                shifted = (pieces[i] >>> -amount) | (i + 1 < words ? pieces[i + 1] << (Long.SIZE + amount) : 0L);
+            }
+            result[i] = shifted & masks[dir][i];
+        }
+    }
+
+    // REQUIRES: getWords() == 1, own & opp == 0
+    // EFFECTS: Returns the squares where own can place a piece and flip at least one of opp's pieces. Each direction
+    //          grows a run of opposing pieces out from own's pieces; a run can hold at most getSide() - 2 pieces.
+    public long generateMoves(long own, long opp) {
+        long empty = ~(own | opp) & squares[0];
+        long moves = 0L;
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+            long run = shift(own, dir) & opp;
+            for (int i = 0; i < side - 3; i++) {
+                run |= shift(run, dir) & opp;
+            }
+            moves |= shift(run, dir) & empty;
+        }
+        return moves;
+    }
+
+    // REQUIRES: every array has getWords() words, and own and opp share no squares
+    // MODIFIES: moves, run, shifted
+    // EFFECTS: Sets moves to the squares where own can place a piece, as generateMoves(long, long) does for one
+    //          word, using run and shifted as working space. A direction is dropped as soon as its run stops
+    //          growing, which on a large board is usually long before it could reach across.
+    public void generateMoves(long[] own, long[] opp, long[] moves, long[] run, long[] shifted) {
+        Arrays.fill(moves, 0L);
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+            Arrays.fill(run, 0L);
+            shift(own, dir, shifted);
+            for (int step = 0; step < side - 2 && grow(run, shifted, opp); step++) {
+                shift(run, dir, shifted);
+            }
+            shift(run, dir, shifted);
+            for (int i = 0; i < words; i++) {
+                moves[i] |= shifted[i] & ~(own[i] | opp[i]) & squares[i];
+            }
+        }
+    }
+
+    // MODIFIES: run
+    // EFFECTS: Adds the squares of opp in shifted to run, and returns true if that added any
+    private boolean grow(long[] run, long[] shifted, long[] opp) {
+        long added = 0L;
+        for (int i = 0; i < words; i++) {
+            long next = shifted[i] & opp[i] & ~run[i];
+            run[i] |= next;
+            added |= next;
+        }
+        return added != 0;
+    }
+
+    // REQUIRES: own and opp have getWords() words and share no squares, and square is empty
+    // EFFECTS: Returns true if own placing a piece at square would flip any of opp's pieces, walking out from
+    //          square in each direction one square at a time
+    public boolean isValidMove(long[] own, long[] opp, int square) {
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+            if (walk(own, opp, square, dir, null)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // REQUIRES: own, opp and flips have getWords() words, own and opp share no squares, and square is empty
+    // MODIFIES: flips
+    // EFFECTS: Sets flips to opp's pieces that would be flipped if own placed a piece at square, walking out from
+    //          square in each direction one square at a time
+    public void generateFlips(long[] own, long[] opp, int square, long[] flips) {
+        Arrays.fill(flips, 0L);
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+            walk(own, opp, square, dir, flips);
+        }
+    }
+
+    // MODIFIES: flips
+    // EFFECTS: Walks from square in direction dir over a run of opp's pieces. If the run is not empty and ends at
+    //          one of own's pieces, adds it to flips unless flips is null, and returns true; otherwise returns false.
+    private boolean walk(long[] own, long[] opp, int square, int dir, long[] flips) {
+        int row = square / side + ROW_STEPS[dir];
+        int column = square % side + COLUMN_STEPS[dir];
+        int length = 0;
+        while (isOnBoard(row, column) && contains(opp, getSquare(row, column))) {
+            row += ROW_STEPS[dir];
+            column += COLUMN_STEPS[dir];
+            length++;
+        }
+        if (length == 0 || !isOnBoard(row, column) || !contains(own, getSquare(row, column))) {
+            return false;
+        }
+        for (int i = 1; flips != null && i <= length; i++) {
+            set(flips, square + i * shifts[dir]);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,56 @@
+package model;
+
+// Represents move generation with Kogge-Stone fills. Rather than growing a run of opposing pieces one square at a
+// time, each fill doubles the distance it shifts at every step, so a run of up to SIDE_LENGTH - 2 pieces is found
+// in three steps instead of six. Wrapping onto the next row is prevented by masking the opposing pieces a run may
+// cross, in the same order of directions as BitBoard, rather than every shifted result.
+final class KoggeStoneMoveGenerator implements MoveGenerator {
+    private static final int[] SHIFTS = {1, 8, -1, -8, 9, 7, -7, -9};
+    private static final long[] MASKS = {BitBoard.NOT_LEFT_COLUMN, -1L, BitBoard.NOT_RIGHT_COLUMN, -1L,
+            BitBoard.NOT_LEFT_COLUMN, BitBoard.NOT_RIGHT_COLUMN, BitBoard.NOT_LEFT_COLUMN, BitBoard.NOT_RIGHT_COLUMN};
+
+    @Override
+    public String getName() {
+        return "kogge-stone";
+    }
+
+    @Override
+    public long generateMoves(long own, long opp) {
+        long empty = ~(own | opp);
+        long moves = 0L;
+        for (int dir = 0; dir < BitBoard.DIRECTIONS; dir++) {
+            long run = fill(own, opp & MASKS[dir], SHIFTS[dir]) & opp;
+            moves |= shift(run, SHIFTS[dir]) & MASKS[dir];
+        }
+        return moves & empty;
+    }
+
+    @Override
+    public long generateFlips(long own, long opp, int position) {
+        long placed = 1L << position;
+        long flips = 0L;
+        for (int dir = 0; dir < BitBoard.DIRECTIONS; dir++) {
+            long run = fill(placed, opp & MASKS[dir], SHIFTS[dir]) & opp;
+            if ((shift(run | placed, SHIFTS[dir]) & MASKS[dir] & own) != 0) {
+                flips |= run;
+            }
+        }
+        return flips;
+    }
+
+    // REQUIRES: every square in propagators can be shifted onto by amount without wrapping onto another row
+    // EFFECTS: Returns generators along with every square reached from them by shifting by amount over an unbroken
+    //          run of squares in propagators, of up to 7 squares
+    private static long fill(long generators, long propagators, int amount) {
+        long filled = generators | (propagators & shift(generators, amount));
+        long crossed = propagators & shift(propagators, amount);
+        filled |= crossed & shift(filled, 2 * amount);
+        crossed &= shift(crossed, 2 * amount);
+        return filled | (crossed & shift(filled, 4 * amount));
+    }
+
+    // EFFECTS: Shifts pieces by amount, towards square 0 if amount is negative, without masking the result
+    private static long shift(long pieces, int amount) {
+        return amount > 0 ? pieces << amount : pieces >>> -amount;
+    }
+}
@@ -0,0 +1,125 @@
+package model;
+
+import static model.GameBoard.BOARD_SIZE;
+import static model.GameBoard.SIDE_LENGTH;
+
+// Represents move generation by table lookup. The pieces on the row, column and both diagonals through a square are
+// each gathered into an 8-bit line index, with a shift for rows and a multiplication for the others, and two small
+// tables give the pieces flipped along that line: OUTFLANKS gives the squares that would close off the runs of
+// opposing pieces next to the square, and FLIPPED the pieces between the square and those of own's that do.
+// Valid moves are the empty squares next to an opposing piece that flip anything.
+final class LineTableMoveGenerator implements MoveGenerator {
+    private static final long LEFT_COLUMN = 0x0101010101010101L;
+    // Gathers the left column, shifted into place, into the top byte with row r as bit r
+    private static final long COLUMN_GATHER = 0x0102040810204080L;
+    // Copies the low byte into every row, and gathers a line holding at most one square per column into the top byte
+    private static final long ROW_COPY = 0x0101010101010101L;
+    private static final byte[] OUTFLANKS = new byte[SIDE_LENGTH << 6];
+    private static final byte[] FLIPPED = new byte[SIDE_LENGTH << 8];
+    // The left column squares for each line index of a column
+    private static final long[] COLUMNS = new long[1 << SIDE_LENGTH];
+    private static final long[] DIAGONALS = new long[BOARD_SIZE];
+    private static final long[] ANTI_DIAGONALS = new long[BOARD_SIZE];
+
+    static {
+        for (int x = 0; x < SIDE_LENGTH; x++) {
+            for (int inner = 0; inner < 1 << 6; inner++) {
+                OUTFLANKS[(x << 6) | inner] = (byte) findOutflanks(x, inner << 1);
+            }
+            for (int outflanks = 0; outflanks < 1 << SIDE_LENGTH; outflanks++) {
+                FLIPPED[(x << 8) | outflanks] = (byte) findFlipped(x, outflanks);
+            }
+        }
+        for (int index = 0; index < COLUMNS.length; index++) {
+            for (int row = 0; row < SIDE_LENGTH; row++) {
+                COLUMNS[index] |= ((index >>> row) & 1L) << (row * SIDE_LENGTH);
+            }
+        }
+        for (int position = 0; position < BOARD_SIZE; position++) {
+            for (int square = 0; square < BOARD_SIZE; square++) {
+                int rows = square / SIDE_LENGTH - position / SIDE_LENGTH;
+                int columns = square % SIDE_LENGTH - position % SIDE_LENGTH;
+                DIAGONALS[position] |= rows == columns ? 1L << square : 0L;
+                ANTI_DIAGONALS[position] |= rows == -columns ? 1L << square : 0L;
+            }
+        }
+    }
+
+    // EFFECTS: Returns the squares of a line that would close off the runs of opposing pieces in opp on either side
+    //          of x, for a run of at least one piece
+    private static int findOutflanks(int x, int opp) {
+        int left = x - 1;
+        while (left >= 1 && (opp & (1 << left)) != 0) {
+            left--;
+        }
+        int right = x + 1;
+        while (right <= SIDE_LENGTH - 2 && (opp & (1 << right)) != 0) {
+            right++;
+        }
+        int outflanks = left >= 0 && left < x - 1 ? 1 << left : 0;
+        return outflanks | (right < SIDE_LENGTH && right > x + 1 ? 1 << right : 0);
+    }
+
+    // EFFECTS: Returns the squares of a line strictly between x and each square in outflanks
+    private static int findFlipped(int x, int outflanks) {
+        int flipped = 0;
+        for (int i = 0; i < SIDE_LENGTH; i++) {
+            if ((outflanks & (1 << i)) != 0) {
+                int low = Math.min(i, x) + 1;
+                int high = Math.max(i, x);
+                flipped |= (1 << high) - (1 << low);
+            }
+        }
+        return flipped;
+    }
+
+    @Override
+    public String getName() {
+        return "line-table";
+    }
+
+    @Override
+    public long generateMoves(long own, long opp) {
+        long moves = 0L;
+        long empty = ~(own | opp);
+        for (long candidates = BoardAnalysis.neighbours(opp) & empty; candidates != 0; candidates &= candidates - 1) {
+            int position = Long.numberOfTrailingZeros(candidates);
+            if (generateFlips(own, opp, position) != 0) {
+                moves |= 1L << position;
+            }
+        }
+        return moves;
+    }
+
+    @Override
+    public long generateFlips(long own, long opp, int position) {
+        int row = position / SIDE_LENGTH;
+        int column = position % SIDE_LENGTH;
+        int shift = row * SIDE_LENGTH;
+        long flips = (long) lineFlips(column, (int) (own >>> shift) & 0xff, (int) (opp >>> shift) & 0xff) << shift;
+        flips |= COLUMNS[lineFlips(row, gatherColumn(own, column), gatherColumn(opp, column))] << column;
+        long diagonal = DIAGONALS[position];
+        flips |= (lineFlips(column, gather(own & diagonal), gather(opp & diagonal)) * ROW_COPY) & diagonal;
+        long antiDiagonal = ANTI_DIAGONALS[position];
+        return flips | (lineFlips(column, gather(own & antiDiagonal), gather(opp & antiDiagonal)) * ROW_COPY)
+                & antiDiagonal;
+    }
+
+    // EFFECTS: Returns the line index of the pieces flipped along a line by placing a piece at x, given the line
+    //          indices of own's and opp's pieces on it
+    private static int lineFlips(int x, int own, int opp) {
+        int outflanks = OUTFLANKS[(x << 6) | ((opp >>> 1) & 0x3f)] & own;
+        return FLIPPED[(x << 8) | outflanks] & 0xff;
+    }
+
+    // EFFECTS: Returns the line index of the pieces in column, with row r as bit r
+    private static int gatherColumn(long pieces, int column) {
+        return (int) ((((pieces >>> column) & LEFT_COLUMN) * COLUMN_GATHER) >>> 56);
+    }
+
+    // REQUIRES: pieces holds at most one square in each column
+    // EFFECTS: Returns the line index of pieces, with the square in column c as bit c
+    private static int gather(long pieces) {
+        return (int) ((pieces * ROW_COPY) >>> 56);
+    }
+}
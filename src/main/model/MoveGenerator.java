@@ -0,0 +1,41 @@
+package model;
+
+// Represents a way of finding the valid moves and flips of a position on a bitboard. GameBoard plays every move
+// through the generator held by its BitBoard, so generators can be swapped and compared without changing the game.
+// Every generator must give exactly the same results as RAYS, and must be safe to use from several threads at once.
+// The generator boards start with is chosen by the othello.moveGenerator system property when this class is first
+// loaded, and is RAYS if the property is not set.
+public interface MoveGenerator {
+    String PROPERTY = "othello.moveGenerator";
+    // Grows runs of opposing pieces with one shift at a time, and walks the rays in Rays for flips
+    MoveGenerator RAYS = new RayMoveGenerator();
+    // Looks up the flips along each row, column and diagonal through a square in small tables
+    MoveGenerator LINE_TABLE = new LineTableMoveGenerator();
+    // Grows runs of opposing pieces with Kogge-Stone parallel prefix fills, doubling the shift at each step
+    MoveGenerator KOGGE_STONE = new KoggeStoneMoveGenerator();
+    MoveGenerator[] ALL = {RAYS, LINE_TABLE, KOGGE_STONE};
+    MoveGenerator DEFAULT = forName(System.getProperty(PROPERTY, RAYS.getName()));
+
+    // EFFECTS: Returns the name this generator is chosen by
+    String getName();
+
+    // REQUIRES: own & opp == 0
+    // EFFECTS: Returns the mask of empty squares that would flip at least one of opp's pieces if own placed a
+    //          piece there
+    long generateMoves(long own, long opp);
+
+    // REQUIRES: own & opp == 0, and position is an empty square on the board
+    // EFFECTS: Returns the mask of opp's pieces that would be flipped if own placed a piece at position
+    long generateFlips(long own, long opp, int position);
+
+    // EFFECTS: Returns the generator named name: "rays", "line-table" or "kogge-stone". Throws
+    //          IllegalArgumentException if there is none by that name.
+    static MoveGenerator forName(String name) {
+        for (MoveGenerator generator : ALL) {
+            if (generator.getName().equals(name)) {
+                return generator;
+            }
+        }
+        throw new IllegalArgumentException("Unknown move generator " + name);
+    }
+}
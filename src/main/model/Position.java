@@ -0,0 +1,120 @@
+package model;
+
+import java.util.Objects;
+
+import static model.GameBoard.BOARD_SIZE;
+import static model.State.*;
+
+// Represents an immutable snapshot of a game: the pieces of each side, whose turn it is, the valid moves of that
+// player, the piece counters and whether the game is over. A GameBoard publishes a new snapshot after every change
+// made through placePiece, nextTurn and its other public methods, so any number of threads can read the latest one
+// without locks while the game is being played. A snapshot holds only primitive fields and the turn, so making one
+// is cheap.
+public final class Position {
+    private final long fill;
+    private final long clear;
+    private final State turn;
+    private final long validMoves;
+    private final long hash;
+    private final int fillPieceCount;
+    private final int clearPieceCount;
+    private final int gameOverCounter;
+    private final boolean isGameOver;
+
+    // REQUIRES: fill & clear == 0
+    // EFFECTS: Creates a snapshot of a game with the given pieces, turn, valid moves for the player to move, Zobrist
+    //          hash, piece counters and game over state
+    public Position(long fill, long clear, State turn, long validMoves, long hash, int fillPieceCount,
+                    int clearPieceCount, int gameOverCounter, boolean isGameOver) {
+        this.fill = fill;
+        this.clear = clear;
+        this.turn = turn;
+        this.validMoves = validMoves;
+        this.hash = hash;
+        this.fillPieceCount = fillPieceCount;
+        this.clearPieceCount = clearPieceCount;
+        this.gameOverCounter = gameOverCounter;
+        this.isGameOver = isGameOver;
+    }
+
+    // getters
+    public long getFill() {
+        return fill;
+    }
+
+    public long getClear() {
+        return clear;
+    }
+
+    public State getTurn() {
+        return turn;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    public int getFillPieceCount() {
+        return fillPieceCount;
+    }
+
+    public int getClearPieceCount() {
+        return clearPieceCount;
+    }
+
+    public int getGameOverCounter() {
+        return gameOverCounter;
+    }
+
+    public boolean isGameOver() {
+        return isGameOver;
+    }
+
+    // EFFECTS: Returns the mask of all squares where the player to move can place a piece
+    public long getValidMoveMask() {
+        return validMoves;
+    }
+
+    // EFFECTS: Returns the mask of all pieces of the given state
+    public long getPieces(State state) {
+        return state == FILL ? fill : clear;
+    }
+
+    // EFFECTS: Returns the state of the piece at position, or null if the square is empty
+    public State getState(int position) {
+        long square = 1L << position;
+        if ((fill & square) != 0) {
+            return FILL;
+        }
+        return (clear & square) != 0 ? CLEAR : null;
+    }
+
+    // EFFECTS: Returns true if the player to move can place a piece at position
+    public boolean isValidMove(int position) {
+        return 0 <= position && position < BOARD_SIZE && (validMoves & (1L << position)) != 0;
+    }
+
+    // EFFECTS: Returns the number of empty squares
+    public int getEmptyCount() {
+        return Long.bitCount(~(fill | clear));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Position other = (Position) o;
+        return fill == other.fill && clear == other.clear && turn == other.turn && validMoves == other.validMoves
+                && fillPieceCount == other.fillPieceCount && clearPieceCount == other.clearPieceCount
+                && gameOverCounter == other.gameOverCounter && isGameOver == other.isGameOver;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fill, clear, turn, gameOverCounter, isGameOver);
+    }
+}
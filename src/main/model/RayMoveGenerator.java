@@ -0,0 +1,21 @@
+package model;
+
+// Represents the shift-and-ray move generation that took the place of GameBoard's old Cursor walk of the board:
+// BitBoard.generateMoves grows runs one shift at a time, and BitBoard.generateFlips walks out from the placed piece
+// along the rays in Rays
+final class RayMoveGenerator implements MoveGenerator {
+    @Override
+    public String getName() {
+        return "rays";
+    }
+
+    @Override
+    public long generateMoves(long own, long opp) {
+        return BitBoard.generateMoves(own, opp);
+    }
+
+    @Override
+    public long generateFlips(long own, long opp, int position) {
+        return BitBoard.generateFlips(own, opp, position);
+    }
+}
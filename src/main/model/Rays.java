@@ -0,0 +1,90 @@
+package model;
+
+import static model.BitBoard.DIRECTIONS;
+import static model.GameBoard.BOARD_SIZE;
+import static model.GameBoard.SIDE_LENGTH;
+
+// Precomputed tables describing the eight rays leading out of every square on the board. Walking a ray with these
+// tables never leaves the board, so unlike Cursor it has no need to throw an IllegalCursorException at the edges.
+// Directions follow the order used by BitBoard: right, down, left, up, lower right, lower left, upper right and
+// upper left.
+public class Rays {
+    public static final int RIGHT = 0;
+    public static final int DOWN = 1;
+    public static final int LEFT = 2;
+    public static final int UP = 3;
+    public static final int LOWER_RIGHT = 4;
+    public static final int LOWER_LEFT = 5;
+    public static final int UPPER_RIGHT = 6;
+    public static final int UPPER_LEFT = 7;
+    // Marks a square that has no neighbour in a given direction
+    public static final int NONE = -1;
+
+    private static final int[] ROW_STEPS = {0, 1, 0, -1, 1, 1, -1, -1};
+    private static final int[] COLUMN_STEPS = {1, 0, -1, 0, 1, -1, 1, -1};
+    private static final int[][] NEIGHBOURS = new int[DIRECTIONS][BOARD_SIZE];
+    private static final int[][] DISTANCES = new int[DIRECTIONS][BOARD_SIZE];
+    private static final long[] LINES = new long[BOARD_SIZE];
+
+    static {
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+            for (int position = 0; position < BOARD_SIZE; position++) {
+                fillTables(dir, position);
+            }
+        }
+    }
+
+    // MODIFIES: NEIGHBOURS, DISTANCES, LINES
+    // EFFECTS: Stores the neighbour of position in direction dir and the number of squares between position and
+    //          the edge of the board in that direction, and adds the squares of that ray to the line of position
+    private static void fillTables(int dir, int position) {
+        int row = position / SIDE_LENGTH + ROW_STEPS[dir];
+        int col = position % SIDE_LENGTH + COLUMN_STEPS[dir];
+        int distance = 0;
+        while (0 <= row && row < SIDE_LENGTH && 0 <= col && col < SIDE_LENGTH) {
+            distance++;
+            LINES[position] |= 1L << (row * SIDE_LENGTH + col);
+            row += ROW_STEPS[dir];
+            col += COLUMN_STEPS[dir];
+        }
+        DISTANCES[dir][position] = distance;
+        NEIGHBOURS[dir][position] = distance == 0 ? NONE : position + ROW_STEPS[dir] * SIDE_LENGTH + COLUMN_STEPS[dir];
+    }
+
+    // REQUIRES: 0 <= dir < DIRECTIONS and 0 <= position < BOARD_SIZE
+    // EFFECTS: Returns the square next to position in direction dir, or NONE if position is on that edge
+    public static int getNeighbour(int dir, int position) {
+        return NEIGHBOURS[dir][position];
+    }
+
+    // REQUIRES: 0 <= dir < DIRECTIONS and 0 <= position < BOARD_SIZE
+    // EFFECTS: Returns the number of squares between position and the edge of the board in direction dir
+    public static int getDistance(int dir, int position) {
+        return DISTANCES[dir][position];
+    }
+
+    // REQUIRES: 0 <= position < BOARD_SIZE
+    // EFFECTS: Returns the mask of every square that shares a row, column or diagonal with position, not including
+    //          position itself
+    public static long getLine(int position) {
+        return LINES[position];
+    }
+
+    // REQUIRES: 0 <= dir < DIRECTIONS and 0 <= position < BOARD_SIZE
+    // EFFECTS: Walks from position in direction dir over a run of opp's pieces. Returns the mask of that run if it
+    //          is closed off by one of own's pieces, or 0 if the run is empty, reaches an empty square or reaches
+    //          the edge of the board.
+    public static long walk(long own, long opp, int position, int dir) {
+        long line = 0L;
+        int square = position;
+        for (int steps = DISTANCES[dir][position]; steps > 0; steps--) {
+            square = NEIGHBOURS[dir][square];
+            long bit = 1L << square;
+            if ((opp & bit) == 0) {
+                return (own & bit) != 0 ? line : 0L;
+            }
+            line |= bit;
+        }
+        return 0L;
+    }
+}
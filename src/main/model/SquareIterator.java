@@ -0,0 +1,39 @@
+package model;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// Iterates over the squares in a mask, such as GameBoard.getValidMoveMask(), from lowest to highest, as primitive
+// ints. Nothing is boxed or allocated while iterating, and one iterator can be reused for another mask with reset.
+public class SquareIterator implements PrimitiveIterator.OfInt {
+    private long remaining;
+
+    // EFFECTS: Creates an iterator over the squares in mask
+    public SquareIterator(long mask) {
+        remaining = mask;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Starts iterating over the squares in mask instead, and returns this
+    public SquareIterator reset(long mask) {
+        remaining = mask;
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return remaining != 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Returns the lowest square not yet returned. Throws NoSuchElementException if there are none left.
+    @Override
+    public int nextInt() {
+        if (remaining == 0) {
+            throw new NoSuchElementException();
+        }
+        int square = Long.numberOfTrailingZeros(remaining);
+        remaining &= remaining - 1;
+        return square;
+    }
+}
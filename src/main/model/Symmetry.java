@@ -0,0 +1,141 @@
+package model;
+
+import static model.GameBoard.PASS;
+import static model.GameBoard.SIDE_LENGTH;
+import static model.State.*;
+
+// The eight symmetries of the board: four rotations, each with or without a mirror. A symmetry is numbered 0 to 7 by
+// three bits, applied in this order: bit 2 transposes the board (swapping rows and columns), bit 1 flips it top to
+// bottom and bit 0 flips it left to right. Symmetry 0 leaves the board unchanged.
+// Positions that are symmetric to each other share one canonical form: the variant whose fill mask, and then clear
+// mask, is smallest. Caches and books can store the canonical form once, along with its best move, and use
+// fromCanonical to turn that move back into a move on the original board.
+public class Symmetry {
+    public static final int IDENTITY = 0;
+    public static final int SYMMETRIES = 8;
+    public static final int MIRROR = 1;
+    public static final int FLIP = 2;
+    public static final int TRANSPOSE = 4;
+
+    private static final int[] INVERSES = new int[SYMMETRIES];
+
+    static {
+        // Square 1 is moved to a different square by every symmetry but the identity
+        for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) {
+            for (int inverse = 0; inverse < SYMMETRIES; inverse++) {
+                if (transformSquare(transformSquare(1, symmetry), inverse) == 1) {
+                    INVERSES[symmetry] = inverse;
+                }
+            }
+        }
+    }
+
+    // EFFECTS: Returns the mask of pieces mirrored left to right
+    public static long mirror(long pieces) {
+        long x = ((pieces >>> 1) & 0x5555555555555555L) | ((pieces & 0x5555555555555555L) << 1);
+        x = ((x >>> 2) & 0x3333333333333333L) | ((x & 0x3333333333333333L) << 2);
+        return ((x >>> 4) & 0x0f0f0f0f0f0f0f0fL) | ((x & 0x0f0f0f0f0f0f0f0fL) << 4);
+    }
+
+    // EFFECTS: Returns the mask of pieces flipped top to bottom
+    public static long flip(long pieces) {
+        return Long.reverseBytes(pieces);
+    }
+
+    // EFFECTS: Returns the mask of pieces with rows and columns swapped, so the piece in row r and column c moves
+    //          to row c and column r
+    public static long transpose(long pieces) {
+        long x = pieces;
+        long t = 0x0f0f0f0f00000000L & (x ^ (x << 28));
+        x ^= t ^ (t >>> 28);
+        t = 0x3333000033330000L & (x ^ (x << 14));
+        x ^= t ^ (t >>> 14);
+        t = 0x5500550055005500L & (x ^ (x << 7));
+        return x ^ t ^ (t >>> 7);
+    }
+
+    // REQUIRES: 0 <= symmetry < SYMMETRIES
+    // EFFECTS: Returns the mask of pieces moved by symmetry
+    public static long transform(long pieces, int symmetry) {
+        long x = (symmetry & TRANSPOSE) != 0 ? transpose(pieces) : pieces;
+        x = (symmetry & FLIP) != 0 ? flip(x) : x;
+        return (symmetry & MIRROR) != 0 ? mirror(x) : x;
+    }
+
+    // REQUIRES: 0 <= symmetry < SYMMETRIES, and square is PASS or 0 <= square < BOARD_SIZE
+    // EFFECTS: Returns the square that symmetry moves square to. PASS is left as it is.
+    public static int transformSquare(int square, int symmetry) {
+        if (square == PASS) {
+            return PASS;
+        }
+        int row = square / SIDE_LENGTH;
+        int col = square % SIDE_LENGTH;
+        if ((symmetry & TRANSPOSE) != 0) {
+            int swap = row;
+            row = col;
+            col = swap;
+        }
+        row = (symmetry & FLIP) != 0 ? SIDE_LENGTH - 1 - row : row;
+        col = (symmetry & MIRROR) != 0 ? SIDE_LENGTH - 1 - col : col;
+        return row * SIDE_LENGTH + col;
+    }
+
+    // REQUIRES: 0 <= symmetry < SYMMETRIES
+    // EFFECTS: Returns the symmetry that undoes symmetry
+    public static int inverse(int symmetry) {
+        return INVERSES[symmetry];
+    }
+
+    // EFFECTS: Returns the symmetry that takes the position with the given masks to its canonical form
+    public static int getCanonicalSymmetry(long fill, long clear) {
+        int best = IDENTITY;
+        long bestFill = fill;
+        long bestClear = clear;
+        for (int symmetry = 1; symmetry < SYMMETRIES; symmetry++) {
+            long nextFill = transform(fill, symmetry);
+            int order = Long.compareUnsigned(nextFill, bestFill);
+            if (order < 0 || (order == 0 && Long.compareUnsigned(transform(clear, symmetry), bestClear) < 0)) {
+                best = symmetry;
+                bestFill = nextFill;
+                bestClear = transform(clear, symmetry);
+            }
+        }
+        return best;
+    }
+
+    // EFFECTS: Returns the symmetry that takes game to its canonical form
+    public static int getCanonicalSymmetry(GameBoard game) {
+        return getCanonicalSymmetry(game.getPieces(FILL), game.getPieces(CLEAR));
+    }
+
+    // EFFECTS: Returns the Zobrist hash of the canonical form of game, which all eight variants of game share
+    public static long canonicalHash(GameBoard game) {
+        int symmetry = getCanonicalSymmetry(game);
+        return Zobrist.hash(transform(game.getPieces(FILL), symmetry), transform(game.getPieces(CLEAR), symmetry),
+                game.getTurn());
+    }
+
+    // REQUIRES: 0 <= symmetry < SYMMETRIES
+    // EFFECTS: Returns a new board holding game moved by symmetry, with the same turn, piece counts and
+    //          gameOverCounter. game itself is left unchanged.
+    public static GameBoard transform(GameBoard game, int symmetry) {
+        GameBoard result = new GameBoard(game.getTurn(), game.getClearPieceCount(), game.getFillPieceCount(),
+                game.getGameOverCounter());
+        result.setPieces(transform(game.getPieces(FILL), symmetry), transform(game.getPieces(CLEAR), symmetry));
+        return result;
+    }
+
+    // REQUIRES: 0 <= symmetry < SYMMETRIES, and move is PASS or a square
+    // EFFECTS: Returns the move on the canonical form that matches move on the original board, where symmetry is
+    //          the canonical symmetry of the original board
+    public static int toCanonical(int move, int symmetry) {
+        return transformSquare(move, symmetry);
+    }
+
+    // REQUIRES: 0 <= symmetry < SYMMETRIES, and move is PASS or a square
+    // EFFECTS: Returns the move on the original board that matches move on the canonical form, where symmetry is
+    //          the canonical symmetry of the original board
+    public static int fromCanonical(int move, int symmetry) {
+        return transformSquare(move, inverse(symmetry));
+    }
+}
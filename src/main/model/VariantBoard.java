@@ -0,0 +1,298 @@
+package model;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import persistence.Writable;
+
+import java.util.Arrays;
+
+import static model.State.*;
+
+// Represents a game of Othello on a square board of any even side length from Geometry.MIN_SIDE to
+// Geometry.MAX_SIDE, such as 6x6, 10x10 or 12x12, with the same rules, turn order and game over counting as
+// GameBoard. The pieces and valid moves are kept as packed words laid out by the board's Geometry. Boards of up to
+// 8x8 fit in a single long, and their moves are found with single-word shifts; larger boards use multi-word shifts.
+// Nothing is allocated once the board has been made. GameBoard remains the board that the computer players and the
+// GUI use; this one is for trying the rules on other sizes.
+public class VariantBoard implements Writable {
+    private final Geometry geometry;
+    private final long[] fill;
+    private final long[] clear;
+    private final long[] validMoves;
+    // Working space for move generation and flips
+    private final long[] run;
+    private final long[] shifted;
+    private final long[] flips;
+    private State turn;
+    private int fillPieceCount;
+    private int clearPieceCount;
+    private int gameOverCounter;
+    private boolean isGameOver;
+
+    // EFFECTS: Constructs a new game on a board with the given side length in the starting configuration (fill goes
+    //          first). Throws IllegalArgumentException if side is not a supported side length.
+    public VariantBoard(int side) {
+        this(side, FILL, 0);
+        int[] start = geometry.getStartSquares();
+        Geometry.set(fill, start[0]);
+        Geometry.set(clear, start[1]);
+        Geometry.set(fill, start[2]);
+        Geometry.set(clear, start[3]);
+        setValidMoves();
+    }
+
+    // EFFECTS: Constructs an empty board with the given side length, turn and gameOverCounter, for pieces to be added
+    //          to with setState. Throws IllegalArgumentException if side is not a supported side length.
+    public VariantBoard(int side, State turn, int gameOverCount) {
+        geometry = Geometry.of(side);
+        int words = geometry.getWords();
+        fill = new long[words];
+        clear = new long[words];
+        validMoves = new long[words];
+        run = new long[words];
+        shifted = new long[words];
+        flips = new long[words];
+        this.turn = turn;
+        gameOverCounter = gameOverCount;
+    }
+
+    // EFFECTS: Constructs a copy of other that can be played without affecting other
+    public VariantBoard(VariantBoard other) {
+        this(other.geometry.getSide(), other.turn, other.gameOverCounter);
+        System.arraycopy(other.fill, 0, fill, 0, fill.length);
+        System.arraycopy(other.clear, 0, clear, 0, clear.length);
+        System.arraycopy(other.validMoves, 0, validMoves, 0, validMoves.length);
+        fillPieceCount = other.fillPieceCount;
+        clearPieceCount = other.clearPieceCount;
+        isGameOver = other.isGameOver;
+    }
+
+    // getters
+    public Geometry getGeometry() {
+        return geometry;
+    }
+
+    public int getSideLength() {
+        return geometry.getSide();
+    }
+
+    public State getTurn() {
+        return turn;
+    }
+
+    public int getFillPieceCount() {
+        return fillPieceCount;
+    }
+
+    public int getClearPieceCount() {
+        return clearPieceCount;
+    }
+
+    public int getGameOverCounter() {
+        return gameOverCounter;
+    }
+
+    public boolean isGameOver() {
+        return isGameOver;
+    }
+
+    // REQUIRES: 0 <= word < getGeometry().getWords()
+    // EFFECTS: Returns the given word of the mask of all pieces of the given state
+    public long getPieces(State state, int word) {
+        return state.equals(FILL) ? fill[word] : clear[word];
+    }
+
+    // REQUIRES: 0 <= word < getGeometry().getWords()
+    // EFFECTS: Returns the given word of the mask of all squares where the current player can place a piece
+    public long getValidMoves(int word) {
+        return validMoves[word];
+    }
+
+    // EFFECTS: Returns the state of the piece at square, or null if the square is empty or off the board
+    public State getState(int square) {
+        if (!isOnBoard(square)) {
+            return null;
+        } else if (Geometry.contains(fill, square)) {
+            return FILL;
+        }
+        return Geometry.contains(clear, square) ? CLEAR : null;
+    }
+
+    // EFFECTS: Returns true if the current player can place a piece at square
+    public boolean isValidMove(int square) {
+        return isOnBoard(square) && Geometry.contains(validMoves, square);
+    }
+
+    // EFFECTS: Returns the number of squares where the current player can place a piece
+    public int getValidMoveCount() {
+        int count = 0;
+        for (long word : validMoves) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // EFFECTS: Returns the lowest square at or after from where the current player can place a piece, or -1 if there
+    //          is none, so that the valid moves can be visited without allocating
+    public int nextValidMove(int from) {
+        for (int word = Math.max(0, from) >>> 6; word < validMoves.length; word++) {
+            long remaining = validMoves[word] & (word == from >>> 6 && from > 0 ? -1L << from : -1L);
+            if (remaining != 0) {
+                return word * Long.SIZE + Long.numberOfTrailingZeros(remaining);
+            }
+        }
+        return -1;
+    }
+
+    // REQUIRES: 0 <= square < getGeometry().getSize()
+    // MODIFIES: this
+    // EFFECTS: Puts a piece of the given state at square, replacing any piece there. The piece only takes part in
+    //          the game once setValidMoves is called.
+    public void setState(int square, State state) {
+        Geometry.set(state.equals(FILL) ? fill : clear, square);
+        Geometry.unset(state.equals(FILL) ? clear : fill, square);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Counts the pieces of each state and finds the valid moves of the current player
+    public void setValidMoves() {
+        fillPieceCount = 0;
+        clearPieceCount = 0;
+        for (int word = 0; word < fill.length; word++) {
+            fillPieceCount += Long.bitCount(fill[word]);
+            clearPieceCount += Long.bitCount(clear[word]);
+        }
+        findValidMoves();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Finds the valid moves of the current player, with a single word when the board fits in one
+    private void findValidMoves() {
+        long[] own = turn.equals(FILL) ? fill : clear;
+        long[] opp = turn.equals(FILL) ? clear : fill;
+        if (validMoves.length == 1) {
+            validMoves[0] = geometry.generateMoves(own[0], opp[0]);
+        } else {
+            geometry.generateMoves(own, opp, validMoves, run, shifted);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: If valid, places a piece for the current player at square, flips other pieces as needed and updates
+    //          the piece counters, then advances the game to the next turn. Returns true if successful, false
+    //          otherwise.
+    public boolean placePiece(int square) {
+        if (!isValidMove(square)) {
+            return false;
+        }
+        long[] own = turn.equals(FILL) ? fill : clear;
+        long[] opp = turn.equals(FILL) ? clear : fill;
+        geometry.generateFlips(own, opp, square, flips);
+        int flipCount = 0;
+        for (int word = 0; word < flips.length; word++) {
+            own[word] |= flips[word];
+            opp[word] &= ~flips[word];
+            flipCount += Long.bitCount(flips[word]);
+        }
+        Geometry.set(own, square);
+        fillPieceCount += turn.equals(FILL) ? flipCount + 1 : -flipCount;
+        clearPieceCount += turn.equals(FILL) ? -flipCount : flipCount + 1;
+        nextTurn();
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Advances the game to the next player's turn and finds their valid moves
+    public void nextTurn() {
+        turn = BitBoard.opposite(turn);
+        findValidMoves();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Updates the state of the board and checks if the game is over, as GameBoard.update does
+    public void update() {
+        if (!checkAnyValidMoves()) {
+            checkGameOver();
+            if (gameOverCounter == 1) {
+                update();
+            }
+        } else {
+            gameOverCounter = 0;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: If no valid moves can be made, increments gameOverCounter by 1, advances the game to the next turn
+    //          and returns false. Does nothing and returns true if there are valid moves.
+    public boolean checkAnyValidMoves() {
+        if (nextValidMove(0) >= 0) {
+            return true;
+        }
+        gameOverCounter++;
+        nextTurn();
+        return false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Ends the game if two consecutive turns have no valid moves.
+    public void checkGameOver() {
+        if (gameOverCounter == 2) {
+            isGameOver = true;
+        }
+    }
+
+    // EFFECTS: Returns the winner of the match, or null if it is a tie.
+    public String declareVictor() {
+        String victor = null;
+        if (clearPieceCount > fillPieceCount) {
+            victor = "clear";
+        } else if (fillPieceCount > clearPieceCount) {
+            victor = "fill";
+        }
+        return victor;
+    }
+
+    // EFFECTS: Returns true if square is on the board
+    private boolean isOnBoard(int square) {
+        return 0 <= square && square < geometry.getSize();
+    }
+
+    // EFFECTS: Returns this as a JSON Object, in the same format as GameBoard's with the board's side length as size
+    @Override
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        json.put("size", geometry.getSide());
+        json.put("turn", turn);
+        json.put("clearPieceCount", clearPieceCount);
+        json.put("fillPieceCount", fillPieceCount);
+        json.put("gameOverCount", gameOverCounter);
+        JSONArray pieces = new JSONArray();
+        for (int square = 0; square < geometry.getSize(); square++) {
+            State state = getState(square);
+            if (state != null) {
+                pieces.put(new GamePiece(square, state).toJson());
+            }
+        }
+        json.put("pieces", pieces);
+        return json;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        VariantBoard other = (VariantBoard) o;
+        return geometry == other.geometry && turn == other.turn && gameOverCounter == other.gameOverCounter
+                && isGameOver == other.isGameOver && Arrays.equals(fill, other.fill)
+                && Arrays.equals(clear, other.clear);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(fill) + Arrays.hashCode(clear);
+    }
+}
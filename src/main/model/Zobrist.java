@@ -0,0 +1,57 @@
+package model;
+
+import java.util.Random;
+
+import static model.GameBoard.BOARD_SIZE;
+import static model.State.*;
+
+// Random keys for Zobrist hashing of game positions. A position's hash is the XOR of the key of every piece on the
+// board, together with TURN_KEY when it is clear's turn. Placing, flipping or removing a piece, or passing the turn,
+// changes the hash by a single XOR, so GameBoard can keep its hash up to date as the game is played.
+public class Zobrist {
+    public static final long TURN_KEY;
+
+    // Fixed seed so that hashes stay the same between runs and can be stored
+    private static final long SEED = 0x5deece66dL;
+    private static final long[] FILL_KEYS = new long[BOARD_SIZE];
+    private static final long[] CLEAR_KEYS = new long[BOARD_SIZE];
+    private static final long[] FLIP_KEYS = new long[BOARD_SIZE];
+
+    static {
+        Random random = new Random(SEED);
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            FILL_KEYS[i] = random.nextLong();
+            CLEAR_KEYS[i] = random.nextLong();
+            FLIP_KEYS[i] = FILL_KEYS[i] ^ CLEAR_KEYS[i];
+        }
+        TURN_KEY = random.nextLong();
+    }
+
+    // REQUIRES: 0 <= position < BOARD_SIZE
+    // EFFECTS: Returns the key of a piece of the given state at position
+    public static long getKey(State state, int position) {
+        return state.equals(FILL) ? FILL_KEYS[position] : CLEAR_KEYS[position];
+    }
+
+    // EFFECTS: Returns the change in hash from flipping every piece in flips
+    public static long getFlipKey(long flips) {
+        long key = 0L;
+        for (long squares = flips; squares != 0; squares &= squares - 1) {
+            key ^= FLIP_KEYS[Long.numberOfTrailingZeros(squares)];
+        }
+        return key;
+    }
+
+    // EFFECTS: Computes the hash of a position from scratch, given the masks of fill's and clear's pieces and the
+    //          player whose turn it is
+    public static long hash(long fill, long clear, State turn) {
+        long hash = turn.equals(CLEAR) ? TURN_KEY : 0L;
+        for (long squares = fill; squares != 0; squares &= squares - 1) {
+            hash ^= FILL_KEYS[Long.numberOfTrailingZeros(squares)];
+        }
+        for (long squares = clear; squares != 0; squares &= squares - 1) {
+            hash ^= CLEAR_KEYS[Long.numberOfTrailingZeros(squares)];
+        }
+        return hash;
+    }
+}
@@ -1,8 +1,8 @@
 package persistence;
 
 import model.GameBoard;
-import model.GamePiece;
 import model.State;
+import model.VariantBoard;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -12,7 +12,8 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.stream.Stream;
 
-// Represents a reader that reads GameBoard from JSON data stored in file
+// Represents a reader that reads GameBoard, or a VariantBoard of any size, from JSON data stored in file. Saves made
+// before boards recorded their size are read as SIDE_LENGTH by SIDE_LENGTH boards.
 // Largely taken from JsonSerializationDemo at https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo
 public class JsonReader {
     private String source;
@@ -33,13 +34,42 @@ public class JsonReader {
     }
 
     // EFFECTS: Reads a game board from file and returns it.
-    //          Throws IOException if an error comes up while processing
+    //          Throws IOException if an error comes up while processing, or if the file holds a board of another size
     public GameBoard read() throws IOException {
         String jsonData = readFile(source);
         JSONObject jsonObject = new JSONObject(jsonData);
+        int size = jsonObject.optInt("size", GameBoard.SIDE_LENGTH);
+        if (size != GameBoard.SIDE_LENGTH) {
+            throw new IOException("Cannot play a saved " + size + "x" + size + " board");
+        }
         return parseGameBoard(jsonObject);
     }
 
+    // EFFECTS: Reads a board of any size from file and returns it, with its piece counters and valid moves found
+    //          from the loaded pieces. Throws IOException if an error comes up while processing, or if the size is
+    //          not supported or a piece lies off the board.
+    public VariantBoard readVariant() throws IOException {
+        JSONObject jsonObject = new JSONObject(readFile(source));
+        int size = jsonObject.optInt("size", GameBoard.SIDE_LENGTH);
+        VariantBoard board;
+        try {
+            board = new VariantBoard(size, State.valueOf(jsonObject.getString("turn")),
+                    jsonObject.getInt("gameOverCount"));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage());
+        }
+        for (Object json : jsonObject.getJSONArray("pieces")) {
+            JSONObject piece = (JSONObject) json;
+            int position = piece.getInt("position");
+            if (position < 0 || position >= size * size) {
+                throw new IOException("Piece at " + position + " is off the board");
+            }
+            board.setState(position, State.valueOf(piece.getString("state")));
+        }
+        board.setValidMoves();
+        return board;
+    }
+
     // EFFECTS: Reads source file as a string and return sit
     private String readFile(String source) throws IOException {
         StringBuilder content = new StringBuilder();
@@ -51,7 +81,8 @@ public class JsonReader {
         return content.toString();
     }
 
-    // EFFECTS: parses a game board from JSON object and returns it
+    // EFFECTS: parses a game board from JSON object and returns it with its valid moves and hash built from the
+    //          loaded pieces
     private GameBoard parseGameBoard(JSONObject jsonObject) {
         State turn = State.valueOf(jsonObject.getString("turn"));
         int clearPieceCount = jsonObject.getInt("clearPieceCount");
@@ -63,21 +94,22 @@ public class JsonReader {
     }
 
     // MODIFIES: gb
-    // EFFECTS: parses game pieces from JSON object and adds them to the game board
+    // EFFECTS: parses game pieces from JSON object and puts them on the game board's bitboard, then finds its valid
+    //          moves and hash. A square listed twice keeps the last piece listed for it.
     private void addGamePieces(GameBoard gb, JSONObject jsonObject) {
-        JSONArray jsonArray = jsonObject.getJSONArray("pieces");
-        for (Object json : jsonArray) {
+        long fill = 0L;
+        long clear = 0L;
+        for (Object json : jsonObject.getJSONArray("pieces")) {
             JSONObject nextPiece = (JSONObject) json;
-            addGamePiece(gb, nextPiece);
+            long square = 1L << nextPiece.getInt("position");
+            if (State.valueOf(nextPiece.getString("state")).equals(State.FILL)) {
+                fill |= square;
+                clear &= ~square;
+            } else {
+                clear |= square;
+                fill &= ~square;
+            }
         }
-    }
-
-    // MODIFIES: gb
-    // EFFECTS: Parses a game piece from JSON object and adds it to the game board
-    private void addGamePiece(GameBoard gb, JSONObject jsonObject) {
-        int position = jsonObject.getInt("position");
-        State state = State.valueOf(jsonObject.getString("state"));
-        GamePiece piece = new GamePiece(position, state);
-        gb.getBoard().put(position, piece);
+        gb.setPieces(fill, clear);
     }
 }
@@ -1,12 +1,13 @@
 package persistence;
 
 import model.GameBoard;
+import model.VariantBoard;
 import org.json.JSONObject;
 
 import java.io.FileNotFoundException;
 import java.io.PrintWriter;
 
-// Represents a writer that saves a game board to file
+// Represents a writer that saves a game board, of any size, to file
 // Largely taken from JsonSerializationDemo at https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo
 public class JsonWriter {
     private static final int TAB = 4;
@@ -42,6 +43,13 @@ public class JsonWriter {
         saveToFile(json.toString(TAB));
     }
 
+    // MODIFIES: this
+    // EFFECTS: writes JSON representation of a board of any size to file
+    public void write(VariantBoard board) {
+        JSONObject json = board.toJson();
+        saveToFile(json.toString(TAB));
+    }
+
     // MODIFIES: this
     // EFFECTS: closes writer
     public void close() {
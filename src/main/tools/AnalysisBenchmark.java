@@ -0,0 +1,71 @@
+package tools;
+
+import model.BitBoard;
+import model.BoardAnalysis;
+import model.GameBoard;
+
+// Measures how many of each BoardAnalysis query can be answered per second.
+// Usage: AnalysisBenchmark [positions] [rounds]
+// Every round runs each query on the same reproducible random positions, spread over the whole game, for the player
+// to move. The first round warms up the JIT and is not counted.
+public class AnalysisBenchmark {
+    public static final int DEFAULT_POSITIONS = 10000;
+    public static final int DEFAULT_ROUNDS = 20;
+    public static final String[] NAMES = {"mobility", "potential mobility", "frontier", "parity", "odd regions",
+            "stable"};
+
+    // Represents one query, reduced to a number so that its work cannot be optimized away
+    private interface Query {
+        long run(long own, long opp);
+    }
+
+    private static final Query[] QUERIES = {
+            BoardAnalysis::mobility,
+            BoardAnalysis::potentialMobility,
+            (own, opp) -> Long.bitCount(BoardAnalysis.frontier(own, opp)),
+            (own, opp) -> Long.bitCount(~(own | opp)) & 1,
+            (own, opp) -> BoardAnalysis.oddRegionCount(~(own | opp)),
+            (own, opp) -> Long.bitCount(BoardAnalysis.stable(own, opp))};
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_POSITIONS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        long[] own = new long[count];
+        long[] opp = new long[count];
+        for (int i = 0; i < count; i++) {
+            GameBoard position = Positions.randomPosition(i, i % (GameBoard.BOARD_SIZE - 4));
+            own[i] = position.getPieces(position.getTurn());
+            opp[i] = position.getPieces(BitBoard.opposite(position.getTurn()));
+        }
+        time(own, opp, rounds);
+    }
+
+    // EFFECTS: Runs every query on every position rounds times, after one round of warm up, and prints the rate and
+    //          average time of each
+    private static void time(long[] own, long[] opp, int rounds) {
+        long[] elapsed = new long[QUERIES.length];
+        long checksum = 0;
+        for (int round = 0; round <= rounds; round++) {
+            for (int q = 0; q < QUERIES.length; q++) {
+                long start = System.nanoTime();
+                checksum += run(QUERIES[q], own, opp);
+                elapsed[q] += round == 0 ? 0 : System.nanoTime() - start;
+            }
+        }
+        long queries = (long) own.length * rounds;
+        for (int q = 0; q < QUERIES.length; q++) {
+            System.out.printf("%-20s %,14d queries/s %8.1f ns/query%n", NAMES[q],
+                    queries * 1000000000L / Math.max(1, elapsed[q]), (double) elapsed[q] / queries);
+        }
+        System.out.println("checksum " + checksum);
+    }
+
+    // EFFECTS: Runs query on every position and returns the sum of the results
+    private static long run(Query query, long[] own, long[] opp) {
+        long sum = 0;
+        for (int i = 0; i < own.length; i++) {
+            sum += query.run(own[i], opp[i]);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,73 @@
+package tools;
+
+import engine.OpeningBook;
+import engine.Search;
+import engine.SearchResult;
+import engine.SquareEvaluator;
+import model.GameBoard;
+import model.Symmetry;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Builds an opening book by searching every position reachable from the starting position within a number of plies
+// to a fixed depth, and writes it in the format read by OpeningBook.
+// Usage: BookBuilder [plies] [depth] [output file]
+public class BookBuilder {
+    public static final int DEFAULT_PLIES = 8;
+    public static final int DEFAULT_DEPTH = 8;
+    // Long enough that no search is cut short
+    private static final long TIME_LIMIT = 3600000;
+
+    public static void main(String[] args) throws IOException {
+        int plies = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PLIES;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DEPTH;
+        String path = args.length > 2 ? args[2] : OpeningBook.DEFAULT_BOOK;
+
+        List<GameBoard> positions = collectPositions(plies);
+        long[] hashes = new long[positions.size()];
+        int[] moves = new int[positions.size()];
+        int[] scores = new int[positions.size()];
+        Search search = new Search(new SquareEvaluator());
+        long start = System.nanoTime();
+        for (int i = 0; i < positions.size(); i++) {
+            SearchResult result = search.findBestMove(positions.get(i), depth, TIME_LIMIT);
+            int symmetry = Symmetry.getCanonicalSymmetry(positions.get(i));
+            hashes[i] = Symmetry.canonicalHash(positions.get(i));
+            moves[i] = Symmetry.toCanonical(result.getBestMove(), symmetry);
+            scores[i] = result.getScore();
+        }
+        OpeningBook.write(path, hashes, moves, scores);
+        System.out.printf("Wrote %d positions searched to depth %d to %s in %d s%n",
+                positions.size(), depth, path, (System.nanoTime() - start) / 1000000000L);
+    }
+
+    // EFFECTS: Returns every position with at least one valid move that can be reached from the starting position in
+    //          fewer than plies moves, keeping only one of each set of symmetric positions
+    public static List<GameBoard> collectPositions(int plies) {
+        List<GameBoard> positions = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        List<GameBoard> frontier = new ArrayList<>();
+        frontier.add(new GameBoard());
+        for (int ply = 0; ply < plies; ply++) {
+            List<GameBoard> next = new ArrayList<>();
+            for (GameBoard position : frontier) {
+                long validMoves = position.getValidMoveMask();
+                if (validMoves == 0 || !seen.add(Symmetry.canonicalHash(position))) {
+                    continue;
+                }
+                positions.add(position);
+                for (long moveMask = validMoves; moveMask != 0; moveMask &= moveMask - 1) {
+                    GameBoard child = new GameBoard(position);
+                    child.makeMove(Long.numberOfTrailingZeros(moveMask));
+                    next.add(child);
+                }
+            }
+            frontier = next;
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,53 @@
+package tools;
+
+import engine.EndgameSolver;
+import engine.SearchResult;
+import model.GameBoard;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+// Measures how long EndgameSolver takes to solve a set of endgame positions.
+// Usage: EndgameBenchmark [positions.obf] or EndgameBenchmark [empties] [count]
+// A file in the .obf format, such as the FFO endgame test suite, is solved one line at a time. Without a file, count
+// reproducible random positions with the given number of empty squares are solved instead.
+public class EndgameBenchmark {
+    public static final int DEFAULT_EMPTIES = 16;
+    public static final int DEFAULT_COUNT = 10;
+
+    public static void main(String[] args) throws IOException {
+        List<GameBoard> positions = new ArrayList<>();
+        if (args.length > 0 && !args[0].matches("\\d+")) {
+            for (String line : Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+                if (!line.trim().isEmpty() && !line.startsWith("%")) {
+                    positions.add(Positions.fromObf(line));
+                }
+            }
+        } else {
+            int empties = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_EMPTIES;
+            int count = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_COUNT;
+            for (int i = 0; i < count; i++) {
+                positions.add(Positions.randomPosition(i, GameBoard.BOARD_SIZE - 4 - empties));
+            }
+        }
+        run(new EndgameSolver(), positions);
+    }
+
+    // EFFECTS: Solves every position, printing each result and then the totals
+    private static void run(EndgameSolver solver, List<GameBoard> positions) {
+        long nodes = 0;
+        long elapsed = 0;
+        for (int i = 0; i < positions.size(); i++) {
+            SearchResult result = solver.solve(positions.get(i));
+            nodes += result.getNodes();
+            elapsed += result.getElapsedNanos();
+            System.out.printf("#%-3d %s%n", i + 1, result);
+        }
+        System.out.printf("%d positions: %d ms, %d nodes, %d nodes/s%n",
+                positions.size(), elapsed / 1000000, nodes, nodes * 1000000000L / Math.max(1, elapsed));
+    }
+}
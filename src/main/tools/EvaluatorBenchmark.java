@@ -0,0 +1,58 @@
+package tools;
+
+import engine.Evaluator;
+import engine.PatternEvaluator;
+import engine.SquareEvaluator;
+import model.GameBoard;
+
+// Measures how many positions per second each evaluator scores.
+// Usage: EvaluatorBenchmark [positions] [rounds] [seed file]
+// Every round evaluates the same reproducible random positions, spread over the whole game, once with each
+// evaluator. The first round warms up the JIT and is not counted. Given a seed file, first writes the weights of
+// PatternEvaluator.fromSquareWeights() there, in the format PatternEvaluator.load reads.
+public class EvaluatorBenchmark {
+    public static final int DEFAULT_POSITIONS = 10000;
+    public static final int DEFAULT_ROUNDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_POSITIONS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        if (args.length > 2) {
+            PatternEvaluator.fromSquareWeights().write(args[2]);
+            System.out.println("Wrote seed weights to " + args[2]);
+        }
+        GameBoard[] positions = new GameBoard[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = Positions.randomPosition(i, i % (GameBoard.BOARD_SIZE - 4));
+        }
+        time(new Evaluator[]{new SquareEvaluator(), PatternEvaluator.getDefault()}, positions, rounds);
+    }
+
+    // EFFECTS: Evaluates positions with every evaluator rounds times, after one round of warm up, and prints the
+    //          rate of each
+    private static void time(Evaluator[] evaluators, GameBoard[] positions, int rounds) {
+        long[] elapsed = new long[evaluators.length];
+        long checksum = 0;
+        for (int round = 0; round <= rounds; round++) {
+            for (int e = 0; e < evaluators.length; e++) {
+                long start = System.nanoTime();
+                checksum += run(evaluators[e], positions);
+                elapsed[e] += round == 0 ? 0 : System.nanoTime() - start;
+            }
+        }
+        for (int e = 0; e < evaluators.length; e++) {
+            System.out.printf("%-20s %,d evaluations/s%n", evaluators[e].getClass().getSimpleName(),
+                    (long) positions.length * rounds * 1000000000L / Math.max(1, elapsed[e]));
+        }
+        System.out.println("checksum " + checksum);
+    }
+
+    // EFFECTS: Evaluates every position and returns the sum of the scores, so the work cannot be optimized away
+    private static long run(Evaluator evaluator, GameBoard[] positions) {
+        long sum = 0;
+        for (GameBoard position : positions) {
+            sum += evaluator.evaluate(position);
+        }
+        return sum;
+    }
+}
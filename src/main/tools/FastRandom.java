@@ -0,0 +1,45 @@
+package tools;
+
+// Represents a small, fast random number generator (xorshift64*) meant to be owned by one thread and reseeded
+// instead of replaced, so drawing numbers never allocates. Not safe to share between threads.
+public class FastRandom {
+    private long state;
+
+    // EFFECTS: Creates a generator seeded with seed
+    public FastRandom(long seed) {
+        setSeed(seed);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Restarts the generator from seed. Every seed, including 0, gives a different, valid sequence.
+    public void setSeed(long seed) {
+        state = mix(seed);
+        if (state == 0) {
+            state = 0x9e3779b97f4a7c15L;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Returns the next 64 random bits
+    public long nextLong() {
+        state ^= state >>> 12;
+        state ^= state << 25;
+        state ^= state >>> 27;
+        return state * 0x2545f4914f6cdd1dL;
+    }
+
+    // REQUIRES: bound > 0
+    // MODIFIES: this
+    // EFFECTS: Returns a random number from 0 up to but not including bound
+    public int nextInt(int bound) {
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    // EFFECTS: Returns value scrambled by the SplitMix64 finalizer, so that nearby values give unrelated results
+    public static long mix(long value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
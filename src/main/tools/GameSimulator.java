@@ -0,0 +1,125 @@
+package tools;
+
+import model.BitBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Plays large batches of games between two move policies, for statistics and load tests. Games are played on a pair
+// of bitboards instead of a GameBoard, so a move allocates nothing. A batch is shared out between threads, each
+// with one FastRandom that is reseeded for every game from the batch seed and the game's number. The totals for a
+// seed are therefore the same whatever the number of threads.
+// Usage: GameSimulator [games] [seed] [threads] [fill policy] [clear policy], where the policies are "random" or
+// "greedy"
+public class GameSimulator {
+    public static final int DEFAULT_GAMES = 1000000;
+    public static final long DEFAULT_SEED = 1;
+    // Games are dealt out to the threads in turn, in blocks of this many
+    public static final int BLOCK_GAMES = 4096;
+    private static final long START_FILL = 0x810000000L;
+    private static final long START_CLEAR = 0x1008000000L;
+
+    private MovePolicy fillPolicy;
+    private MovePolicy clearPolicy;
+    private int threads;
+
+    // REQUIRES: threads >= 1
+    // EFFECTS: Creates a simulator in which fill plays by fillPolicy and clear by clearPolicy, sharing batches
+    //          between the given number of threads
+    public GameSimulator(MovePolicy fillPolicy, MovePolicy clearPolicy, int threads) {
+        this.fillPolicy = fillPolicy;
+        this.clearPolicy = clearPolicy;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SEED;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        MovePolicy fill = MovePolicy.forName(args.length > 3 ? args[3] : "random");
+        MovePolicy clear = MovePolicy.forName(args.length > 4 ? args[4] : "random");
+        GameSimulator simulator = new GameSimulator(fill, clear, threads);
+        // A first, shorter batch lets the JIT compile the game loop before it is timed
+        simulator.run(seed, Math.min(games, BLOCK_GAMES * threads));
+        SimulationResult result = simulator.run(seed, games);
+        System.out.printf("Seed %d on %d threads: %s, checksum %016x%n", seed, threads, result,
+                result.getChecksum());
+    }
+
+    // getters
+    public int getThreads() {
+        return threads;
+    }
+
+    // REQUIRES: games >= 0
+    // EFFECTS: Plays games games, numbered from 0, the i-th seeded with seed and i, and returns their totals
+    public SimulationResult run(long seed, int games) throws Exception {
+        long start = System.nanoTime();
+        SimulationResult total = new SimulationResult();
+        if (threads == 1) {
+            total.add(playGames(seed, 0, games, 1, games));
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<SimulationResult>> shares = new ArrayList<>();
+                for (int thread = 0; thread < threads; thread++) {
+                    int first = thread * BLOCK_GAMES;
+                    shares.add(executor.submit(() -> playGames(seed, first, BLOCK_GAMES, threads, games)));
+                }
+                for (Future<SimulationResult> share : shares) {
+                    total.add(share.get());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+        total.setElapsedNanos(System.nanoTime() - start);
+        return total;
+    }
+
+    // EFFECTS: Plays the games in blocks of blockGames starting at first, then every step blocks on from there, up
+    //          to but not including game number last, with one generator, and returns their totals
+    private SimulationResult playGames(long seed, int first, int blockGames, int step, int last) {
+        FastRandom random = new FastRandom(seed);
+        SimulationResult result = new SimulationResult();
+        for (int block = first; block < last; block += blockGames * step) {
+            for (int game = block; game < Math.min(last, block + blockGames); game++) {
+                random.setSeed(FastRandom.mix(seed) ^ game);
+                playGame(random, result);
+            }
+        }
+        return result;
+    }
+
+    // MODIFIES: random, result
+    // EFFECTS: Plays one game from the starting position with moves chosen by the policies from random, and adds it
+    //          to result. Every move adds one piece to the four the game starts with, which is how moves are counted.
+    public void playGame(FastRandom random, SimulationResult result) {
+        long mover = START_FILL;
+        long other = START_CLEAR;
+        boolean isFillToMove = true;
+        int passes = 0;
+        long moves = BitBoard.generateMoves(mover, other);
+        while (moves != 0 || BitBoard.generateMoves(other, mover) != 0) {
+            if (moves != 0) {
+                MovePolicy policy = isFillToMove ? fillPolicy : clearPolicy;
+                int square = policy.chooseMove(mover, other, moves, random);
+                long flips = BitBoard.generateFlips(mover, other, square);
+                mover |= flips | 1L << square;
+                other &= ~flips;
+            } else {
+                passes++;
+            }
+            long swap = mover;
+            mover = other;
+            other = swap;
+            isFillToMove = !isFillToMove;
+            moves = BitBoard.generateMoves(mover, other);
+        }
+        result.addGame(Long.bitCount(mover | other) - 4, passes, isFillToMove ? mover : other,
+                isFillToMove ? other : mover);
+    }
+}
@@ -0,0 +1,172 @@
+package tools;
+
+import engine.Search;
+import engine.SearchResult;
+import engine.SquareEvaluator;
+import engine.TranspositionTable;
+import model.GameBoard;
+
+import static model.GameBoard.PASS;
+import static model.State.*;
+
+// Plays a match between two searches, to measure what a change to the search is worth in games rather than nodes.
+// Every opening, reached by OPENING_PLIES random moves, is played twice with the sides swapped, and each move is
+// searched to a fixed depth or for a fixed time, whichever runs out first. Results are from the first search's
+// point of view.
+// Usage: Match [openings] [depth] [time per move in ms]
+// As a tool, plays a selective (Multi-ProbCut) search against a full-width one with SquareEvaluator, the evaluator
+// the parameters at ProbCut.DEFAULT_PARAMETERS are fitted for.
+public class Match {
+    public static final int DEFAULT_OPENINGS = 20;
+    public static final int DEFAULT_DEPTH = 8;
+    public static final long DEFAULT_TIME_LIMIT = 3600000;
+    public static final int OPENING_PLIES = 8;
+    private static final int TABLE_MEGABYTES = 16;
+
+    private Search first;
+    private Search second;
+    private int depth;
+    private long timeLimit;
+    private int wins;
+    private int draws;
+    private int losses;
+    // Indexed by 0 for the first search and 1 for the second
+    private long[] nodes = new long[2];
+    private long[] depths = new long[2];
+    private long[] elapsed = new long[2];
+    private int[] moves = new int[2];
+
+    // REQUIRES: depth >= 1
+    // EFFECTS: Creates a match between first and second that searches every move to depth or for timeLimit
+    //          milliseconds, whichever runs out first
+    public Match(Search first, Search second, int depth, long timeLimit) {
+        this.first = first;
+        this.second = second;
+        this.depth = depth;
+        this.timeLimit = timeLimit;
+    }
+
+    public static void main(String[] args) {
+        int openings = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_OPENINGS;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DEPTH;
+        long timeLimit = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_TIME_LIMIT;
+        Search selective = new Search(new SquareEvaluator(), 1, new TranspositionTable(TABLE_MEGABYTES));
+        selective.setSelective(true);
+        Search fullWidth = new Search(new SquareEvaluator(), 1, new TranspositionTable(TABLE_MEGABYTES));
+        Match match = new Match(selective, fullWidth, depth, timeLimit);
+        match.play(openings);
+        System.out.printf("Selective vs full width, %d games: +%d =%d -%d, %.1f +/- %.1f Elo%n",
+                match.getGames(), match.getWins(), match.getDraws(), match.getLosses(), match.getElo(),
+                match.getEloMargin());
+        String[] names = {"selective", "full width"};
+        for (int i = 0; i < 2; i++) {
+            System.out.printf("%-10s %10.0f nodes/move %5.2f depth/move %6.1f ms/move%n", names[i],
+                    match.getNodesPerMove(i), match.getDepthPerMove(i), match.getMillisPerMove(i));
+        }
+    }
+
+    // getters
+    public int getWins() {
+        return wins;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public int getGames() {
+        return wins + draws + losses;
+    }
+
+    // EFFECTS: Returns the average nodes searched per move by the first (player 0) or second (player 1) search
+    public double getNodesPerMove(int player) {
+        return (double) nodes[player] / Math.max(1, moves[player]);
+    }
+
+    // EFFECTS: Returns the average depth reached per move by the first (player 0) or second (player 1) search
+    public double getDepthPerMove(int player) {
+        return (double) depths[player] / Math.max(1, moves[player]);
+    }
+
+    // EFFECTS: Returns the average time per move, in milliseconds, of the first (player 0) or second (player 1)
+    //          search
+    public double getMillisPerMove(int player) {
+        return elapsed[player] / 1e6 / Math.max(1, moves[player]);
+    }
+
+    // EFFECTS: Returns the share of the points the first search scored, counting draws as half a point, or 0.5 if no
+    //          games have been played
+    public double getScore() {
+        return getGames() == 0 ? 0.5 : (wins + 0.5 * draws) / getGames();
+    }
+
+    // EFFECTS: Returns the Elo difference between the searches the score implies, positive if the first is stronger
+    public double getElo() {
+        return toElo(getScore());
+    }
+
+    // EFFECTS: Returns the half-width of the 95% confidence interval of getElo
+    public double getEloMargin() {
+        int games = getGames();
+        if (games == 0) {
+            return 0;
+        }
+        double score = getScore();
+        double variance = (wins + 0.25 * draws) / games - score * score;
+        double error = 1.96 * Math.sqrt(Math.max(0, variance) / games);
+        return (toElo(score + error) - toElo(score - error)) / 2;
+    }
+
+    // EFFECTS: Returns the Elo difference implied by score, a share of the points kept away from 0 and 1
+    public static double toElo(double score) {
+        double bounded = Math.min(0.999, Math.max(0.001, score));
+        return -400 * Math.log10(1 / bounded - 1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Plays every opening from 0 up to but not including openings twice, with the sides swapped, and adds
+    //          the results to the totals
+    public void play(int openings) {
+        for (int opening = 0; opening < openings; opening++) {
+            GameBoard start = Positions.randomPosition(opening, OPENING_PLIES);
+            addResult(playGame(new GameBoard(start), true));
+            addResult(-playGame(new GameBoard(start), false));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Counts a game the first search won by difference pieces, or lost or drew if it is negative or zero
+    private void addResult(int difference) {
+        if (difference > 0) {
+            wins++;
+        } else if (difference < 0) {
+            losses++;
+        } else {
+            draws++;
+        }
+    }
+
+    // MODIFIES: this, board
+    // EFFECTS: Plays board to the end, with the first search playing fill if isFirstFill and clear otherwise, and
+    //          returns the final piece difference for fill
+    private int playGame(GameBoard board, boolean isFirstFill) {
+        while (!Search.isFinished(board)) {
+            if (board.getValidMoveMask() == 0) {
+                board.makeMove(PASS);
+                continue;
+            }
+            int player = (board.getTurn() == FILL) == isFirstFill ? 0 : 1;
+            SearchResult result = (player == 0 ? first : second).findBestMove(board, depth, timeLimit);
+            nodes[player] += result.getNodes();
+            depths[player] += result.getDepth();
+            elapsed[player] += result.getElapsedNanos();
+            moves[player]++;
+            board.makeMove(result.getBestMove());
+        }
+        return Long.bitCount(board.getPieces(FILL)) - Long.bitCount(board.getPieces(CLEAR));
+    }
+}
@@ -0,0 +1,51 @@
+package tools;
+
+import engine.MctsPlayer;
+import engine.MctsTree;
+import engine.SearchResult;
+import model.GameBoard;
+import model.State;
+
+// Measures how many playouts per second MctsPlayer runs with different numbers of threads, and how much memory its
+// tree takes.
+// Usage: MctsBenchmark [milliseconds per position] [thread counts...], for example "MctsBenchmark 2000 1 2 4 8"
+public class MctsBenchmark {
+    public static final long DEFAULT_TIME = 2000;
+    public static final int[] DEFAULT_THREADS = {1, 2, 4, 8};
+    public static final int POSITIONS = 4;
+    public static final int PLIES = 20;
+
+    public static void main(String[] args) {
+        long time = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_TIME;
+        int[] threadCounts = DEFAULT_THREADS;
+        if (args.length > 1) {
+            threadCounts = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) {
+                threadCounts[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.out.printf("Tree of %d nodes at %d bytes per node: %d MB%n", MctsTree.DEFAULT_CAPACITY,
+                MctsTree.BYTES_PER_NODE, (long) MctsTree.DEFAULT_CAPACITY * MctsTree.BYTES_PER_NODE >> 20);
+        GameBoard[] positions = Positions.randomPositions(POSITIONS, PLIES);
+        for (int threads : threadCounts) {
+            run(new MctsPlayer(State.FILL, time, threads, MctsTree.DEFAULT_CAPACITY), positions);
+        }
+    }
+
+    // EFFECTS: Searches every position for the player's time limit and prints the totals
+    private static void run(MctsPlayer player, GameBoard[] positions) {
+        long playouts = 0;
+        long elapsed = 0;
+        int nodes = 0;
+        for (GameBoard position : positions) {
+            SearchResult result = player.chooseMove(position);
+            playouts += result.getNodes();
+            elapsed += result.getElapsedNanos();
+            nodes = Math.max(nodes, player.getTree().getSize());
+        }
+        System.out.printf("%2d threads: %10d playouts, %8d playouts/s, up to %d nodes (%d KB)%n",
+                player.getThreads(), playouts, playouts * 1000000000L / Math.max(1, elapsed),
+                nodes, (long) nodes * MctsTree.BYTES_PER_NODE >> 10);
+    }
+}
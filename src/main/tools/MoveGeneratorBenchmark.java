@@ -0,0 +1,74 @@
+package tools;
+
+import model.BitBoard;
+import model.GameBoard;
+import model.MoveGenerator;
+
+// Measures how fast each MoveGenerator finds valid moves, and the flips of every valid move, on the same positions.
+// Usage: MoveGeneratorBenchmark [positions] [rounds]
+// Every round runs each generator on the same reproducible random positions, spread over the whole game, for the
+// player to move. The first round warms up the JIT and is not counted. The generator GameBoard uses is chosen with
+// -Dothello.moveGenerator=<name>.
+public class MoveGeneratorBenchmark {
+    public static final int DEFAULT_POSITIONS = 10000;
+    public static final int DEFAULT_ROUNDS = 20;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_POSITIONS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        long[] own = new long[count];
+        long[] opp = new long[count];
+        for (int i = 0; i < count; i++) {
+            GameBoard position = Positions.randomPosition(i, i % (GameBoard.BOARD_SIZE - 4));
+            own[i] = position.getPieces(position.getTurn());
+            opp[i] = position.getPieces(BitBoard.opposite(position.getTurn()));
+        }
+        time(own, opp, rounds);
+    }
+
+    // EFFECTS: Runs every generator on every position rounds times, after one round of warm up, and prints the
+    //          average time each takes to find the valid moves and to find the flips of one valid move
+    private static void time(long[] own, long[] opp, int rounds) {
+        MoveGenerator[] generators = MoveGenerator.ALL;
+        long[] movesElapsed = new long[generators.length];
+        long[] flipsElapsed = new long[generators.length];
+        long checksum = 0;
+        long moveCount = runMoves(MoveGenerator.RAYS, own, opp);
+        for (int round = 0; round <= rounds; round++) {
+            for (int g = 0; g < generators.length; g++) {
+                long start = System.nanoTime();
+                checksum += runMoves(generators[g], own, opp);
+                long middle = System.nanoTime();
+                checksum += runFlips(generators[g], own, opp);
+                movesElapsed[g] += round == 0 ? 0 : middle - start;
+                flipsElapsed[g] += round == 0 ? 0 : System.nanoTime() - middle;
+            }
+        }
+        long positions = (long) own.length * rounds;
+        for (int g = 0; g < generators.length; g++) {
+            System.out.printf("%-12s %8.1f ns/moves %8.1f ns/flips%n", generators[g].getName(),
+                    (double) movesElapsed[g] / positions, (double) flipsElapsed[g] / (moveCount * rounds));
+        }
+        System.out.println("default " + MoveGenerator.DEFAULT.getName() + ", checksum " + checksum);
+    }
+
+    // EFFECTS: Finds the valid moves of every position with generator and returns the sum of their counts
+    private static long runMoves(MoveGenerator generator, long[] own, long[] opp) {
+        long sum = 0;
+        for (int i = 0; i < own.length; i++) {
+            sum += Long.bitCount(generator.generateMoves(own[i], opp[i]));
+        }
+        return sum;
+    }
+
+    // EFFECTS: Finds the flips of every valid move of every position with generator and returns the number flipped
+    private static long runFlips(MoveGenerator generator, long[] own, long[] opp) {
+        long sum = 0;
+        for (int i = 0; i < own.length; i++) {
+            for (long moves = BitBoard.generateMoves(own[i], opp[i]); moves != 0; moves &= moves - 1) {
+                sum += Long.bitCount(generator.generateFlips(own[i], opp[i], Long.numberOfTrailingZeros(moves)));
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,49 @@
+package tools;
+
+import engine.MoveOrdering;
+import engine.PatternEvaluator;
+import engine.Search;
+import engine.SearchResult;
+import model.GameBoard;
+
+import static engine.MoveOrdering.*;
+
+// Measures how each move ordering heuristic changes the size of fixed-depth searches, and how often the first move
+// tried causes the cutoff, by adding the heuristics one at a time to the square priorities alone.
+// Usage: MoveOrderingBenchmark [depth] [positions]
+public class MoveOrderingBenchmark {
+    public static final int DEFAULT_DEPTH = 8;
+    public static final int DEFAULT_POSITIONS = 20;
+    public static final int PLIES = 20;
+    public static final int[] FEATURES = {0, HASH_MOVE, HASH_MOVE | KILLERS, HASH_MOVE | KILLERS | HISTORY, ALL};
+    public static final String[] NAMES = {"squares", "+hash move", "+killers", "+history", "+mobility"};
+    // Long enough that no search in the benchmark is cut short
+    private static final long TIME_LIMIT = 3600000;
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_POSITIONS;
+        GameBoard[] positions = Positions.randomPositions(count, PLIES);
+        System.out.printf("Searching %d positions to depth %d%n", count, depth);
+        for (int i = 0; i < FEATURES.length; i++) {
+            run(NAMES[i], FEATURES[i], positions, depth);
+        }
+    }
+
+    // EFFECTS: Searches every position to depth with a fresh search using the given ordering features, and prints
+    //          the totals
+    private static void run(String name, int features, GameBoard[] positions, int depth) {
+        Search search = new Search(PatternEvaluator.getDefault());
+        MoveOrdering ordering = search.getOrdering();
+        ordering.setFeatures(features);
+        long nodes = 0;
+        long elapsed = 0;
+        for (GameBoard position : positions) {
+            SearchResult result = search.findBestMove(position, depth, TIME_LIMIT);
+            nodes += result.getNodes();
+            elapsed += result.getElapsedNanos();
+        }
+        System.out.printf("%-12s %12d nodes %8d ms   first move cutoffs %5.1f%% of %d%n", name, nodes,
+                elapsed / 1000000, 100 * ordering.getFirstMoveCutoffRate(), ordering.getCutoffs());
+    }
+}
@@ -0,0 +1,56 @@
+package tools;
+
+import model.BitBoard;
+
+// Represents a cheap way of choosing moves for GameSimulator, working on bitboards alone so that choosing a move
+// never allocates. Policies must be safe to use from several threads at once.
+public interface MovePolicy {
+    // Chooses uniformly at random
+    MovePolicy RANDOM = (own, opp, moves, random) -> pick(moves, random);
+    // Chooses a move that flips the most pieces, breaking ties at random
+    MovePolicy GREEDY = (own, opp, moves, random) -> {
+        long best = 0;
+        int mostFlips = -1;
+        for (long remaining = moves; remaining != 0; remaining &= remaining - 1) {
+            int square = Long.numberOfTrailingZeros(remaining);
+            int flips = Long.bitCount(BitBoard.generateFlips(own, opp, square));
+            if (flips > mostFlips) {
+                best = 0;
+                mostFlips = flips;
+            }
+            if (flips == mostFlips) {
+                best |= 1L << square;
+            }
+        }
+        return pick(best, random);
+    };
+
+    // REQUIRES: moves != 0 and own & opp == 0
+    // MODIFIES: random
+    // EFFECTS: Returns one of the squares in moves, the valid moves of the player to move with pieces own against
+    //          opp, drawing any random numbers needed from random
+    int chooseMove(long own, long opp, long moves, FastRandom random);
+
+    // REQUIRES: moves != 0
+    // MODIFIES: random
+    // EFFECTS: Returns one of the squares in moves, chosen uniformly at random
+    static int pick(long moves, FastRandom random) {
+        long remaining = moves;
+        for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) {
+            remaining &= remaining - 1;
+        }
+        return Long.numberOfTrailingZeros(remaining);
+    }
+
+    // EFFECTS: Returns the policy named name: "random" or "greedy"
+    static MovePolicy forName(String name) {
+        switch (name) {
+            case "greedy":
+                return GREEDY;
+            case "random":
+                return RANDOM;
+            default:
+                throw new IllegalArgumentException("Unknown policy " + name);
+        }
+    }
+}
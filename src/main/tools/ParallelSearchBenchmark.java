@@ -0,0 +1,53 @@
+package tools;
+
+import engine.Search;
+import engine.SearchResult;
+import engine.SquareEvaluator;
+import model.GameBoard;
+
+// Measures how a fixed-depth search over a fixed set of midgame positions speeds up with more threads.
+// Usage: ParallelSearchBenchmark [depth] [thread counts...], for example "ParallelSearchBenchmark 9 1 2 4 8"
+public class ParallelSearchBenchmark {
+    public static final int DEFAULT_DEPTH = 9;
+    public static final int[] DEFAULT_THREADS = {1, 2, 4, 8};
+    public static final int POSITIONS = 8;
+    public static final int PLIES = 20;
+    // Long enough that no search in the benchmark is cut short
+    private static final long TIME_LIMIT = 3600000;
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        int[] threadCounts = DEFAULT_THREADS;
+        if (args.length > 1) {
+            threadCounts = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) {
+                threadCounts[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
+
+        GameBoard[] positions = Positions.randomPositions(POSITIONS, PLIES);
+        System.out.printf("Searching %d positions to depth %d%n", POSITIONS, depth);
+        long baseline = 0;
+        for (int threads : threadCounts) {
+            long elapsed = run(new Search(new SquareEvaluator(), threads), positions, depth, threads);
+            baseline = baseline == 0 ? elapsed : baseline;
+            System.out.printf("    speedup %.2fx%n", (double) baseline / elapsed);
+        }
+    }
+
+    // EFFECTS: Searches every position to depth after one warm-up search, prints the totals and returns the time
+    //          taken in nanoseconds
+    private static long run(Search search, GameBoard[] positions, int depth, int threads) {
+        search.findBestMove(positions[0], depth, TIME_LIMIT);
+        long nodes = 0;
+        long elapsed = 0;
+        for (GameBoard position : positions) {
+            SearchResult result = search.findBestMove(position, depth, TIME_LIMIT);
+            nodes += result.getNodes();
+            elapsed += result.getElapsedNanos();
+        }
+        System.out.printf("%2d threads: %8d ms, %12d nodes, %10d nodes/s%n",
+                threads, elapsed / 1000000, nodes, nodes * 1000000000L / Math.max(1, elapsed));
+        return elapsed;
+    }
+}
@@ -0,0 +1,134 @@
+package tools;
+
+import model.BitBoard;
+import model.GameBoard;
+import persistence.JsonReader;
+
+import java.io.IOException;
+
+import static model.GameBoard.PASS;
+
+// Counts the positions reached after every sequence of a given number of moves (perft), to check that move
+// generation on GameBoard is both correct and fast. A pass counts as a move, and a game that ends early counts once,
+// as its final position, which matches the published counts for Othello from the starting position.
+// Usage: Perft [depth] [--bulk] [--legacy] [save file]
+//     --bulk     counts the valid moves at the last ply instead of playing them
+//     --legacy   plays each move with placePiece on a copy of the board, as the game itself does, instead of with
+//                makeMove and unmakeMove
+// Counts from the starting position are compared with REFERENCE, and the tool exits with status 1 on a mismatch.
+public class Perft {
+    public static final int DEFAULT_DEPTH = 9;
+    // Published perft counts from the starting position, indexed by depth
+    public static final long[] REFERENCE = {1L, 4L, 12L, 56L, 244L, 1396L, 8200L, 55092L, 390216L, 3005288L,
+            24571284L, 212258800L, 1939886636L, 18429641748L, 184042084512L};
+
+    public static void main(String[] args) throws IOException {
+        int depth = DEFAULT_DEPTH;
+        boolean isBulk = false;
+        boolean isLegacy = false;
+        String source = null;
+        for (String arg : args) {
+            if (arg.equals("--bulk")) {
+                isBulk = true;
+            } else if (arg.equals("--legacy")) {
+                isLegacy = true;
+            } else if (arg.matches("\\d+")) {
+                depth = Integer.parseInt(arg);
+            } else {
+                source = arg;
+            }
+        }
+
+        GameBoard start = source == null ? new GameBoard() : new JsonReader(source).read();
+        System.out.printf("perft from %s%n", source == null ? "the starting position" : source);
+        if (!run(start, depth, isBulk, isLegacy, source == null)) {
+            System.exit(1);
+        }
+    }
+
+    // EFFECTS: Prints the count, time and nodes per second for every depth from 1 to depth. If isChecked, also
+    //          compares each count with REFERENCE. Returns false if any count differs from its reference.
+    private static boolean run(GameBoard start, int depth, boolean isBulk, boolean isLegacy, boolean isChecked) {
+        boolean isCorrect = true;
+        for (int d = 1; d <= depth; d++) {
+            long begin = System.nanoTime();
+            long nodes = isLegacy ? countLegacy(start, d) : count(start, d, isBulk);
+            long elapsed = Math.max(1, System.nanoTime() - begin);
+            String check = "";
+            if (isChecked && d < REFERENCE.length) {
+                boolean isMatch = nodes == REFERENCE[d];
+                check = isMatch ? "ok" : "MISMATCH, expected " + REFERENCE[d];
+                isCorrect &= isMatch;
+            }
+            System.out.printf("%2d %15d %8d ms %12d nodes/s  %s%n",
+                    d, nodes, elapsed / 1000000, nodes * 1000000000L / elapsed, check);
+        }
+        return isCorrect;
+    }
+
+    // REQUIRES: depth >= 0
+    // EFFECTS: Returns the number of positions reached from game after depth moves, playing them with makeMove and
+    //          unmakeMove on a copy of game. If isBulk, the moves at the last ply are counted without being played.
+    public static long count(GameBoard game, int depth, boolean isBulk) {
+        return countMoves(new GameBoard(game), depth, isBulk);
+    }
+
+    // MODIFIES: board
+    // EFFECTS: Returns the perft count of board to depth, leaving board as it was
+    private static long countMoves(GameBoard board, int depth, boolean isBulk) {
+        if (depth == 0) {
+            return 1;
+        }
+        long moves = board.getValidMoveMask();
+        if (moves == 0) {
+            if (isFinished(board)) {
+                return 1;
+            }
+            board.makeMove(PASS);
+            long nodes = isBulk && depth == 1 ? 1 : countMoves(board, depth - 1, isBulk);
+            board.unmakeMove();
+            return nodes;
+        } else if (isBulk && depth == 1) {
+            return Long.bitCount(moves);
+        }
+
+        long nodes = 0;
+        for (long moveMask = moves; moveMask != 0; moveMask &= moveMask - 1) {
+            board.makeMove(Long.numberOfTrailingZeros(moveMask));
+            nodes += countMoves(board, depth - 1, isBulk);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    // REQUIRES: depth >= 0
+    // EFFECTS: Returns the number of positions reached from game after depth moves, playing every move with
+    //          placePiece, and every pass with checkAnyValidMoves, on a fresh copy of its parent board
+    public static long countLegacy(GameBoard game, int depth) {
+        if (depth == 0) {
+            return 1;
+        } else if (game.getValidMoveMask() == 0) {
+            if (isFinished(game)) {
+                return 1;
+            }
+            GameBoard passed = new GameBoard(game);
+            passed.checkAnyValidMoves();
+            return countLegacy(passed, depth - 1);
+        }
+
+        long nodes = 0;
+        for (long moves = game.getValidMoveMask(); moves != 0; moves &= moves - 1) {
+            GameBoard child = new GameBoard(game);
+            child.placePiece(Long.numberOfTrailingZeros(moves));
+            nodes += countLegacy(child, depth - 1);
+        }
+        return nodes;
+    }
+
+    // EFFECTS: Returns true if neither player can move on board
+    private static boolean isFinished(GameBoard board) {
+        long own = board.getPieces(board.getTurn());
+        long opp = board.getPieces(BitBoard.opposite(board.getTurn()));
+        return BitBoard.generateMoves(own, opp) == 0 && BitBoard.generateMoves(opp, own) == 0;
+    }
+}
@@ -0,0 +1,73 @@
+package tools;
+
+import model.GameBoard;
+import model.State;
+
+import java.util.Random;
+
+import static model.GameBoard.BOARD_SIZE;
+import static model.GameBoard.PASS;
+import static model.State.*;
+
+// Generates reproducible game positions for benchmarks and tools
+public class Positions {
+
+    // EFFECTS: Returns the position reached by playing plies random moves (passing when needed) from the starting
+    //          position, choosing moves with a random number generator seeded with seed. Stops early if the game
+    //          ends.
+    public static GameBoard randomPosition(long seed, int plies) {
+        Random random = new Random(seed);
+        GameBoard game = new GameBoard();
+        for (int i = 0; i < plies && !game.isGameOver(); i++) {
+            long moves = game.getValidMoveMask();
+            if (moves == 0) {
+                game.makeMove(PASS);
+            } else {
+                game.makeMove(pickMove(moves, random));
+            }
+        }
+        return new GameBoard(game);
+    }
+
+    // REQUIRES: moves != 0
+    // EFFECTS: Returns one of the squares in moves, chosen uniformly at random
+    public static int pickMove(long moves, Random random) {
+        long remaining = moves;
+        for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) {
+            remaining &= remaining - 1;
+        }
+        return Long.numberOfTrailingZeros(remaining);
+    }
+
+    // EFFECTS: Returns count positions, the i-th of which is reached after plies random moves from seed i
+    public static GameBoard[] randomPositions(int count, int plies) {
+        GameBoard[] positions = new GameBoard[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = randomPosition(i, plies);
+        }
+        return positions;
+    }
+
+    // REQUIRES: line starts with BOARD_SIZE characters, one per square, each 'X' for fill, 'O' for clear or '-' for
+    //           empty, followed by whitespace and 'X' or 'O' for the player to move
+    // EFFECTS: Returns the position described by line, as written in the widely used .obf format for endgame test
+    //          positions. Anything after the player to move, such as a comment or the best moves, is ignored. Fill
+    //          plays the part of black (X), who moves first.
+    public static GameBoard fromObf(String line) {
+        String squares = line.trim();
+        State turn = squares.substring(BOARD_SIZE).trim().charAt(0) == 'X' ? FILL : CLEAR;
+        long fill = 0;
+        long clear = 0;
+        for (int position = 0; position < BOARD_SIZE; position++) {
+            char square = squares.charAt(position);
+            if (square == 'X') {
+                fill |= 1L << position;
+            } else if (square == 'O') {
+                clear |= 1L << position;
+            }
+        }
+        GameBoard game = new GameBoard(turn, Long.bitCount(clear), Long.bitCount(fill), 0);
+        game.setPieces(fill, clear);
+        return game;
+    }
+}
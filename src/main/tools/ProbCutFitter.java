@@ -0,0 +1,190 @@
+package tools;
+
+import engine.Evaluator;
+import engine.PatternEvaluator;
+import engine.ProbCut;
+import engine.Search;
+import engine.SquareEvaluator;
+import engine.TranspositionTable;
+import model.BitBoard;
+import model.GameBoard;
+import model.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static model.GameBoard.PASS;
+import static model.State.*;
+
+// Fits the Multi-ProbCut parameters of a search with an evaluator, and writes them in the format read by
+// ProbCut.load.
+// Usage: ProbCutFitter [games] [max depth] [square|pattern] [output file]
+// Positions are sampled from self-play games, which open with Trainer.RANDOM_PLIES random moves and are played on with
+// a search to PLAY_DEPTH. Every sampled position is searched full width to every depth up to the max depth, and for
+// every phase, depth and shallow depth it is checked against, the deep scores are fitted to the shallow ones by least
+// squares. Scores of won or lost games are left out, as are pairs with fewer than MIN_SAMPLES positions.
+public class ProbCutFitter {
+    public static final int DEFAULT_GAMES = 200;
+    public static final int DEFAULT_MAX_DEPTH = 8;
+    public static final int PLAY_DEPTH = 2;
+    // One position in this many is sampled
+    public static final int SAMPLE_STRIDE = 4;
+    public static final int MIN_SAMPLES = 30;
+    private static final int TABLE_MEGABYTES = 4;
+    // Long enough that no search is cut short
+    private static final long TIME_LIMIT = 3600000;
+
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        int maxDepth = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_DEPTH;
+        boolean isPattern = args.length > 2 && args[2].equals("pattern");
+        String path = args.length > 3 ? args[3] : ProbCut.DEFAULT_PARAMETERS;
+
+        Evaluator evaluator = isPattern ? PatternEvaluator.getDefault() : new SquareEvaluator();
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<GameBoard> positions = samplePositions(evaluator, games);
+        System.out.printf("Sampled %d positions from %d games%n", positions.size(), games);
+        int[][] scores = scorePositions(evaluator, positions, maxDepth, threads);
+        ProbCut probCut = fit(positions, scores, maxDepth);
+        probCut.write(path);
+        System.out.printf("Wrote parameters fitted to depth %d to %s%n", maxDepth, path);
+    }
+
+    // REQUIRES: games >= 0
+    // EFFECTS: Plays games self-play games with evaluator, the i-th with random opening moves seeded with i, and
+    //          returns one in every SAMPLE_STRIDE of the positions in them where a move was made
+    public static List<GameBoard> samplePositions(Evaluator evaluator, int games) {
+        Search search = new Search(evaluator, 1, new TranspositionTable(TABLE_MEGABYTES));
+        List<GameBoard> positions = new ArrayList<>();
+        for (int game = 0; game < games; game++) {
+            Random random = new Random(game);
+            GameBoard board = new GameBoard();
+            for (int plies = 0; !Search.isFinished(board); plies++) {
+                long moves = board.getValidMoveMask();
+                if (moves == 0) {
+                    board.makeMove(PASS);
+                    continue;
+                }
+                if (plies >= Trainer.RANDOM_PLIES && random.nextInt(SAMPLE_STRIDE) == 0) {
+                    positions.add(new GameBoard(board));
+                }
+                board.makeMove(plies < Trainer.RANDOM_PLIES ? Positions.pickMove(moves, random)
+                        : search.findBestMove(board, PLAY_DEPTH, TIME_LIMIT).getBestMove());
+            }
+        }
+        return positions;
+    }
+
+    // REQUIRES: maxDepth >= 1 and threads >= 1
+    // EFFECTS: Returns the full-width search scores of every position at every depth from 1 to maxDepth, indexed by
+    //          position and then depth, shared out between threads threads. Prints progress as positions finish.
+    public static int[][] scorePositions(Evaluator evaluator, List<GameBoard> positions, int maxDepth, int threads)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        int[][] scores = new int[positions.size()][];
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> shares = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                int first = thread;
+                shares.add(executor.submit(() -> scoreShare(evaluator, positions, first, threads, maxDepth, scores)));
+            }
+            for (Future<?> share : shares) {
+                share.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        System.out.printf("Scored %d positions to depth %d, %.1f positions/s%n",
+                positions.size(), maxDepth, positions.size() * 1e9 / elapsed);
+        return scores;
+    }
+
+    // MODIFIES: scores
+    // EFFECTS: Fills in the scores of the positions numbered first, first + step, ... with a search of their own. The
+    //          table is cleared before every search, so that no score is cut off by an entry from a deeper search of
+    //          the same position and each depth is scored as if searched on its own.
+    private static void scoreShare(Evaluator evaluator, List<GameBoard> positions, int first, int step, int maxDepth,
+                                   int[][] scores) {
+        TranspositionTable table = new TranspositionTable(TABLE_MEGABYTES);
+        Search search = new Search(evaluator, 1, table);
+        for (int i = first; i < positions.size(); i += step) {
+            scores[i] = new int[maxDepth + 1];
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                table.clear();
+                scores[i][depth] = search.findBestMove(positions.get(i), depth, TIME_LIMIT).getScore();
+            }
+            if ((i + 1) % 100 == 0) {
+                System.out.printf("%d positions scored%n", i + 1);
+            }
+        }
+    }
+
+    // REQUIRES: scores[i] holds the scores of positions.get(i) at every depth up to maxDepth
+    // EFFECTS: Returns the parameters fitted to scores for every phase, every depth from ProbCut.MIN_DEPTH to
+    //          maxDepth (but no more than ProbCut.MAX_DEPTH) and every shallow depth it is checked against
+    public static ProbCut fit(List<GameBoard> positions, int[][] scores, int maxDepth) {
+        ProbCut probCut = new ProbCut();
+        int[] phases = new int[positions.size()];
+        for (int i = 0; i < phases.length; i++) {
+            GameBoard board = positions.get(i);
+            State turn = board.getTurn();
+            phases[i] = PatternEvaluator.getPhase(board.getPieces(turn), board.getPieces(BitBoard.opposite(turn)));
+        }
+        for (int phase = 0; phase < PatternEvaluator.PHASES; phase++) {
+            for (int depth = ProbCut.MIN_DEPTH; depth <= Math.min(maxDepth, ProbCut.MAX_DEPTH); depth++) {
+                int[] shallowDepths = ProbCut.getShallowDepths(depth);
+                for (int pair = 0; pair < shallowDepths.length; pair++) {
+                    fitPair(probCut, phases, scores, phase, depth, pair, shallowDepths[pair]);
+                }
+            }
+        }
+        return probCut;
+    }
+
+    // MODIFIES: probCut
+    // EFFECTS: Fits the scores at depth of the positions in phase to their scores at shallowDepth, and sets the
+    //          result as the parameters for pair if there are at least MIN_SAMPLES positions and a positive slope
+    private static void fitPair(ProbCut probCut, int[] phases, int[][] scores, int phase, int depth, int pair,
+                                int shallowDepth) {
+        double[] sums = sum(phases, scores, phase, depth, shallowDepth);
+        double n = sums[0];
+        double varianceX = n * sums[3] - sums[1] * sums[1];
+        if (n < MIN_SAMPLES || varianceX <= 0) {
+            return;
+        }
+        double slope = (n * sums[4] - sums[1] * sums[2]) / varianceX;
+        double intercept = (sums[2] - slope * sums[1]) / n;
+        // Residual sum of squares of the fitted line
+        double residuals = sums[5] - 2 * slope * sums[4] - 2 * intercept * sums[2] + slope * slope * sums[3]
+                + 2 * slope * intercept * sums[1] + n * intercept * intercept;
+        double sigma = Math.sqrt(Math.max(0, residuals) / (n - 2));
+        if (slope > 0 && sigma > 0) {
+            probCut.setParameters(phase, depth, pair, (float) slope, (float) intercept, (float) sigma);
+        }
+    }
+
+    // EFFECTS: Returns the count n and the sums of x, y, x * x, x * y and y * y, in that order, over the positions in
+    //          phase whose scores x at shallowDepth and y at depth are both evaluations rather than game results
+    private static double[] sum(int[] phases, int[][] scores, int phase, int depth, int shallowDepth) {
+        double[] sums = new double[6];
+        for (int i = 0; i < phases.length; i++) {
+            double x = scores[i][shallowDepth];
+            double y = scores[i][depth];
+            if (phases[i] == phase && Math.abs(x) < Evaluator.WIN_SCORE / 2 && Math.abs(y) < Evaluator.WIN_SCORE / 2) {
+                sums[0]++;
+                sums[1] += x;
+                sums[2] += y;
+                sums[3] += x * x;
+                sums[4] += x * y;
+                sums[5] += y * y;
+            }
+        }
+        return sums;
+    }
+}
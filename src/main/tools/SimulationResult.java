@@ -0,0 +1,112 @@
+package tools;
+
+// Represents the totals of a batch of games played by GameSimulator. Totals of batches can be added together, and
+// since addition does not depend on order, a batch split between threads gives the same totals however the games
+// were shared out. The checksum combines the final position of every game, to tell whether two runs played the
+// same games.
+public class SimulationResult {
+    private long games;
+    private long plies;
+    private long passes;
+    private long fillWins;
+    private long clearWins;
+    private long draws;
+    private long difference;
+    private long checksum;
+    private long elapsedNanos;
+
+    // EFFECTS: Creates empty totals
+    public SimulationResult() {
+    }
+
+    // getters
+    public long getGames() {
+        return games;
+    }
+
+    public long getPlies() {
+        return plies;
+    }
+
+    public long getPasses() {
+        return passes;
+    }
+
+    public long getFillWins() {
+        return fillWins;
+    }
+
+    public long getClearWins() {
+        return clearWins;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public long getChecksum() {
+        return checksum;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    // setters
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // EFFECTS: Returns the average final piece difference for fill, or 0 if no games have been played
+    public double getAverageDifference() {
+        return games == 0 ? 0 : (double) difference / games;
+    }
+
+    // EFFECTS: Returns the games played per second, or 0 if no time has been recorded
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    // EFFECTS: Returns the moves played per second, not counting passes, or 0 if no time has been recorded
+    public double getPliesPerSecond() {
+        return elapsedNanos == 0 ? 0 : plies * 1e9 / elapsedNanos;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Counts a game that took plies moves and passes passes and ended with the given pieces for each side
+    public void addGame(int plies, int passes, long fill, long clear) {
+        games++;
+        this.plies += plies;
+        this.passes += passes;
+        int gameDifference = Long.bitCount(fill) - Long.bitCount(clear);
+        difference += gameDifference;
+        if (gameDifference > 0) {
+            fillWins++;
+        } else if (gameDifference < 0) {
+            clearWins++;
+        } else {
+            draws++;
+        }
+        checksum += FastRandom.mix(fill ^ FastRandom.mix(clear));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Adds the games in other to these totals, keeping this one's elapsed time
+    public void add(SimulationResult other) {
+        games += other.games;
+        plies += other.plies;
+        passes += other.passes;
+        fillWins += other.fillWins;
+        clearWins += other.clearWins;
+        draws += other.draws;
+        difference += other.difference;
+        checksum += other.checksum;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d games, %d plies: fill %d, clear %d, draws %d, average difference %+.2f, "
+                        + "%.0f games/s, %.0f plies/s", games, plies, fillWins, clearWins, draws,
+                getAverageDifference(), getGamesPerSecond(), getPliesPerSecond());
+    }
+}
@@ -0,0 +1,155 @@
+package tools;
+
+import engine.EndgameSolver;
+import engine.Evaluator;
+import engine.PatternEvaluator;
+import engine.Search;
+import engine.SearchResult;
+import engine.TranspositionTable;
+import model.BitBoard;
+import model.GameBoard;
+import model.State;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static model.GameBoard.PASS;
+import static model.State.*;
+
+// Trains the weights of PatternEvaluator on games it plays against itself, and writes them in the format read by
+// PatternEvaluator.load.
+// Usage: Trainer [games] [depth] [epochs] [output file]
+// Games are played in batches, one share of each batch per processor. Every position of a game is searched to a
+// fixed depth with the current weights, or solved exactly by EndgameSolver once SOLVE_EMPTIES or fewer squares are
+// empty, and labelled with the score found for the player to move. Exact scores become the final piece difference
+// times DISC_WEIGHT. The game opens with RANDOM_PLIES random moves and then plays the best move found each time.
+// The weights are then fitted to all the positions by WeightFitter, phase by phase.
+public class Trainer {
+    public static final int DEFAULT_GAMES = 2000;
+    public static final int DEFAULT_DEPTH = 4;
+    public static final int DEFAULT_EPOCHS = 20;
+    public static final int RANDOM_PLIES = 8;
+    public static final int SOLVE_EMPTIES = 12;
+    public static final int DISC_WEIGHT = 8;
+    public static final int BATCH_GAMES = 64;
+    private static final int TABLE_MEGABYTES = 4;
+    // Long enough that no search is cut short
+    private static final long TIME_LIMIT = 3600000;
+
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DEPTH;
+        int epochs = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_EPOCHS;
+        String path = args.length > 3 ? args[3] : PatternEvaluator.DEFAULT_WEIGHTS;
+
+        PatternEvaluator evaluator = PatternEvaluator.getDefault();
+        TrainingSet set = generate(evaluator, games, depth, Runtime.getRuntime().availableProcessors());
+        PatternEvaluator trained = fit(evaluator, set, epochs);
+        trained.write(path);
+        System.out.printf("Wrote weights fitted to %d positions to %s%n", set.size(), path);
+    }
+
+    // REQUIRES: games >= 0, depth >= 1 and threads >= 1
+    // EFFECTS: Plays games self-play games with evaluator, in batches of BATCH_GAMES shared between threads threads,
+    //          and returns their labelled positions. Prints the rate of play after every batch.
+    public static TrainingSet generate(PatternEvaluator evaluator, int games, int depth, int threads)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        TrainingSet set = new TrainingSet();
+        long start = System.nanoTime();
+        try {
+            for (int first = 0; first < games; first += BATCH_GAMES) {
+                int last = Math.min(games, first + BATCH_GAMES);
+                List<Future<TrainingSet>> shares = new ArrayList<>();
+                for (int thread = 0; thread < threads; thread++) {
+                    int share = first + thread;
+                    shares.add(executor.submit(() -> playGames(evaluator, share, last, threads, depth)));
+                }
+                for (Future<TrainingSet> share : shares) {
+                    set.addAll(share.get());
+                }
+                long elapsed = Math.max(1, System.nanoTime() - start);
+                System.out.printf("%d games, %d positions, %.0f games/hour%n",
+                        last, set.size(), last * 3600e9 / elapsed);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return set;
+    }
+
+    // EFFECTS: Plays the games numbered first, first + step, ... up to but not including last, with a search and
+    //          solver of their own, and returns their labelled positions
+    private static TrainingSet playGames(PatternEvaluator evaluator, int first, int last, int step, int depth) {
+        Search search = new Search(evaluator, 1, new TranspositionTable(TABLE_MEGABYTES));
+        EndgameSolver solver = new EndgameSolver(new TranspositionTable(TABLE_MEGABYTES));
+        TrainingSet set = new TrainingSet();
+        for (int game = first; game < last; game += step) {
+            playGame(game, search, solver, depth, set);
+        }
+        return set;
+    }
+
+    // MODIFIES: set
+    // EFFECTS: Plays one self-play game whose random opening moves are chosen by a generator seeded with seed, and
+    //          adds every position in it where a move was made to set, labelled by label
+    public static void playGame(long seed, Search search, EndgameSolver solver, int depth, TrainingSet set) {
+        Random random = new Random(seed);
+        GameBoard board = new GameBoard();
+        int plies = 0;
+        while (!Search.isFinished(board)) {
+            long moves = board.getValidMoveMask();
+            if (moves == 0) {
+                board.makeMove(PASS);
+                continue;
+            }
+            State turn = board.getTurn();
+            SearchResult result = analyse(board, search, solver, depth);
+            set.add(board.getPieces(turn), board.getPieces(BitBoard.opposite(turn)), label(result.getScore()));
+            board.makeMove(plies++ < RANDOM_PLIES ? Positions.pickMove(moves, random) : result.getBestMove());
+        }
+    }
+
+    // REQUIRES: board has a valid move
+    // EFFECTS: Solves board exactly if SOLVE_EMPTIES or fewer squares are empty, and searches it to depth otherwise
+    private static SearchResult analyse(GameBoard board, Search search, EndgameSolver solver, int depth) {
+        int empties = Long.bitCount(~(board.getPieces(FILL) | board.getPieces(CLEAR)));
+        if (empties <= SOLVE_EMPTIES) {
+            return solver.solve(board);
+        }
+        return search.findBestMove(board, depth, TIME_LIMIT);
+    }
+
+    // EFFECTS: Returns the training target for a search or solver score: the score itself if it is a heuristic one,
+    //          and the final piece difference times DISC_WEIGHT if it is the score of a known result
+    public static int label(int score) {
+        if (score > Evaluator.WIN_SCORE) {
+            return (score - Evaluator.WIN_SCORE) * DISC_WEIGHT;
+        } else if (score < -Evaluator.WIN_SCORE) {
+            return (score + Evaluator.WIN_SCORE) * DISC_WEIGHT;
+        }
+        return score;
+    }
+
+    // EFFECTS: Returns an evaluator with the weights of evaluator fitted to set over the given number of epochs.
+    //          Prints the error and the rate of fitting after every epoch.
+    public static PatternEvaluator fit(PatternEvaluator evaluator, TrainingSet set, int epochs) {
+        WeightFitter fitter = new WeightFitter(evaluator);
+        fitter.setTrainingSet(set);
+        Random random = new Random(0);
+        System.out.printf("Start: error %.1f%n", fitter.getError());
+        for (int epoch = 1; epoch <= epochs; epoch++) {
+            long start = System.nanoTime();
+            fitter.runEpoch(WeightFitter.DEFAULT_BATCH_SIZE, WeightFitter.DEFAULT_RATE, random);
+            long elapsed = Math.max(1, System.nanoTime() - start);
+            System.out.printf("Epoch %d: error %.1f, %.0f positions/s%n",
+                    epoch, fitter.getError(), set.size() * 1e9 / elapsed);
+        }
+        return fitter.toEvaluator();
+    }
+}
@@ -0,0 +1,60 @@
+package tools;
+
+import java.util.Arrays;
+
+// Represents a growing list of labelled training positions, each stored as the pieces of the player to move, the
+// pieces of their opponent and the target score for the player to move, in parallel primitive arrays
+public class TrainingSet {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] own;
+    private long[] opp;
+    private int[] targets;
+    private int size;
+
+    // EFFECTS: Creates an empty training set
+    public TrainingSet() {
+        own = new long[INITIAL_CAPACITY];
+        opp = new long[INITIAL_CAPACITY];
+        targets = new int[INITIAL_CAPACITY];
+    }
+
+    // getters
+    public int size() {
+        return size;
+    }
+
+    public long getOwn(int i) {
+        return own[i];
+    }
+
+    public long getOpp(int i) {
+        return opp[i];
+    }
+
+    public int getTarget(int i) {
+        return targets[i];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Adds a position with the given pieces and target score to the end of the set
+    public void add(long ownPieces, long oppPieces, int target) {
+        if (size == targets.length) {
+            own = Arrays.copyOf(own, size * 2);
+            opp = Arrays.copyOf(opp, size * 2);
+            targets = Arrays.copyOf(targets, size * 2);
+        }
+        own[size] = ownPieces;
+        opp[size] = oppPieces;
+        targets[size] = target;
+        size++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Adds every position in other to the end of the set, in order
+    public void addAll(TrainingSet other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.own[i], other.opp[i], other.targets[i]);
+        }
+    }
+}
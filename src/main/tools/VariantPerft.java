@@ -0,0 +1,56 @@
+package tools;
+
+import model.GameBoard;
+import model.VariantBoard;
+
+// Counts the positions reached after every sequence of a given number of moves (perft) on a VariantBoard of any
+// size, to check that its move generation is correct and fast. Moves are played with placePiece on a copy of the
+// board, like Perft --legacy does for GameBoard, and passes are counted the same way. Counts on the 8x8 board are
+// compared with Perft.REFERENCE, and the tool exits with status 1 on a mismatch.
+// Usage: VariantPerft [side length] [depth]
+public class VariantPerft {
+    public static final int DEFAULT_SIDE = 10;
+    public static final int DEFAULT_DEPTH = 8;
+
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIDE;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DEPTH;
+        VariantBoard start = new VariantBoard(side);
+        System.out.printf("perft on a %dx%d board, %d word(s) per mask%n", side, side,
+                start.getGeometry().getWords());
+        boolean isCorrect = true;
+        for (int d = 1; d <= depth; d++) {
+            long begin = System.nanoTime();
+            long nodes = count(start, d);
+            long elapsed = Math.max(1, System.nanoTime() - begin);
+            boolean isChecked = side == GameBoard.SIDE_LENGTH && d < Perft.REFERENCE.length;
+            isCorrect &= !isChecked || nodes == Perft.REFERENCE[d];
+            System.out.printf("%2d %15d %8d ms %12d nodes/s  %s%n", d, nodes, elapsed / 1000000,
+                    nodes * 1000000000L / elapsed, !isChecked ? "" : nodes == Perft.REFERENCE[d] ? "ok" : "MISMATCH");
+        }
+        if (!isCorrect) {
+            System.exit(1);
+        }
+    }
+
+    // REQUIRES: depth >= 0
+    // EFFECTS: Returns the number of positions reached from board after depth moves, playing every move with
+    //          placePiece, and every pass with checkAnyValidMoves, on a fresh copy of its parent board
+    public static long count(VariantBoard board, int depth) {
+        if (depth == 0) {
+            return 1;
+        } else if (board.getValidMoveCount() == 0) {
+            VariantBoard passed = new VariantBoard(board);
+            passed.checkAnyValidMoves();
+            return passed.getValidMoveCount() == 0 ? 1 : count(passed, depth - 1);
+        }
+
+        long nodes = 0;
+        for (int move = board.nextValidMove(0); move >= 0; move = board.nextValidMove(move + 1)) {
+            VariantBoard child = new VariantBoard(board);
+            child.placePiece(move);
+            nodes += count(child, depth - 1);
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,184 @@
+package tools;
+
+import engine.PatternEvaluator;
+import engine.Patterns;
+import model.BitBoard;
+
+import java.util.Random;
+
+import static engine.PatternEvaluator.PHASES;
+
+// Fits the weights of a PatternEvaluator to a TrainingSet by batched gradient descent on the squared error. The
+// weights are held as floats in flat arrays shaped like the evaluator's own, and the features of every position
+// (its phase, pattern indices, mobility and parity) are worked out once and kept in primitive arrays.
+// Every batch adds up the error gradient of each weight over the positions it appears in, then moves the weight by
+// rate times that sum divided by the sum of the squared feature values. A pattern weight used by many positions in a
+// batch so moves by about rate times their mean error, and rarely seen ones by less (see PRIOR_COUNT).
+public class WeightFitter {
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final float DEFAULT_RATE = 0.02f;
+    // Pattern weights move as if they had also been seen this many times with no error, so that weights seen only
+    // a few times are not fitted to the noise in those few positions
+    public static final float PRIOR_COUNT = 64;
+
+    private final int instances = Patterns.getInstanceCount();
+    private float[][] tables;
+    private float[] mobilityWeights;
+    private float[] parityWeights;
+
+    private float[][] gradients;
+    private float[][] counts;
+    private float[] mobilityGradients = new float[PHASES];
+    private float[] mobilityCounts = new float[PHASES];
+    private float[] parityGradients = new float[PHASES];
+    private float[] parityCounts = new float[PHASES];
+
+    private int size;
+    private int[] phases;
+    private int[] indices;
+    private int[] mobilities;
+    private int[] parities;
+    private int[] targets;
+
+    // EFFECTS: Creates a fitter starting from the weights of evaluator, which itself is left unchanged
+    public WeightFitter(PatternEvaluator evaluator) {
+        tables = new float[PHASES][];
+        gradients = new float[PHASES][Patterns.getTableSize()];
+        counts = new float[PHASES][Patterns.getTableSize()];
+        mobilityWeights = new float[PHASES];
+        parityWeights = new float[PHASES];
+        for (int phase = 0; phase < PHASES; phase++) {
+            short[] table = evaluator.getTables()[phase];
+            tables[phase] = new float[table.length];
+            for (int i = 0; i < table.length; i++) {
+                tables[phase][i] = table[i];
+            }
+            mobilityWeights[phase] = evaluator.getMobilityWeights()[phase];
+            parityWeights[phase] = evaluator.getParityWeights()[phase];
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Works out and keeps the features of every position in set, replacing any set given before
+    public void setTrainingSet(TrainingSet set) {
+        size = set.size();
+        phases = new int[size];
+        indices = new int[size * instances];
+        mobilities = new int[size];
+        parities = new int[size];
+        targets = new int[size];
+        for (int i = 0; i < size; i++) {
+            long own = set.getOwn(i);
+            long opp = set.getOpp(i);
+            phases[i] = PatternEvaluator.getPhase(own, opp);
+            for (int instance = 0; instance < instances; instance++) {
+                indices[i * instances + instance] = Patterns.index(instance, own, opp);
+            }
+            mobilities[i] = Long.bitCount(BitBoard.generateMoves(own, opp))
+                    - Long.bitCount(BitBoard.generateMoves(opp, own));
+            parities[i] = Long.bitCount(~(own | opp)) & 1;
+            targets[i] = set.getTarget(i);
+        }
+    }
+
+    // REQUIRES: 0 <= i < the size of the training set
+    // EFFECTS: Returns the score the current weights give position i of the training set
+    public float predict(int i) {
+        float[] table = tables[phases[i]];
+        float score = 0;
+        for (int k = i * instances; k < (i + 1) * instances; k++) {
+            score += table[indices[k]];
+        }
+        return score + mobilityWeights[phases[i]] * mobilities[i] + parityWeights[phases[i]] * parities[i];
+    }
+
+    // EFFECTS: Returns the root mean squared error of the current weights over the training set
+    public double getError() {
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            double error = predict(i) - targets[i];
+            total += error * error;
+        }
+        return Math.sqrt(total / Math.max(1, size));
+    }
+
+    // REQUIRES: batchSize >= 1 and rate > 0
+    // MODIFIES: this
+    // EFFECTS: Goes through the training set once in an order shuffled by random, updating the weights after every
+    //          batchSize positions
+    public void runEpoch(int batchSize, float rate, Random random) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            int j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+        for (int start = 0; start < size; start += batchSize) {
+            int end = Math.min(size, start + batchSize);
+            for (int k = start; k < end; k++) {
+                accumulate(order[k]);
+            }
+            for (int k = start; k < end; k++) {
+                update(order[k], rate);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Adds the error gradient of position i to the gradient of every weight it uses
+    private void accumulate(int i) {
+        int phase = phases[i];
+        float error = predict(i) - targets[i];
+        for (int k = i * instances; k < (i + 1) * instances; k++) {
+            gradients[phase][indices[k]] += error;
+            counts[phase][indices[k]]++;
+        }
+        mobilityGradients[phase] += error * mobilities[i];
+        mobilityCounts[phase] += mobilities[i] * mobilities[i];
+        parityGradients[phase] += error * parities[i];
+        parityCounts[phase] += parities[i];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Moves every weight used by position i against its gradient and clears the gradient, so that a weight
+    //          shared by several positions in the batch is moved only once
+    private void update(int i, float rate) {
+        int phase = phases[i];
+        float[] table = tables[phase];
+        for (int k = i * instances; k < (i + 1) * instances; k++) {
+            int index = indices[k];
+            if (counts[phase][index] > 0) {
+                table[index] -= rate * gradients[phase][index] / (counts[phase][index] + PRIOR_COUNT);
+                gradients[phase][index] = 0;
+                counts[phase][index] = 0;
+            }
+        }
+        if (mobilityCounts[phase] > 0) {
+            mobilityWeights[phase] -= rate * mobilityGradients[phase] / mobilityCounts[phase];
+            mobilityGradients[phase] = 0;
+            mobilityCounts[phase] = 0;
+        }
+        if (parityCounts[phase] > 0) {
+            parityWeights[phase] -= rate * parityGradients[phase] / parityCounts[phase];
+            parityGradients[phase] = 0;
+            parityCounts[phase] = 0;
+        }
+    }
+
+    // EFFECTS: Returns a new evaluator with the current weights, each rounded to the nearest whole number that fits
+    //          in its table
+    public PatternEvaluator toEvaluator() {
+        short[][] result = new short[PHASES][Patterns.getTableSize()];
+        int[] mobility = new int[PHASES];
+        int[] parity = new int[PHASES];
+        for (int phase = 0; phase < PHASES; phase++) {
+            for (int i = 0; i < result[phase].length; i++) {
+                float weight = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, tables[phase][i]));
+                result[phase][i] = (short) Math.round(weight);
+            }
+            mobility[phase] = Math.round(mobilityWeights[phase]);
+            parity[phase] = Math.round(parityWeights[phase]);
+        }
+        return new PatternEvaluator(result, mobility, parity);
+    }
+}
@@ -21,6 +21,7 @@ public class BoardRender extends JPanel {
     public static final Image FILL_CIRCLE = new ImageIcon("./res/images/gamepiece/fillCircle.png").getImage();
     public static final Image BLANK_SQUARE = new ImageIcon("./res/images/blankSquare.png").getImage();
     public static final Image HELP_ICON = new ImageIcon("./res/images/helpIcon.png").getImage();
+    public static final Image BOOK_ICON = new ImageIcon("./res/images/bookIcon.png").getImage();
     public static final String OVER = "The winner is: ";
 
     public final int boardLength = GameBoard.SIDE_LENGTH * BLANK_SQUARE.getWidth(this);
@@ -93,10 +94,10 @@ public class BoardRender extends JPanel {
     }
 
     // MODIFIES: this
-    // EFFECTS: Removes help icons from the board, if any
+    // EFFECTS: Removes help and book icons from the board, if any
     public void clearHelpIcons() {
         for (GameSquare gs : board) {
-            if (gs.getPieceImage().equals(HELP_ICON)) {
+            if (gs.getPieceImage().equals(HELP_ICON) || gs.getPieceImage().equals(BOOK_ICON)) {
                 gs.setPieceImage(BLANK_SQUARE);
             }
         }
@@ -1,21 +1,25 @@
 package ui;
 
+import model.State;
+
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.io.File;
 
-// Represents a menu in the GUI that has saving and loading behaviour
+// Represents a menu in the GUI that has saving and loading behaviour, and lets the user choose an opponent
 public class Menu implements ActionListener {
     private OthelloApp parent;
     private JMenuBar menuBar;
     private JMenu menu;
     private JMenuItem saveBoard;
     private JMenuItem loadBoard;
+    private JMenu opponentMenu;
     private JFileChooser fileChooser;
 
-    // EFFECTS: Creates a menu that has options for saving and loading the current game
+    // EFFECTS: Creates a menu that has options for saving and loading the current game and for choosing whether the
+    //          computer plays one of the sides
     public Menu(OthelloApp parent) {
         this.parent = parent;
         menuBar = new JMenuBar();
@@ -28,6 +32,26 @@ public class Menu implements ActionListener {
         menu.add(saveBoard);
         menu.add(loadBoard);
         menuBar.add(menu);
+        initializeOpponentMenu();
+        menuBar.add(opponentMenu);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Creates the opponent menu, with one choice for two human players and one for each side the computer
+    //          can play. Two human players is selected at first.
+    private void initializeOpponentMenu() {
+        opponentMenu = new JMenu("Opponent");
+        ButtonGroup group = new ButtonGroup();
+        JRadioButtonMenuItem human = new JRadioButtonMenuItem("Two Players", true);
+        JRadioButtonMenuItem computerFill = new JRadioButtonMenuItem("Computer Plays Fill");
+        JRadioButtonMenuItem computerClear = new JRadioButtonMenuItem("Computer Plays Clear");
+        initializeMenuItem(human, "human");
+        initializeMenuItem(computerFill, "computerFill");
+        initializeMenuItem(computerClear, "computerClear");
+        for (JRadioButtonMenuItem item : new JRadioButtonMenuItem[] {human, computerFill, computerClear}) {
+            group.add(item);
+            opponentMenu.add(item);
+        }
     }
 
     // getters:
@@ -67,13 +91,19 @@ public class Menu implements ActionListener {
     }
 
     // MODIFIES: this
-    // EFFECTS: Calls the appropriate file dialog method depending on the menu item clicked
+    // EFFECTS: Calls the appropriate file dialog method or sets the opponent depending on the menu item clicked
     @Override
     public void actionPerformed(ActionEvent e) {
         if ("load".equals(e.getActionCommand())) {
             openFileDialog();
         } else if ("save".equals(e.getActionCommand())) {
             saveFileDialog();
+        } else if ("human".equals(e.getActionCommand())) {
+            parent.setComputerSide(null);
+        } else if ("computerFill".equals(e.getActionCommand())) {
+            parent.setComputerSide(State.FILL);
+        } else if ("computerClear".equals(e.getActionCommand())) {
+            parent.setComputerSide(State.CLEAR);
         }
     }
 }
@@ -1,7 +1,11 @@
 package ui;
 
+import engine.ComputerPlayer;
+import engine.SearchResult;
 import javafx.scene.input.KeyCode;
 import model.GameBoard;
+import model.Position;
+import model.State;
 import persistence.JsonReader;
 import persistence.JsonWriter;
 import ui.info.InfoPanel;
@@ -11,6 +15,7 @@ import java.awt.event.*;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.concurrent.ExecutionException;
 
 // Represents a GUI app that houses the board and all information components
 public class OthelloApp extends JFrame {
@@ -20,6 +25,11 @@ public class OthelloApp extends JFrame {
     private JSplitPane content;
     private InfoPanel info;
     private boolean isNextTurn;
+    // The computer player, made the first time the computer is asked to play and kept from then on so that its
+    // search threads and transposition table are only ever made once. computerSide is null while no side is played.
+    private ComputerPlayer computer;
+    private State computerSide;
+    private boolean isComputerThinking;
 
     private String jsonCursor;
     private JsonReader reader;
@@ -78,8 +88,77 @@ public class OthelloApp extends JFrame {
     }
 
     // MODIFIES: this
-    // EFFECTS: Places a piece on the board and updates all GUI panels
+    // EFFECTS: Has the computer play side from now on, or no side at all if side is null. Starts the computer's
+    //          move if it is already its turn.
+    public void setComputerSide(State side) {
+        if (computer != null) {
+            computer.cancelPondering();
+        }
+        if (side != null && computer == null) {
+            computer = new ComputerPlayer(side);
+        } else if (side != null) {
+            computer.setSide(side);
+        }
+        computerSide = side;
+        playComputerTurn();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: If it is the computer's turn, searches for its move on a background thread so the GUI stays
+    //          responsive, then plays the move once the search is done. If it is the human player's turn, has the
+    //          computer ponder on their time instead.
+    public void playComputerTurn() {
+        if (computerSide == null || isComputerThinking) {
+            return;
+        } else if (!isComputerTurn()) {
+            computer.startPondering(game);
+            return;
+        }
+        isComputerThinking = true;
+        State side = computerSide;
+        GameBoard searched = game;
+        Position position = game.getPosition();
+        new SwingWorker<SearchResult, Void>() {
+            @Override
+            protected SearchResult doInBackground() {
+                return computer.chooseMove(new GameBoard(position));
+            }
+
+            @Override
+            protected void done() {
+                isComputerThinking = false;
+                applyComputerMove(this, side, searched);
+            }
+        }.execute();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Plays the move found by worker, unless the game has changed or the computer no longer plays the side
+    //          to move since the search started. Goes on to the computer's next move if the human player has to
+    //          pass.
+    private void applyComputerMove(SwingWorker<SearchResult, Void> worker, State side, GameBoard searched) {
+        try {
+            SearchResult result = worker.get();
+            if (side == computerSide && searched == game && isComputerTurn()) {
+                isNextTurn = game.placePiece(result.getBestMove());
+                if (isNextTurn) {
+                    boardRender.playPlaceSound();
+                }
+                updateNextTurnPanels();
+                repaint();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            System.out.println("Computer player was unable to move");
+        }
+        playComputerTurn();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Places a piece on the board and updates all GUI panels. Does nothing while it is the computer's turn.
     public void placePieceOnBoard(int positionX, int positionY) {
+        if (isComputerThinking || isComputerTurn()) {
+            return;
+        }
         int position = calculateIndex(positionX, positionY);
         isNextTurn = game.placePiece(position);
         if (isNextTurn) {
@@ -87,6 +166,12 @@ public class OthelloApp extends JFrame {
         }
         updateNextTurnPanels();
         repaint();
+        playComputerTurn();
+    }
+
+    // EFFECTS: Returns true if the computer plays a side and it is the computer's turn
+    private boolean isComputerTurn() {
+        return computerSide != null && computer.isTurn(game);
     }
 
     // MODIFIES: this
@@ -124,16 +209,19 @@ public class OthelloApp extends JFrame {
     }
 
     // MODIFIES: this
-    // EFFECTS: Loads a saved board state from file
+    // EFFECTS: Loads a saved board state from file, cancelling anything the computer was pondering on the old one
     public void loadSave(File source) {
         reader.setSource(source.getPath());
         try {
             game = reader.read();
-            game.setValidMoves();
+            if (computer != null) {
+                computer.cancelPondering();
+            }
             boardRender.reset();
             updateCurrentState();
             boardRender.repaint();
             info.repaint();
+            playComputerTurn();
         } catch (IOException e) {
             System.out.println("Unable to read from file");
         }
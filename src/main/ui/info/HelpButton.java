@@ -1,31 +1,41 @@
 package ui.info;
 
+import engine.OpeningBook;
 import model.GameBoard;
+import model.SquareIterator;
 import ui.BoardRender;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.Set;
 
+import static model.GameBoard.PASS;
+import static model.GameBoard.SIDE_LENGTH;
 import static ui.info.InfoPanel.*;
 
-// Represents the "Get Help" button on the GUI - shows all valid moves on board when pressed
+// Represents the "Get Help" button on the GUI - shows all valid moves on board when pressed, and marks the opening
+// book's move with its own icon, and names it in the button's tooltip, when the position is in the book
 public class HelpButton extends JPanel implements ActionListener {
+    public static final String DEFAULT_TIP = "Press this button to see valid moves.";
+
     private GameBoard game;
     private JButton showMoves;
     private BoardRender br;
+    private OpeningBook book;
+    private SquareIterator squares;
 
     // EFFECTS: Initializes a button that displays valid positions when pressed
     public HelpButton(GameBoard game, BoardRender br) {
         this.game = game;
         this.br = br;
+        this.book = OpeningBook.getDefault();
+        this.squares = new SquareIterator(0L);
         setPreferredSize(new Dimension(SECTION_WIDTH, SECTION_HEIGHT));
         setBackground(Color.WHITE);
         setLayout(null);
         showMoves = new JButton("Get Help");
-        showMoves.setToolTipText("Press this button to see valid moves.");
+        showMoves.setToolTipText(DEFAULT_TIP);
         showMoves.setActionCommand("help");
 
         initializeButton(showMoves);
@@ -34,10 +44,19 @@ public class HelpButton extends JPanel implements ActionListener {
     }
 
     // getters:
+    public String getToolTip() {
+        return showMoves.getToolTipText();
+    }
+
+    // setters:
     public void setGame(GameBoard game) {
         this.game = game;
     }
 
+    public void setBook(OpeningBook book) {
+        this.book = book;
+    }
+
     // MODIFIES: this
     // EFFECTS: Sets the appropriate values for the size of the button and its listener
     public void initializeButton(JButton button) {
@@ -51,11 +70,27 @@ public class HelpButton extends JPanel implements ActionListener {
     @Override
     public void actionPerformed(ActionEvent e) {
         if ("help".equals(e.getActionCommand())) {
-            Set<Integer> validPositions = game.getValidMoveKeys();
-            for (int posn : validPositions) {
-                br.getBoard().get(posn).setPieceImage(BoardRender.HELP_ICON);
+            for (game.getValidMoveSquares(squares); squares.hasNext(); ) {
+                br.getBoard().get(squares.nextInt()).setPieceImage(BoardRender.HELP_ICON);
             }
+            showBookMove();
             br.repaint();
         }
     }
+
+    // MODIFIES: this
+    // EFFECTS: Draws the book icon onto the opening book's move for the current position, in place of its help icon,
+    //          and names the move in the button's tooltip. Restores the default tooltip if the position is not in the
+    //          book.
+    public void showBookMove() {
+        int move = book.getBestMove(game);
+        if (move == PASS || !game.isValidMove(move)) {
+            showMoves.setToolTipText(DEFAULT_TIP);
+        } else {
+            br.getBoard().get(move).setPieceImage(BoardRender.BOOK_ICON);
+            int row = move / SIDE_LENGTH + 1;
+            int column = move % SIDE_LENGTH + 1;
+            showMoves.setToolTipText("The opening book plays row " + row + ", column " + column + ".");
+        }
+    }
 }
@@ -0,0 +1,175 @@
+package engine;
+
+import model.GameBoard;
+import model.Symmetry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static model.State.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for ComputerPlayer
+public class ComputerPlayerTest {
+    ComputerPlayer testPlayer;
+
+    @BeforeEach
+    public void setup() {
+        testPlayer = new ComputerPlayer(CLEAR, 50, new SquareEvaluator(), 2);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(CLEAR, testPlayer.getSide());
+        assertEquals(50, testPlayer.getTimeLimit());
+        assertEquals(2, testPlayer.getThreads());
+
+        ComputerPlayer defaultPlayer = new ComputerPlayer(FILL);
+        assertEquals(FILL, defaultPlayer.getSide());
+        assertEquals(ComputerPlayer.DEFAULT_TIME_LIMIT, defaultPlayer.getTimeLimit());
+        assertEquals(ComputerPlayer.DEFAULT_THREADS, defaultPlayer.getThreads());
+        assertSame(OpeningBook.getDefault(), defaultPlayer.getBook());
+    }
+
+    @Test
+    public void testSetTimeLimit() {
+        testPlayer.setTimeLimit(20);
+        assertEquals(20, testPlayer.getTimeLimit());
+    }
+
+    @Test
+    public void testSetSide() {
+        GameBoard game = new GameBoard();
+        testPlayer.startPondering(game);
+        assertTrue(testPlayer.isPondering());
+        testPlayer.setSide(FILL);
+        assertFalse(testPlayer.isPondering());
+        assertEquals(FILL, testPlayer.getSide());
+        assertTrue(testPlayer.isTurn(game));
+        assertTrue(game.isValidMove(testPlayer.chooseMove(game).getBestMove()));
+    }
+
+    @Test
+    public void testIsTurn() {
+        GameBoard game = new GameBoard();
+        assertFalse(testPlayer.isTurn(game));
+        game.placePiece(19);
+        assertTrue(testPlayer.isTurn(game));
+    }
+
+    @Test
+    public void testChooseMove() {
+        GameBoard game = new GameBoard();
+        game.placePiece(19);
+        SearchResult result = testPlayer.chooseMove(game);
+
+        assertTrue(game.isValidMove(result.getBestMove()));
+        assertTrue(game.placePiece(result.getBestMove()));
+    }
+
+    @Test
+    public void testChooseMoveSolvesEndgame() {
+        GameBoard game = SearchTest.randomPosition(new Random(12), ComputerPlayer.SOLVE_EMPTIES - 4);
+        testPlayer.setTimeLimit(1);
+        SearchResult result = testPlayer.chooseMove(game);
+
+        assertEquals(SearchTest.solve(game), result.getScore());
+        assertEquals(Long.bitCount(~(game.getPieces(FILL) | game.getPieces(CLEAR))), result.getDepth());
+    }
+
+    @Test
+    public void testChooseMoveFromBook() throws IOException {
+        GameBoard game = new GameBoard();
+        game.placePiece(19);
+        Path file = Files.createTempFile("testBook", ".bin");
+        int move = Symmetry.toCanonical(18, Symmetry.getCanonicalSymmetry(game));
+        OpeningBook.write(file.toString(), new long[]{Symmetry.canonicalHash(game)}, new int[]{move}, new int[]{-7});
+        testPlayer.setBook(OpeningBook.load(file.toString()));
+        SearchResult result = testPlayer.chooseMove(game);
+        Files.delete(file);
+
+        assertEquals(18, result.getBestMove());
+        assertEquals(-7, result.getScore());
+        assertEquals(0, result.getNodes());
+    }
+
+    @Test
+    public void testPonderHit() throws InterruptedException {
+        GameBoard game = forcedReplyPosition();
+        int reply = Long.numberOfTrailingZeros(game.getValidMoveMask());
+        testPlayer.setBook(OpeningBook.empty());
+        testPlayer.startPondering(game);
+        assertTrue(testPlayer.isPondering());
+        // Pondering again on the same position carries on with the same ponder
+        testPlayer.startPondering(new GameBoard(game));
+        assertTrue(testPlayer.isPondering());
+        Thread.sleep(500);
+
+        game.makeMove(reply);
+        SearchResult result = testPlayer.chooseMove(game);
+        assertEquals(1, testPlayer.getPonderHits());
+        assertFalse(testPlayer.isPondering());
+        assertTrue(game.isValidMove(result.getBestMove()));
+        assertTrue(result.getDepth() > 0);
+    }
+
+    @Test
+    public void testPonderHitUsesPonderTime() throws InterruptedException {
+        GameBoard game = forcedReplyPosition();
+        int reply = Long.numberOfTrailingZeros(game.getValidMoveMask());
+        testPlayer.setBook(OpeningBook.empty());
+        testPlayer.setTimeLimit(1000);
+        testPlayer.startPondering(game);
+        Thread.sleep(1500);
+
+        game.makeMove(reply);
+        long start = System.nanoTime();
+        SearchResult result = testPlayer.chooseMove(game);
+        long elapsed = (System.nanoTime() - start) / 1000000;
+        assertEquals(1, testPlayer.getPonderHits());
+        assertTrue(elapsed < testPlayer.getTimeLimit() / 4);
+        assertTrue(game.isValidMove(result.getBestMove()));
+    }
+
+    @Test
+    public void testPonderMiss() {
+        GameBoard game = new GameBoard();
+        testPlayer.startPondering(game);
+        assertTrue(testPlayer.isPondering());
+        testPlayer.cancelPondering();
+        assertFalse(testPlayer.isPondering());
+
+        game.placePiece(19);
+        assertTrue(game.isValidMove(testPlayer.chooseMove(game).getBestMove()));
+        assertEquals(0, testPlayer.getPonderHits());
+    }
+
+    @Test
+    public void testNoPonderOnOwnTurn() {
+        GameBoard game = new GameBoard();
+        game.placePiece(19);
+        testPlayer.startPondering(game);
+        assertFalse(testPlayer.isPondering());
+        assertFalse(new ComputerPlayer(FILL).isPondering());
+    }
+
+    // EFFECTS: Returns a position where fill, the human player, has exactly one valid move, after which clear has a
+    //          move to search
+    private static GameBoard forcedReplyPosition() {
+        Random random = new Random(13);
+        while (true) {
+            GameBoard game = SearchTest.randomPosition(random, 20 + random.nextInt(20));
+            if (game.getTurn() == FILL && Long.bitCount(game.getValidMoveMask()) == 1) {
+                GameBoard next = new GameBoard(game);
+                next.makeMove(Long.numberOfTrailingZeros(game.getValidMoveMask()));
+                if (next.getTurn() == CLEAR && next.getValidMoveMask() != 0) {
+                    return game;
+                }
+            }
+        }
+    }
+}
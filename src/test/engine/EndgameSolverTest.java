@@ -0,0 +1,91 @@
+package engine;
+
+import model.BoardTest;
+import model.GameBoard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static model.GameBoard.*;
+import static model.State.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for EndgameSolver
+public class EndgameSolverTest extends BoardTest {
+    EndgameSolver testSolver;
+
+    @BeforeEach
+    public void setup() {
+        testSolver = new EndgameSolver();
+    }
+
+    @Test
+    public void testSquareOrderCoversBoard() {
+        long squares = 0L;
+        for (int square : EndgameSolver.SQUARE_ORDER) {
+            squares |= 1L << square;
+        }
+        assertEquals(BOARD_SIZE, EndgameSolver.SQUARE_ORDER.length);
+        assertEquals(-1L, squares);
+    }
+
+    @Test
+    public void testSolveMatchesBruteForce() {
+        Random random = new Random(10);
+        for (int i = 0; i < 60; i++) {
+            GameBoard game = SearchTest.randomPosition(random, 1 + i % 10);
+            long hash = game.getHash();
+            SearchResult result = testSolver.solve(game);
+            int exact = SearchTest.solve(game);
+
+            assertEquals(exact, result.getScore());
+            assertEquals(hash, game.getHash());
+            if (result.getBestMove() != PASS) {
+                assertTrue(game.isValidMove(result.getBestMove()));
+                game.makeMove(result.getBestMove());
+                assertEquals(exact, -SearchTest.solve(game));
+            } else {
+                assertEquals(0, game.getValidMoveMask());
+            }
+        }
+    }
+
+    @Test
+    public void testSolvePass() {
+        GameBoard game = new GameBoard(CLEAR, 0, 0, 0);
+        setPiece(game, 0, FILL);
+        setPiece(game, 1, CLEAR);
+        game.setValidMoves();
+        // Clear has to pass, after which fill takes square 2 and wins by three pieces
+        SearchResult result = testSolver.solve(game);
+        assertEquals(PASS, result.getBestMove());
+        assertEquals(Search.exactScore(-3), result.getScore());
+    }
+
+    @Test
+    public void testSolveFinishedGame() {
+        GameBoard game = new GameBoard(FILL, 0, 0, 0);
+        setPiece(game, 0, FILL);
+        setPiece(game, 2, CLEAR);
+        setPiece(game, 3, CLEAR);
+        game.setValidMoves();
+        SearchResult result = testSolver.solve(game);
+        assertEquals(PASS, result.getBestMove());
+        assertEquals(Search.exactScore(-1), result.getScore());
+        assertEquals(BOARD_SIZE - 3, result.getDepth());
+    }
+
+    @Test
+    public void testSolveDeeperMatchesSearch() {
+        Random random = new Random(11);
+        Search search = new Search(new SquareEvaluator());
+        for (int i = 0; i < 3; i++) {
+            GameBoard game = SearchTest.randomPosition(random, 12);
+            SearchResult result = testSolver.solve(game);
+            assertEquals(search.findBestMove(game, Search.MAX_DEPTH, 100000).getScore(), result.getScore());
+            assertTrue(result.getNodes() > 0);
+            assertEquals(Long.bitCount(~(game.getPieces(FILL) | game.getPieces(CLEAR))), result.getDepth());
+        }
+    }
+}
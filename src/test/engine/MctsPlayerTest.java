@@ -0,0 +1,90 @@
+package engine;
+
+import model.GameBoard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.Positions;
+
+import static model.State.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for MctsPlayer
+public class MctsPlayerTest {
+    private static final long TIME_LIMIT = 60000;
+
+    private MctsPlayer player;
+
+    @BeforeEach
+    public void setup() {
+        player = new MctsPlayer(FILL, TIME_LIMIT, 1, 100000);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(FILL, player.getSide());
+        assertEquals(TIME_LIMIT, player.getTimeLimit());
+        assertEquals(1, player.getThreads());
+        player.setTimeLimit(5);
+        assertEquals(5, player.getTimeLimit());
+        assertTrue(player.isTurn(new GameBoard()));
+    }
+
+    @Test
+    public void testSearchIsReproducible() {
+        GameBoard game = new GameBoard();
+        SearchResult result = player.search(game, 2000, TIME_LIMIT);
+        assertTrue(game.isValidMove(result.getBestMove()));
+        assertEquals(2000, result.getNodes());
+        assertTrue(result.getDepth() >= 2);
+        assertTrue(Math.abs(result.getScore()) <= 100);
+
+        MctsPlayer other = new MctsPlayer(FILL, TIME_LIMIT, 1, 100000);
+        SearchResult again = other.search(game, 2000, TIME_LIMIT);
+        assertEquals(result.getBestMove(), again.getBestMove());
+        assertEquals(result.getScore(), again.getScore());
+    }
+
+    @Test
+    public void testTreeReusedBetweenMoves() {
+        GameBoard game = new GameBoard();
+        SearchResult result = player.search(game, 3000, TIME_LIMIT);
+        game.makeMove(result.getBestMove());
+        game.makeMove(Search.nextMove(game.getValidMoveMask()));
+        player.search(game, 1, TIME_LIMIT);
+        // The new root already had visits from the first search
+        assertTrue(player.getTree().getVisits(player.getTree().getRoot()) > 1);
+        assertEquals(game.getPieces(FILL), player.getTree().getRootOwn());
+    }
+
+    @Test
+    public void testNoPlayouts() {
+        GameBoard game = new GameBoard();
+        assertTrue(game.isValidMove(player.search(game, 0, TIME_LIMIT).getBestMove()));
+        assertEquals(0, player.search(game, 0, TIME_LIMIT).getNodes());
+    }
+
+    @Test
+    public void testFindsWinningEndgameMoves() {
+        EndgameSolver solver = new EndgameSolver();
+        for (int seed = 0; seed < 10; seed++) {
+            GameBoard game = Positions.randomPosition(seed, 54);
+            if (game.getValidMoveMask() == 0) {
+                continue;
+            }
+            int best = Integer.signum(solver.solve(game).getScore());
+            GameBoard next = new GameBoard(game);
+            next.makeMove(player.search(game, 20000, TIME_LIMIT).getBestMove());
+            assertEquals(best, -Integer.signum(solver.solve(next).getScore()));
+        }
+    }
+
+    @Test
+    public void testParallelSearch() {
+        MctsPlayer parallel = new MctsPlayer(CLEAR, TIME_LIMIT, 4, 100000);
+        GameBoard game = Positions.randomPosition(7, 20);
+        SearchResult result = parallel.search(game, 4000, TIME_LIMIT);
+        assertTrue(game.isValidMove(result.getBestMove()));
+        assertEquals(4000, result.getNodes());
+        assertEquals(4000, parallel.getTree().getVisits(parallel.getTree().getRoot()));
+    }
+}
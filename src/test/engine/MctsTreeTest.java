@@ -0,0 +1,116 @@
+package engine;
+
+import model.GameBoard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static engine.MctsTree.UNEXPANDED;
+import static model.GameBoard.PASS;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for MctsTree
+public class MctsTreeTest {
+    private static final long START_OWN = 0x810000000L;
+    private static final long START_OPP = 0x1008000000L;
+
+    private MctsTree tree;
+
+    @BeforeEach
+    public void setup() {
+        tree = new MctsTree(100);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(100, tree.getCapacity());
+        assertEquals(1, tree.getSize());
+        assertEquals(START_OWN, tree.getRootOwn());
+        assertEquals(START_OPP, tree.getRootOpp());
+        assertEquals(UNEXPANDED, tree.getFirstChild(tree.getRoot()));
+        assertEquals(UNEXPANDED, tree.getMostVisitedChild());
+    }
+
+    @Test
+    public void testExpand() {
+        int root = tree.getRoot();
+        tree.expand(root, START_OWN, START_OPP);
+        assertEquals(4, tree.getChildCount(root));
+        assertEquals(5, tree.getSize());
+        int first = tree.getFirstChild(root);
+        long moves = 0;
+        for (int child = first; child < first + 4; child++) {
+            moves |= 1L << tree.getMove(child);
+            assertEquals(UNEXPANDED, tree.getFirstChild(child));
+        }
+        assertEquals(new GameBoard().getValidMoveMask(), moves);
+
+        // Expanding again changes nothing
+        tree.expand(root, START_OWN, START_OPP);
+        assertEquals(5, tree.getSize());
+    }
+
+    @Test
+    public void testExpandPassAndGameOver() {
+        // The player to move has no moves, but the opponent does
+        tree.reset(2L, 1L);
+        tree.expand(tree.getRoot(), 2L, 1L);
+        assertEquals(1, tree.getChildCount(tree.getRoot()));
+        assertEquals(PASS, tree.getMove(tree.getFirstChild(tree.getRoot())));
+
+        // Nobody can move
+        tree.reset(1L, 0L);
+        tree.expand(tree.getRoot(), 1L, 0L);
+        assertEquals(0, tree.getChildCount(tree.getRoot()));
+        assertTrue(tree.getFirstChild(tree.getRoot()) >= 0);
+    }
+
+    @Test
+    public void testExpandWhenFull() {
+        tree = new MctsTree(3);
+        tree.expand(tree.getRoot(), START_OWN, START_OPP);
+        assertEquals(UNEXPANDED, tree.getFirstChild(tree.getRoot()));
+        assertEquals(1, tree.getSize());
+    }
+
+    @Test
+    public void testSelectAndVisits() {
+        int root = tree.getRoot();
+        tree.expand(root, START_OWN, START_OPP);
+        int first = tree.getFirstChild(root);
+        // Unvisited children come first, in order
+        assertEquals(first, tree.select(root));
+        for (int child = first; child < first + 4; child++) {
+            tree.addVisit(root);
+            tree.addVisit(child);
+        }
+        tree.addResult(first + 2, 2);
+        assertEquals(first + 2, tree.select(root));
+        tree.addVisit(first + 1);
+        assertEquals(first + 1, tree.getMostVisitedChild());
+        assertEquals(2, tree.getVisits(first + 1));
+        assertEquals(2, tree.getResult(first + 2));
+    }
+
+    @Test
+    public void testAdvance() {
+        int root = tree.getRoot();
+        tree.expand(root, START_OWN, START_OPP);
+        int child = tree.getFirstChild(root);
+        GameBoard game = new GameBoard();
+        game.makeMove(tree.getMove(child));
+        long own = game.getPieces(game.getTurn());
+        long opp = game.getPieces(model.BitBoard.opposite(game.getTurn()));
+        tree.expand(child, own, opp);
+        int grandchild = tree.getFirstChild(child) + 1;
+        game.makeMove(tree.getMove(grandchild));
+        long nextOwn = game.getPieces(game.getTurn());
+        long nextOpp = game.getPieces(model.BitBoard.opposite(game.getTurn()));
+
+        assertFalse(tree.advance(nextOwn, nextOpp, 1));
+        assertTrue(tree.advance(nextOwn, nextOpp, 2));
+        assertEquals(grandchild, tree.getRoot());
+        assertEquals(nextOwn, tree.getRootOwn());
+        assertEquals(nextOpp, tree.getRootOpp());
+        assertFalse(tree.advance(START_OWN, START_OPP, 3));
+    }
+}
@@ -0,0 +1,119 @@
+package engine;
+
+import model.BitBoard;
+import model.GameBoard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.Positions;
+
+import java.util.Arrays;
+
+import static engine.MoveOrdering.*;
+import static model.GameBoard.BOARD_SIZE;
+import static model.GameBoard.PASS;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for MoveOrdering
+public class MoveOrderingTest {
+    // A corner, an X-square, an inner square and an edge square
+    private static final long MOVES = (1L << 63) | (1L << 9) | (1L << 27) | (1L << 4);
+
+    private MoveOrdering ordering;
+    private int[] moves;
+    private int[] scores;
+
+    @BeforeEach
+    public void setup() {
+        ordering = new MoveOrdering();
+        moves = new int[BOARD_SIZE];
+        scores = new int[BOARD_SIZE];
+    }
+
+    @Test
+    public void testSquarePriorities() {
+        ordering.setFeatures(0);
+        assertEquals(0, ordering.getFeatures());
+        assertEquals(4, ordering.order(MOVES, 27, 0L, 0L, 1, moves, scores));
+        assertArrayEquals(new int[]{63, 4, 27, 9}, Arrays.copyOf(moves, 4));
+        for (int i = 1; i < 4; i++) {
+            assertTrue(scores[i - 1] >= scores[i]);
+        }
+    }
+
+    @Test
+    public void testHashMoveAndKillersFirst() {
+        ordering.recordCutoff(4, 1, BOARD_SIZE, 2);
+        ordering.recordCutoff(9, 1, BOARD_SIZE, 2);
+        ordering.order(MOVES, 27, 0L, 0L, 1, moves, scores);
+        assertArrayEquals(new int[]{27, 9, 4, 63}, Arrays.copyOf(moves, 4));
+
+        // A hash move that is not valid is ignored
+        ordering.order(MOVES, PASS, 0L, 0L, 1, moves, scores);
+        assertArrayEquals(new int[]{9, 4, 63, 27}, Arrays.copyOf(moves, 4));
+
+        // Killers are kept per number of empty squares and forgotten between searches
+        ordering.order(MOVES, PASS, 1L << 40, 0L, 1, moves, scores);
+        assertEquals(63, moves[0]);
+        ordering.newSearch();
+        ordering.order(MOVES, PASS, 0L, 0L, 1, moves, scores);
+        assertEquals(63, moves[0]);
+    }
+
+    @Test
+    public void testHistory() {
+        ordering.setFeatures(HISTORY);
+        for (int i = 0; i < 20; i++) {
+            ordering.recordCutoff(9, 1, 30, 10);
+        }
+        ordering.order(MOVES, PASS, 0L, 0L, 1, moves, scores);
+        assertEquals(9, moves[0]);
+        ordering.setFeatures(0);
+        ordering.order(MOVES, PASS, 0L, 0L, 1, moves, scores);
+        assertEquals(63, moves[0]);
+    }
+
+    @Test
+    public void testMobility() {
+        ordering.setFeatures(MOBILITY);
+        GameBoard game = Positions.randomPosition(4, 20);
+        long own = game.getPieces(game.getTurn());
+        long opp = game.getPieces(BitBoard.opposite(game.getTurn()));
+        long valid = game.getValidMoveMask();
+        // Among moves on inner squares, those leaving the opponent fewer moves come first
+        long inner = valid & 0x00003c3c3c3c0000L;
+        int count = ordering.order(inner, PASS, own, opp, MOBILITY_DEPTH, moves, scores);
+        for (int i = 1; i < count; i++) {
+            assertTrue(mobilityAfter(own, opp, moves[i - 1]) <= mobilityAfter(own, opp, moves[i]));
+        }
+    }
+
+    // EFFECTS: Returns how many moves the opponent has after own plays move
+    private int mobilityAfter(long own, long opp, int move) {
+        long flips = BitBoard.generateFlips(own, opp, move);
+        return Long.bitCount(BitBoard.generateMoves(opp & ~flips, own | flips | 1L << move));
+    }
+
+    @Test
+    public void testCutoffStats() {
+        assertEquals(0, ordering.getFirstMoveCutoffRate());
+        ordering.recordCutoff(9, 0, 30, 3);
+        ordering.recordCutoff(9, 0, 30, 3);
+        ordering.recordCutoff(4, 2, 30, 3);
+        ordering.recordCutoff(4, 0, 30, 3);
+        assertEquals(4, ordering.getCutoffs());
+        assertEquals(3, ordering.getFirstMoveCutoffs());
+        assertEquals(0.75, ordering.getFirstMoveCutoffRate());
+        ordering.clearStats();
+        assertEquals(0, ordering.getCutoffs());
+    }
+
+    @Test
+    public void testSearchRecordsCutoffs() {
+        Search search = new Search(new SquareEvaluator());
+        search.findBestMove(Positions.randomPosition(2, 20), 6, 60000);
+        MoveOrdering used = search.getOrdering();
+        assertTrue(used.getCutoffs() > 0);
+        assertTrue(used.getFirstMoveCutoffRate() > 0.5);
+        assertTrue(used.getFirstMoveCutoffRate() <= 1);
+    }
+}
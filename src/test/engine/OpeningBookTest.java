@@ -0,0 +1,96 @@
+package engine;
+
+import model.GameBoard;
+import model.Symmetry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static model.GameBoard.PASS;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for OpeningBook
+public class OpeningBookTest {
+    private Path testFile;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        testFile = Files.createTempFile("testBook", ".bin");
+    }
+
+    @AfterEach
+    public void teardown() throws IOException {
+        Files.deleteIfExists(testFile);
+    }
+
+    @Test
+    public void testWriteAndLoad() throws IOException {
+        long[] hashes = {5L, -3L, Long.MAX_VALUE, 0L, Long.MIN_VALUE};
+        int[] moves = {19, 26, 37, 44, 20};
+        int[] scores = {1, -2, 3, -4, 5};
+        OpeningBook.write(testFile.toString(), hashes, moves, scores);
+        OpeningBook book = OpeningBook.load(testFile.toString());
+
+        assertEquals(5, book.getSize());
+        assertEquals(OpeningBook.HEADER_SIZE + 5 * OpeningBook.RECORD_SIZE, Files.size(testFile));
+        for (int i = 0; i < hashes.length; i++) {
+            int index = book.find(hashes[i]);
+            assertEquals(hashes[i], book.getHash(index));
+            assertEquals(moves[i], book.getMove(index));
+            assertEquals(scores[i], book.getScore(index));
+        }
+        assertEquals(OpeningBook.NOT_FOUND, book.find(6L));
+        assertEquals(Long.MIN_VALUE, book.getHash(0));
+        assertEquals(Long.MAX_VALUE, book.getHash(4));
+    }
+
+    @Test
+    public void testGetBestMove() throws IOException {
+        GameBoard game = new GameBoard();
+        game.makeMove(19);
+        int symmetry = Symmetry.getCanonicalSymmetry(game);
+        OpeningBook.write(testFile.toString(), new long[]{Symmetry.canonicalHash(game)},
+                new int[]{Symmetry.toCanonical(18, symmetry)}, new int[]{0});
+        OpeningBook book = OpeningBook.load(testFile.toString());
+        assertEquals(0, book.find(game));
+        assertEquals(18, book.getBestMove(game));
+        assertEquals(18, book.getBestMove(game, 0));
+
+        // Every symmetric variant of the position finds the same record, with the move turned to match
+        for (int other = 0; other < Symmetry.SYMMETRIES; other++) {
+            GameBoard variant = Symmetry.transform(game, other);
+            assertEquals(Symmetry.transformSquare(18, other), book.getBestMove(variant));
+        }
+
+        game.makeMove(18);
+        assertEquals(OpeningBook.NOT_FOUND, book.find(game));
+        assertEquals(PASS, book.getBestMove(game));
+        assertEquals(PASS, book.getBestMove(game, OpeningBook.NOT_FOUND));
+    }
+
+    @Test
+    public void testLoadNotABook() throws IOException {
+        Files.write(testFile, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+        try {
+            OpeningBook.load(testFile.toString());
+            fail("Exception not thrown.");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testEmptyAndDefault() {
+        OpeningBook empty = OpeningBook.empty();
+        assertEquals(0, empty.getSize());
+        assertEquals(OpeningBook.NOT_FOUND, empty.find(0L));
+        assertEquals(PASS, empty.getBestMove(new GameBoard()));
+        assertSame(OpeningBook.getDefault(), OpeningBook.getDefault());
+        GameBoard game = new GameBoard();
+        assertTrue(game.isValidMove(OpeningBook.getDefault().getBestMove(game)));
+    }
+}
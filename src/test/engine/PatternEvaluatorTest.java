@@ -0,0 +1,111 @@
+package engine;
+
+import model.GameBoard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.Positions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static engine.PatternEvaluator.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for PatternEvaluator
+public class PatternEvaluatorTest {
+    private Path testFile;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        testFile = Files.createTempFile("testPatterns", ".bin");
+    }
+
+    @AfterEach
+    public void teardown() throws IOException {
+        Files.deleteIfExists(testFile);
+    }
+
+    @Test
+    public void testGetPhase() {
+        assertEquals(0, getPhase(0x18L, 0x1800L));
+        assertEquals(PHASES - 1, getPhase(-1L, 0L));
+        assertEquals(PHASES - 1, getPhase(0xffffffffL, 0xfffffffeL << 32));
+        assertEquals(PHASES / 2, getPhase(0xffffffffL, 0x3L << 32));
+    }
+
+    @Test
+    public void testScoreStaysBelowWinScore() {
+        short[][] tables = new short[PHASES][Patterns.getTableSize()];
+        int[] mobilityWeights = new int[PHASES];
+        int[] parityWeights = new int[PHASES];
+        for (int phase = 0; phase < PHASES; phase++) {
+            Arrays.fill(tables[phase], Short.MAX_VALUE);
+            mobilityWeights[phase] = Integer.MAX_VALUE;
+            parityWeights[phase] = Integer.MAX_VALUE;
+        }
+        GameBoard board = new GameBoard();
+        board.placePiece(19);
+        assertEquals(Evaluator.WIN_SCORE - 1, new PatternEvaluator(tables, mobilityWeights, parityWeights)
+                .evaluate(board));
+
+        for (int phase = 0; phase < PHASES; phase++) {
+            Arrays.fill(tables[phase], Short.MIN_VALUE);
+        }
+        assertEquals(-(Evaluator.WIN_SCORE - 1), new PatternEvaluator(tables, new int[PHASES], new int[PHASES])
+                .evaluate(board));
+    }
+
+    @Test
+    public void testSymmetricStartIsEven() {
+        // The starting position is the same for both sides, so the pattern weights cancel out
+        assertEquals(0, fromSquareWeights().evaluate(new GameBoard()));
+    }
+
+    @Test
+    public void testSeedFollowsSquareWeights() {
+        PatternEvaluator patterns = fromSquareWeights();
+        SquareEvaluator squares = new SquareEvaluator();
+        // Rounding each seed weight loses a little, so the two agree only roughly
+        for (GameBoard position : Positions.randomPositions(50, 30)) {
+            assertEquals(squares.evaluate(position), patterns.evaluate(position), 40);
+        }
+    }
+
+    @Test
+    public void testWriteAndLoad() throws IOException {
+        PatternEvaluator evaluator = fromSquareWeights();
+        evaluator.getTables()[2][17] = 1234;
+        evaluator.getParityWeights()[4] = 7;
+        evaluator.write(testFile.toString());
+        PatternEvaluator loaded = load(testFile.toString());
+
+        for (int phase = 0; phase < PHASES; phase++) {
+            assertArrayEquals(evaluator.getTables()[phase], loaded.getTables()[phase]);
+        }
+        assertArrayEquals(evaluator.getMobilityWeights(), loaded.getMobilityWeights());
+        assertArrayEquals(evaluator.getParityWeights(), loaded.getParityWeights());
+        for (GameBoard position : Positions.randomPositions(20, 40)) {
+            assertEquals(evaluator.evaluate(position), loaded.evaluate(position));
+        }
+    }
+
+    @Test
+    public void testLoadNotWeights() throws IOException {
+        Files.write(testFile, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+        try {
+            load(testFile.toString());
+            fail("Exception not thrown.");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDefault() {
+        assertSame(getDefault(), getDefault());
+        assertTrue(Math.abs(getDefault().evaluate(new GameBoard())) < Evaluator.WIN_SCORE);
+    }
+}
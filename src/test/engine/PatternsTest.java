@@ -0,0 +1,57 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static engine.Patterns.*;
+import static model.GameBoard.BOARD_SIZE;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for Patterns
+public class PatternsTest {
+
+    @Test
+    public void testInstances() {
+        // 4 of each edge, corner and diagonal pattern, 8 corner 2x5s and 2 main diagonals
+        assertEquals(4 * 6 + 8 + 2, getInstanceCount());
+        int[] counts = new int[PATTERNS];
+        for (int instance = 0; instance < getInstanceCount(); instance++) {
+            counts[getPattern(instance)]++;
+            assertEquals(getPatternSquares(getPattern(instance)).length, getSquares(instance).length);
+        }
+        assertArrayEquals(new int[]{4, 4, 8, 2, 4, 4, 4, 4}, counts);
+        int[] coverage = getCoverage();
+        for (int square = 0; square < BOARD_SIZE; square++) {
+            assertTrue(coverage[square] > 0);
+        }
+    }
+
+    @Test
+    public void testOffsets() {
+        assertEquals(0, getOffset(EDGE_2X));
+        assertEquals(59049, getSize(EDGE_2X));
+        assertEquals(81, getSize(DIAGONAL_4));
+        assertEquals(getTableSize(), getOffset(DIAGONAL_4) + getSize(DIAGONAL_4));
+    }
+
+    @Test
+    public void testIndex() {
+        // The first instance of the 2X edge pattern reads square 9 first, so it is the most significant digit
+        assertEquals(0, index(0, 0L, 0L));
+        assertEquals(59049 / 3, index(0, 1L << 9, 0L));
+        assertEquals(2 * 59049 / 3, index(0, 0L, 1L << 9));
+        assertEquals(2, index(0, 0L, 1L << 14));
+
+        Random random = new Random(13);
+        for (int i = 0; i < 1000; i++) {
+            long own = random.nextLong() & random.nextLong();
+            long opp = random.nextLong() & ~own;
+            for (int instance = 0; instance < getInstanceCount(); instance++) {
+                int pattern = getPattern(instance);
+                int index = index(instance, own, opp);
+                assertTrue(index >= getOffset(pattern) && index < getOffset(pattern) + getSize(pattern));
+            }
+        }
+    }
+}
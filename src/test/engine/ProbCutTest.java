@@ -0,0 +1,105 @@
+package engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static engine.ProbCut.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for ProbCut
+public class ProbCutTest {
+    private ProbCut testProbCut;
+    private Path testFile;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        testProbCut = new ProbCut();
+        testFile = Files.createTempFile("testProbCut", ".bin");
+    }
+
+    @AfterEach
+    public void teardown() throws IOException {
+        Files.deleteIfExists(testFile);
+    }
+
+    @Test
+    public void testGetShallowDepths() {
+        assertArrayEquals(new int[]{1}, getShallowDepths(3));
+        assertArrayEquals(new int[]{2}, getShallowDepths(4));
+        assertArrayEquals(new int[]{1}, getShallowDepths(5));
+        assertArrayEquals(new int[]{1, 3}, getShallowDepths(7));
+        assertArrayEquals(new int[]{2, 4}, getShallowDepths(8));
+        for (int depth = MIN_DEPTH; depth <= MAX_DEPTH; depth++) {
+            int[] shallowDepths = getShallowDepths(depth);
+            assertTrue(shallowDepths.length <= PAIRS);
+            for (int shallow : shallowDepths) {
+                assertTrue(shallow >= 1 && shallow < depth);
+                assertEquals(0, (depth - shallow) % 2);
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyNeverPrunes() {
+        assertEquals(DEFAULT_THRESHOLD, testProbCut.getThreshold());
+        for (int phase = 0; phase < PatternEvaluator.PHASES; phase++) {
+            for (int depth = 0; depth <= MAX_DEPTH; depth++) {
+                assertFalse(testProbCut.hasParameters(phase, depth, 0));
+                assertFalse(testProbCut.hasParameters(phase, depth, 1));
+            }
+        }
+    }
+
+    @Test
+    public void testBounds() {
+        testProbCut.setParameters(2, 6, 0, 2.0f, 10.0f, 20.0f);
+        testProbCut.setThreshold(1.5);
+        assertTrue(testProbCut.hasParameters(2, 6, 0));
+        assertFalse(testProbCut.hasParameters(2, 6, 1));
+        assertFalse(testProbCut.hasParameters(3, 6, 0));
+        // (100 + 1.5 * 20 - 10) / 2 = 60 and (-100 - 1.5 * 20 - 10) / 2 = -70
+        assertEquals(60, testProbCut.getHighBound(2, 6, 0, 100));
+        assertEquals(-70, testProbCut.getLowBound(2, 6, 0, -100));
+        // Bounds round away from the window, so pruning stays on the safe side
+        assertEquals(61, testProbCut.getHighBound(2, 6, 0, 101));
+        assertEquals(-71, testProbCut.getLowBound(2, 6, 0, -101));
+
+        testProbCut.setThreshold(0);
+        assertEquals(45, testProbCut.getHighBound(2, 6, 0, 100));
+        assertEquals(-55, testProbCut.getLowBound(2, 6, 0, -100));
+    }
+
+    @Test
+    public void testWriteAndLoad() throws IOException {
+        testProbCut.setParameters(0, MIN_DEPTH, 0, 0.9f, -3.5f, 40.0f);
+        testProbCut.setParameters(PatternEvaluator.PHASES - 1, MAX_DEPTH, 1, 1.1f, 2.0f, 55.5f);
+        testProbCut.write(testFile.toString());
+        ProbCut loaded = load(testFile.toString());
+
+        assertArrayEquals(new float[]{0.9f, -3.5f, 40.0f}, loaded.getParameters(0, MIN_DEPTH, 0));
+        assertArrayEquals(new float[]{1.1f, 2.0f, 55.5f},
+                loaded.getParameters(PatternEvaluator.PHASES - 1, MAX_DEPTH, 1));
+        assertFalse(loaded.hasParameters(1, MIN_DEPTH, 0));
+    }
+
+    @Test
+    public void testLoadNotParameters() throws IOException {
+        Files.write(testFile, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        try {
+            load(testFile.toString());
+            fail("Exception not thrown.");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testGetDefault() {
+        assertSame(getDefault(), getDefault());
+    }
+}
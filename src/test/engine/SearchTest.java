@@ -0,0 +1,264 @@
+package engine;
+
+import model.BoardTest;
+import model.GameBoard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static model.GameBoard.*;
+import static model.State.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for Search
+public class SearchTest extends BoardTest {
+    Search testSearch;
+
+    @BeforeEach
+    public void setup() {
+        testSearch = new Search(new SquareEvaluator());
+    }
+
+    @Test
+    public void testFindBestMoveStart() {
+        GameBoard game = new GameBoard();
+        long hash = game.getHash();
+        SearchResult result = testSearch.findBestMove(game, 4, 10000);
+
+        assertTrue(game.isValidMove(result.getBestMove()));
+        assertEquals(4, result.getDepth());
+        assertTrue(result.getNodes() > 0);
+        assertFalse(result.isExact());
+        assertEquals(hash, game.getHash());
+        assertEquals(0, game.getUndoDepth());
+    }
+
+    @Test
+    public void testFindBestMoveNoMoves() {
+        GameBoard game = new GameBoard(FILL, 0, 0, 0);
+        setPiece(game, 0, CLEAR);
+        game.setValidMoves();
+
+        SearchResult result = testSearch.findBestMove(game, 4, 1000);
+        assertEquals(PASS, result.getBestMove());
+        assertEquals(0, result.getDepth());
+    }
+
+    @Test
+    public void testTimeLimit() {
+        SearchResult result = testSearch.findBestMove(new GameBoard(), Search.MAX_DEPTH, 100);
+
+        assertTrue(result.getElapsedNanos() < 1000000000L);
+        assertTrue(result.getDepth() >= 1);
+        assertTrue(new GameBoard().isValidMove(result.getBestMove()));
+        assertTrue(result.getNodesPerSecond() > 0);
+    }
+
+    @Test
+    public void testExactEndgameScores() {
+        Random random = new Random(6);
+        for (int i = 0; i < 20; i++) {
+            GameBoard game = randomPosition(random, 8);
+            SearchResult result = testSearch.findBestMove(game, Search.MAX_DEPTH, 100000);
+            int exact = solve(game);
+
+            assertEquals(exact, result.getScore());
+            if (result.getBestMove() != PASS) {
+                game.makeMove(result.getBestMove());
+                assertEquals(exact, -solve(game));
+            }
+        }
+    }
+
+    @Test
+    public void testParallelExactEndgameScores() {
+        Search parallel = new Search(new SquareEvaluator(), 4);
+        assertEquals(4, parallel.getThreads());
+        Random random = new Random(7);
+        for (int i = 0; i < 10; i++) {
+            GameBoard game = randomPosition(random, 8);
+            assertEquals(solve(game), parallel.findBestMove(game, Search.MAX_DEPTH, 100000).getScore());
+        }
+    }
+
+    @Test
+    public void testParallelMatchesSequentialScore() {
+        Search parallel = new Search(new SquareEvaluator(), 4);
+        Random random = new Random(8);
+        for (int i = 0; i < 5; i++) {
+            GameBoard game = randomPosition(random, 40);
+            SearchResult sequential = testSearch.findBestMove(game, 6, 100000);
+            SearchResult result = parallel.findBestMove(game, 6, 100000);
+
+            assertEquals(sequential.getScore(), result.getScore());
+            assertEquals(6, result.getDepth());
+            assertTrue(game.isValidMove(result.getBestMove()));
+        }
+    }
+
+    @Test
+    public void testTranspositionTableReused() {
+        TranspositionTable table = new TranspositionTable(1);
+        Search search = new Search(new SquareEvaluator(), 1, table);
+        assertEquals(table, search.getTable());
+        GameBoard game = randomPosition(new Random(9), 30);
+
+        SearchResult first = search.findBestMove(game, 6, 100000);
+        assertTrue(table.getHits() > 0);
+        assertTrue(table.getMisses() > 0);
+        SearchResult second = search.findBestMove(game, 6, 100000);
+        assertTrue(second.getNodes() < first.getNodes());
+        assertEquals(first.getScore(), second.getScore());
+        assertEquals(first.getBestMove(), second.getBestMove());
+    }
+
+    @Test
+    public void testStop() throws InterruptedException {
+        AtomicBoolean stop = new AtomicBoolean(true);
+        GameBoard game = new GameBoard();
+        SearchResult stopped = testSearch.findBestMove(game, Search.MAX_DEPTH, 100000, stop);
+        assertEquals(0, stopped.getDepth());
+        assertTrue(game.isValidMove(stopped.getBestMove()));
+
+        AtomicBoolean later = new AtomicBoolean();
+        Thread stopper = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                // expected
+            }
+            later.set(true);
+        });
+        stopper.start();
+        SearchResult result = testSearch.findBestMove(game, Search.MAX_DEPTH, 100000, later);
+        stopper.join();
+        assertTrue(result.getElapsedNanos() < 10000000000L);
+        assertTrue(result.getDepth() >= 1);
+        assertTrue(game.isValidMove(result.getBestMove()));
+    }
+
+    @Test
+    public void testSetSelective() {
+        assertFalse(testSearch.isSelective());
+        assertSame(ProbCut.getDefault(), testSearch.getProbCut());
+        testSearch.setSelective(true);
+        assertTrue(testSearch.isSelective());
+        ProbCut probCut = new ProbCut();
+        testSearch.setProbCut(probCut);
+        assertSame(probCut, testSearch.getProbCut());
+        testSearch.setSelective(false);
+        assertFalse(testSearch.isSelective());
+    }
+
+    @Test
+    public void testSelectiveSearchesFewerNodes() {
+        // Deep scores that equal shallow ones give tight bounds, so plenty of nodes are pruned
+        ProbCut probCut = new ProbCut();
+        for (int phase = 0; phase < PatternEvaluator.PHASES; phase++) {
+            for (int depth = ProbCut.MIN_DEPTH; depth <= ProbCut.MAX_DEPTH; depth++) {
+                probCut.setParameters(phase, depth, 0, 1.0f, 0.0f, 4.0f);
+            }
+        }
+        Search selective = new Search(new SquareEvaluator(), 1);
+        selective.setProbCut(probCut);
+        selective.setSelective(true);
+        Search fullWidth = new Search(new SquareEvaluator(), 1);
+        Random random = new Random(10);
+        for (int i = 0; i < 5; i++) {
+            GameBoard game = randomPosition(random, 20);
+            SearchResult pruned = selective.findBestMove(game, 7, 100000);
+            SearchResult full = fullWidth.findBestMove(game, 7, 100000);
+
+            assertTrue(pruned.getNodes() < full.getNodes());
+            assertEquals(7, pruned.getDepth());
+            assertTrue(game.isValidMove(pruned.getBestMove()));
+        }
+    }
+
+    @Test
+    public void testSelectiveWithoutParametersIsFullWidth() {
+        Search selective = new Search(new SquareEvaluator(), 1);
+        selective.setProbCut(new ProbCut());
+        selective.setSelective(true);
+        GameBoard game = randomPosition(new Random(11), 20);
+        SearchResult pruned = selective.findBestMove(game, 6, 100000);
+        SearchResult full = new Search(new SquareEvaluator(), 1).findBestMove(game, 6, 100000);
+
+        assertEquals(full.getNodes(), pruned.getNodes());
+        assertEquals(full.getScore(), pruned.getScore());
+    }
+
+    @Test
+    public void testFinalScore() {
+        GameBoard game = new GameBoard(FILL, 0, 0, 2);
+        setPiece(game, 0, FILL);
+        setPiece(game, 1, FILL);
+        setPiece(game, 2, CLEAR);
+        game.setValidMoves();
+        assertEquals(Evaluator.WIN_SCORE + 1, Search.finalScore(game));
+        game.setTurn(CLEAR);
+        assertEquals(-Evaluator.WIN_SCORE - 1, Search.finalScore(game));
+    }
+
+    @Test
+    public void testIsFinished() {
+        assertFalse(Search.isFinished(new GameBoard()));
+
+        GameBoard game = new GameBoard(FILL, 0, 0, 0);
+        setPiece(game, 0, FILL);
+        setPiece(game, 2, CLEAR);
+        game.setValidMoves();
+        assertTrue(Search.isFinished(game));
+    }
+
+    @Test
+    public void testNextMoveOrder() {
+        long corner = 1L << 63;
+        long xsquare = 1L << 9;
+        long inner = 1L << 27;
+        assertEquals(63, Search.nextMove(corner | xsquare | inner));
+        assertEquals(27, Search.nextMove(xsquare | inner));
+        assertEquals(9, Search.nextMove(xsquare));
+    }
+
+    // EFFECTS: Plays random moves from the starting position until at most empties squares are left
+    public static GameBoard randomPosition(Random random, int empties) {
+        GameBoard game = new GameBoard();
+        while (!game.isGameOver() && Long.bitCount(~(game.getPieces(FILL) | game.getPieces(CLEAR))) > empties) {
+            long moves = game.getValidMoveMask();
+            if (moves == 0) {
+                game.makeMove(PASS);
+            } else {
+                int skip = random.nextInt(Long.bitCount(moves));
+                for (int i = 0; i < skip; i++) {
+                    moves &= moves - 1;
+                }
+                game.makeMove(Long.numberOfTrailingZeros(moves));
+            }
+        }
+        return new GameBoard(game);
+    }
+
+    // EFFECTS: Returns the exact final score of game for the player to move, found by searching every move
+    public static int solve(GameBoard game) {
+        if (Search.isFinished(game)) {
+            return Search.finalScore(game);
+        }
+        long moves = game.getValidMoveMask();
+        if (moves == 0) {
+            game.makeMove(PASS);
+            int score = -solve(game);
+            game.unmakeMove();
+            return score;
+        }
+        int best = -Search.INFINITY;
+        for (; moves != 0; moves &= moves - 1) {
+            game.makeMove(Long.numberOfTrailingZeros(moves));
+            best = Math.max(best, -solve(game));
+            game.unmakeMove();
+        }
+        return best;
+    }
+}
@@ -0,0 +1,50 @@
+package engine;
+
+import model.BoardTest;
+import model.GameBoard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static model.State.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for SquareEvaluator
+public class SquareEvaluatorTest extends BoardTest {
+    SquareEvaluator testEvaluator;
+
+    @BeforeEach
+    public void setup() {
+        testEvaluator = new SquareEvaluator();
+    }
+
+    @Test
+    public void testEvaluateStart() {
+        assertEquals(0, testEvaluator.evaluate(new GameBoard()));
+    }
+
+    @Test
+    public void testEvaluateCorner() {
+        GameBoard game = new GameBoard(FILL, 0, 0, 0);
+        setPiece(game, 0, FILL);
+        setPiece(game, 9, CLEAR);
+        game.setValidMoves();
+        int fillScore = testEvaluator.evaluate(game);
+
+        assertEquals(100 + 50 + SquareEvaluator.MOBILITY_WEIGHT, fillScore);
+        game.setTurn(CLEAR);
+        assertEquals(-fillScore, testEvaluator.evaluate(game));
+    }
+
+    @Test
+    public void testEvaluateMobility() {
+        GameBoard game = new GameBoard(FILL, 0, 0, 0);
+        setPiece(game, 27, FILL);
+        setPiece(game, 28, CLEAR);
+        game.setValidMoves();
+
+        assertEquals(SquareEvaluator.MOBILITY_WEIGHT * (1 - 1), testEvaluator.evaluate(game));
+        setPiece(game, 29, CLEAR);
+        game.setValidMoves();
+        assertEquals(-1 + 2 + SquareEvaluator.MOBILITY_WEIGHT * (1 - 1), testEvaluator.evaluate(game));
+    }
+}
@@ -0,0 +1,138 @@
+package engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static engine.TranspositionTable.*;
+import static model.GameBoard.PASS;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for TranspositionTable
+public class TranspositionTableTest {
+    TranspositionTable testTable;
+
+    @BeforeEach
+    public void setup() {
+        testTable = new TranspositionTable(1);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(1024 * 1024 / BYTES_PER_ENTRY, testTable.getCapacity());
+        assertEquals(0, testTable.getHits());
+        assertEquals(0, testTable.getMisses());
+        assertEquals(0, testTable.getCollisions());
+        assertEquals(1024 * 1024 / BYTES_PER_ENTRY, new TranspositionTable(3).getCapacity() / 2);
+    }
+
+    @Test
+    public void testStoreAndProbe() {
+        assertEquals(MISS, testTable.probe(12345L));
+        testTable.store(12345L, 7, -1000042, LOWER, 63);
+        long entry = testTable.probe(12345L);
+        assertNotEquals(MISS, entry);
+        assertEquals(7, getDepth(entry));
+        assertEquals(-1000042, getScore(entry));
+        assertEquals(LOWER, getBound(entry));
+        assertEquals(63, getMove(entry));
+        assertEquals(1, testTable.getHits());
+        assertEquals(1, testTable.getMisses());
+
+        testTable.store(-1L, 0, 5, EXACT, PASS);
+        entry = testTable.probe(-1L);
+        assertEquals(PASS, getMove(entry));
+        assertEquals(EXACT, getBound(entry));
+    }
+
+    @Test
+    public void testProbeZeroHashOnEmptyTable() {
+        assertEquals(MISS, testTable.probe(0L));
+        testTable.store(0L, 1, 0, UPPER, 0);
+        assertEquals(UPPER, getBound(testTable.probe(0L)));
+    }
+
+    @Test
+    public void testDepthPreferredSlotKeepsDeepestResult() {
+        long bucket = testTable.getCapacity() / 2;
+        long deep = 5L;
+        long shallow = 5L + bucket;
+        long other = 5L + 2 * bucket;
+        testTable.store(deep, 10, 1, EXACT, 0);
+        testTable.store(shallow, 2, 2, EXACT, 1);
+        assertEquals(10, getDepth(testTable.probe(deep)));
+        assertEquals(2, getDepth(testTable.probe(shallow)));
+        assertEquals(0, testTable.getCollisions());
+
+        // The always-replace slot gives way to the newest shallow result
+        testTable.store(other, 3, 3, EXACT, 2);
+        assertEquals(MISS, testTable.probe(shallow));
+        assertEquals(10, getDepth(testTable.probe(deep)));
+        assertEquals(3, getDepth(testTable.probe(other)));
+        assertEquals(1, testTable.getCollisions());
+    }
+
+    @Test
+    public void testSamePositionReplacesDeepResult() {
+        testTable.store(9L, 10, 1, EXACT, 0);
+        testTable.store(9L, 4, 2, LOWER, 1);
+        long entry = testTable.probe(9L);
+        assertEquals(4, getDepth(entry));
+        assertEquals(2, getScore(entry));
+        assertEquals(0, testTable.getCollisions());
+    }
+
+    @Test
+    public void testNewSearchAllowsReplacingOldResults() {
+        long bucket = testTable.getCapacity() / 2;
+        testTable.store(5L, 10, 1, EXACT, 0);
+        testTable.newSearch();
+        testTable.store(5L + bucket, 2, 2, EXACT, 1);
+        assertEquals(MISS, testTable.probe(5L));
+        assertEquals(2, getDepth(testTable.probe(5L + bucket)));
+    }
+
+    @Test
+    public void testClear() {
+        testTable.store(9L, 10, 1, EXACT, 0);
+        testTable.probe(9L);
+        testTable.clear();
+        assertEquals(0, testTable.getHits());
+        assertEquals(MISS, testTable.probe(9L));
+        assertEquals(1, testTable.getMisses());
+    }
+
+    @Test
+    public void testConcurrentStoresNeverReturnTornEntries() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final long seed = t;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 200000; i++) {
+                    // The score and depth of every entry are derived from its hash, so any mix-up would show
+                    long hash = random.nextInt(64) * 7919L;
+                    testTable.store(hash, (int) (hash % 60), (int) hash, EXACT, (int) (hash % 64));
+                    long entry = testTable.probe(random.nextInt(64) * 7919L);
+                    if (entry != MISS && getDepth(entry) != getScore(entry) % 60) {
+                        synchronized (failures) {
+                            failures.add(new AssertionError("torn entry"));
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(failures.isEmpty());
+        assertEquals(800000, testTable.getHits() + testTable.getMisses());
+    }
+}
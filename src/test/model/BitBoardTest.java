@@ -0,0 +1,158 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static model.GameBoard.*;
+import static model.State.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for BitBoard
+public class BitBoardTest {
+    BitBoard testBits;
+
+    @BeforeEach
+    public void setup() {
+        testBits = new BitBoard();
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(0L, testBits.getFill());
+        assertEquals(0L, testBits.getClear());
+        assertEquals(-1L, testBits.getEmpty());
+        assertEquals(0, testBits.count(FILL));
+        assertEquals(0, testBits.count(CLEAR));
+    }
+
+    @Test
+    public void testSetStateAndGetState() {
+        testBits.setState(0, FILL);
+        testBits.setState(63, CLEAR);
+        assertEquals(FILL, testBits.getState(0));
+        assertEquals(CLEAR, testBits.getState(63));
+        assertNull(testBits.getState(30));
+
+        testBits.setState(0, CLEAR);
+        assertEquals(CLEAR, testBits.getState(0));
+        assertEquals(0, testBits.count(FILL));
+        assertEquals(2, testBits.count(CLEAR));
+
+        testBits.reset();
+        assertEquals(-1L, testBits.getEmpty());
+    }
+
+    @Test
+    public void testSetPieces() {
+        testBits.setState(5, FILL);
+        testBits.setPieces(0x810000000L, 0x1008000000L);
+        assertEquals(0x810000000L, testBits.getFill());
+        assertEquals(0x1008000000L, testBits.getClear());
+        assertNull(testBits.getState(5));
+        assertEquals(FILL, testBits.getState(Q1));
+    }
+
+    @Test
+    public void testStartingValidMoves() {
+        setUpStart();
+        long expectedFill = (1L << 19) | (1L << 26) | (1L << 37) | (1L << 44);
+        long expectedClear = (1L << 20) | (1L << 29) | (1L << 34) | (1L << 43);
+        assertEquals(expectedFill, testBits.getValidMoves(FILL));
+        assertEquals(expectedClear, testBits.getValidMoves(CLEAR));
+    }
+
+    @Test
+    public void testGetFlipsAndPlay() {
+        setUpStart();
+        long flips = testBits.getFlips(FILL, 19);
+        assertEquals(1L << Q2, flips);
+
+        testBits.play(FILL, 19, flips);
+        assertEquals(4, testBits.count(FILL));
+        assertEquals(1, testBits.count(CLEAR));
+        assertEquals(FILL, testBits.getState(Q2));
+        assertEquals(FILL, testBits.getState(19));
+    }
+
+    @Test
+    public void testGetFlipsInvalidSquares() {
+        setUpStart();
+        assertEquals(0L, testBits.getFlips(FILL, Q1));
+        assertEquals(0L, testBits.getFlips(FILL, 0));
+        assertEquals(0L, testBits.getFlips(FILL, -1));
+        assertEquals(0L, testBits.getFlips(FILL, BOARD_SIZE));
+    }
+
+    @Test
+    public void testNoWrapAroundRows() {
+        // Clear's piece at 7 is on the right edge, so fill's piece at 8 must not be reached from 6
+        testBits.setState(7, CLEAR);
+        testBits.setState(8, FILL);
+        assertEquals(0L, testBits.getFlips(FILL, 6));
+        assertEquals(0L, testBits.getValidMoves(FILL));
+    }
+
+    @Test
+    public void testShiftDropsEdges() {
+        long rightColumn = 1L << 7;
+        long leftColumn = 1L << 8;
+        assertEquals(0L, BitBoard.shift(rightColumn, 0));
+        assertEquals(0L, BitBoard.shift(leftColumn, 2));
+        assertEquals(0L, BitBoard.shift(1L << 63, 1));
+        assertEquals(0L, BitBoard.shift(1L, 3));
+        assertEquals(1L << 9, BitBoard.shift(1L, 4));
+    }
+
+    @Test
+    public void testUpdateValidMovesMatchesFullRescan() {
+        Random random = new Random(64);
+        for (int i = 0; i < 5000; i++) {
+            long fill = random.nextLong() & random.nextLong();
+            long clear = random.nextLong() & random.nextLong() & ~fill;
+            setPieces(fill, clear);
+            long previousFill = testBits.getValidMoves(FILL);
+            long previousClear = testBits.getValidMoves(CLEAR);
+
+            long changed = 0L;
+            for (int j = random.nextInt(12); j >= 0; j--) {
+                changed |= 1L << random.nextInt(BOARD_SIZE);
+            }
+            long changedFill = random.nextLong() & changed;
+            long changedClear = ~changedFill & changed & random.nextLong();
+            setPieces((fill & ~changed) | changedFill, (clear & ~changed) | changedClear);
+
+            assertEquals(testBits.getValidMoves(FILL), testBits.updateValidMoves(FILL, previousFill, changed));
+            assertEquals(testBits.getValidMoves(CLEAR), testBits.updateValidMoves(CLEAR, previousClear, changed));
+        }
+    }
+
+    @Test
+    public void testOpposite() {
+        assertEquals(CLEAR, BitBoard.opposite(FILL));
+        assertEquals(FILL, BitBoard.opposite(CLEAR));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Replaces the pieces on testBits with the pieces in the given masks
+    private void setPieces(long fill, long clear) {
+        testBits.reset();
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            if ((fill & (1L << i)) != 0) {
+                testBits.setState(i, FILL);
+            } else if ((clear & (1L << i)) != 0) {
+                testBits.setState(i, CLEAR);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Places the four starting pieces on testBits
+    private void setUpStart() {
+        testBits.setState(Q1, FILL);
+        testBits.setState(Q2, CLEAR);
+        testBits.setState(Q3, FILL);
+        testBits.setState(Q4, CLEAR);
+    }
+}
@@ -0,0 +1,177 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static model.BoardAnalysis.*;
+import static model.GameBoard.*;
+import static model.State.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for BoardAnalysis
+public class BoardAnalysisTest extends BoardTest {
+    private static final long START_FILL = 0x810000000L;
+    private static final long START_CLEAR = 0x1008000000L;
+
+    @Test
+    public void testStartPosition() {
+        assertEquals(4, mobility(START_FILL, START_CLEAR));
+        assertEquals(10, potentialMobility(START_FILL, START_CLEAR));
+        assertEquals(START_FILL, frontier(START_FILL, START_CLEAR));
+        assertEquals(0L, stable(START_FILL, START_CLEAR));
+        assertEquals(0L, oddRegions(~(START_FILL | START_CLEAR)));
+        assertEquals(0, oddRegionCount(~(START_FILL | START_CLEAR)));
+    }
+
+    @Test
+    public void testNeighbours() {
+        assertEquals((1L << 1) | (1L << 8) | (1L << 9), neighbours(1L));
+        assertEquals(0L, neighbours(-1L));
+        assertEquals(8, Long.bitCount(neighbours(1L << 27)));
+    }
+
+    @Test
+    public void testOddRegions() {
+        long empty = 1L | (1L << 7) | (1L << 14) | (1L << 15) | (1L << 62) | (1L << 63);
+        assertEquals(1L | (1L << 7) | (1L << 14) | (1L << 15), oddRegions(empty));
+        assertEquals(2, oddRegionCount(empty));
+        assertEquals(0L, oddRegions(0L));
+        assertEquals(0L, oddRegions(-1L));
+    }
+
+    @Test
+    public void testStableCornersAndEdges() {
+        long own = 1L | (1L << 1) | (1L << 2) | (1L << 8) | (1L << 9) | (1L << 20);
+        long opp = 1L << 3;
+        assertEquals(1L | (1L << 1) | (1L << 2) | (1L << 8) | (1L << 9), stable(own, opp));
+        assertEquals(0L, stable(opp, own));
+    }
+
+    @Test
+    public void testStableFullBoard() {
+        long own = 0x00ff00ff00ff00ffL;
+        assertEquals(own, stable(own, ~own));
+        assertEquals(~own, stable(~own, own));
+    }
+
+    @Test
+    public void testStableFullLines() {
+        // Every square but the corners is filled, so each line through the centre that ends in a corner is not full
+        long filled = ~0x8100000000000081L;
+        long own = (1L << 27) | (1L << 28) | (1L << 35) | (1L << 36);
+        assertEquals(0L, stable(own, filled & ~own));
+
+        // Filling two corners fills the long diagonal through 27 and 36, but not the one through 28 and 35
+        long opp = (filled | 1L | (1L << 63)) & ~own;
+        assertEquals((1L << 27) | (1L << 36), stable(own, opp));
+    }
+
+    @Test
+    public void testMatchesSquareBySquare() {
+        Random random = new Random(23);
+        for (int game = 0; game < 50; game++) {
+            GameBoard board = new GameBoard();
+            while (!board.isGameOver()) {
+                long own = board.getPieces(board.getTurn());
+                long opp = board.getPieces(BitBoard.opposite(board.getTurn()));
+                assertEquals(Long.bitCount(board.getValidMoveMask()), mobility(own, opp));
+                assertEquals(slowPotentialMobility(own, opp), potentialMobility(own, opp));
+                assertEquals(slowFrontier(own, opp), frontier(own, opp));
+                assertEquals(slowOddRegions(~(own | opp)), oddRegions(~(own | opp)));
+                assertEquals(Long.bitCount(oddRegions(~(own | opp))) > 0, oddRegionCount(~(own | opp)) > 0);
+                board.makeMove(board.getValidMoveMask() == 0 ? PASS : randomMove(board, random));
+            }
+        }
+    }
+
+    @Test
+    public void testStablePiecesNeverFlip() {
+        Random random = new Random(24);
+        for (int game = 0; game < 200; game++) {
+            GameBoard board = new GameBoard();
+            long stableFill = 0L;
+            long stableClear = 0L;
+            while (!board.isGameOver()) {
+                long fill = board.getPieces(FILL);
+                long clear = board.getPieces(CLEAR);
+                assertEquals(stableFill, stableFill & fill);
+                assertEquals(stableClear, stableClear & clear);
+                assertEquals(stableFill, stableFill & stable(fill, clear));
+                stableFill = stable(fill, clear);
+                stableClear = stable(clear, fill);
+                board.makeMove(board.getValidMoveMask() == 0 ? PASS : randomMove(board, random));
+            }
+        }
+    }
+
+    @Test
+    public void testGetMobility() {
+        GameBoard board = new GameBoard();
+        assertTrue(board.placePiece(19));
+        assertEquals(3, board.getMobility(CLEAR));
+        assertEquals(mobility(board.getPieces(FILL), board.getPieces(CLEAR)), board.getMobility(FILL));
+        board.setIncremental(true);
+        assertEquals(3, board.getMobility(CLEAR));
+        assertEquals(mobility(board.getPieces(FILL), board.getPieces(CLEAR)), board.getMobility(FILL));
+    }
+
+    // EFFECTS: Returns the number of empty squares next to one of opp's pieces, checking one square at a time
+    private int slowPotentialMobility(long own, long opp) {
+        int count = 0;
+        for (int square = 0; square < BOARD_SIZE; square++) {
+            if (((own | opp) & (1L << square)) == 0 && (slowNeighbours(square) & opp) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // EFFECTS: Returns own's pieces that are next to an empty square, checking one square at a time
+    private long slowFrontier(long own, long opp) {
+        long frontier = 0L;
+        for (int square = 0; square < BOARD_SIZE; square++) {
+            if ((own & (1L << square)) != 0 && (slowNeighbours(square) & ~(own | opp)) != 0) {
+                frontier |= 1L << square;
+            }
+        }
+        return frontier;
+    }
+
+    // EFFECTS: Returns the empty squares in odd regions, found by growing each region one square at a time
+    private long slowOddRegions(long empty) {
+        long odd = 0L;
+        long seen = 0L;
+        int[] stack = new int[BOARD_SIZE];
+        for (int start = 0; start < BOARD_SIZE; start++) {
+            if ((empty & ~seen & (1L << start)) != 0) {
+                long region = 1L << start;
+                int size = 0;
+                stack[size++] = start;
+                while (size > 0) {
+                    long next = slowNeighbours(stack[--size]) & empty & ~region;
+                    for (; next != 0; next &= next - 1) {
+                        region |= next & -next;
+                        stack[size++] = Long.numberOfTrailingZeros(next);
+                    }
+                }
+                seen |= region;
+                odd |= (Long.bitCount(region) & 1) != 0 ? region : 0L;
+            }
+        }
+        return odd;
+    }
+
+    // EFFECTS: Returns the squares next to square
+    private long slowNeighbours(int square) {
+        long result = 0L;
+        int row = square / SIDE_LENGTH;
+        int column = square % SIDE_LENGTH;
+        for (int r = Math.max(0, row - 1); r <= Math.min(SIDE_LENGTH - 1, row + 1); r++) {
+            for (int c = Math.max(0, column - 1); c <= Math.min(SIDE_LENGTH - 1, column + 1); c++) {
+                result |= 1L << (r * SIDE_LENGTH + c);
+            }
+        }
+        return result & ~(1L << square);
+    }
+}
@@ -1,5 +1,7 @@
 package model;
 
+import java.util.Random;
+
 import static model.State.*;
 
 // Superclass for methods useful in testing game boards
@@ -48,4 +50,14 @@ public class BoardTest {
         gb.setPieceCount(CLEAR, clearPieceCounter);
         gb.setPieceCount(FILL, fillPieceCounter);
     }
+
+    // REQUIRES: gb has at least one valid move
+    // EFFECTS: Returns one of the valid moves of gb, chosen uniformly by random
+    public int randomMove(GameBoard gb, Random random) {
+        long moves = gb.getValidMoveMask();
+        for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) {
+            moves &= moves - 1;
+        }
+        return Long.numberOfTrailingZeros(moves);
+    }
 }
@@ -64,6 +64,29 @@ public class CursorTest {
         }
     }
 
+    @Test
+    public void testOtherSideLength() {
+        testCursor = new Cursor(11, 10);
+        assertEquals(10, testCursor.getSideLength());
+        assertEquals(8, new Cursor(0).getSideLength());
+        testCursor.moveCursorLeft();
+        testCursor.moveCursorDown();
+        assertEquals(20, testCursor.getCurrent());
+        try {
+            testCursor.moveCursorLeft();
+            fail("Exception was not thrown.");
+        } catch (IllegalCursorException e) {
+            // pass
+        }
+        try {
+            testCursor.setPosition(99);
+            testCursor.moveCursorDown();
+            fail("Exception was not thrown.");
+        } catch (IllegalCursorException e) {
+            // pass
+        }
+    }
+
     @Test
     public void testReset() {
         testCursor.setCurrent(25);
@@ -5,7 +5,14 @@ import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static model.GameBoard.*;
 import static model.State.*;
@@ -46,7 +53,7 @@ public class GameBoardTest extends BoardTest {
         assertEquals(0, testBoard.getGameOverCounter());
 
         assertTrue(testBoard.getBoard().isEmpty());
-        assertTrue(testBoard.getValidMoves().isEmpty());
+        assertEquals(0L, testBoard.getValidMoveMask());
         assertFalse(testBoard.isGameOver());
     }
 
@@ -62,6 +69,127 @@ public class GameBoardTest extends BoardTest {
         assertTrue(testSet.contains(2));
     }
 
+    @Test
+    public void testGetValidMovesUnmodifiable() {
+        testBoard = new GameBoard();
+        Map<Integer, Set<GamePiece>> validMoves = testBoard.getValidMoves();
+        assertEquals(4, validMoves.size());
+        assertEquals(1, validMoves.get(19).size());
+        assertEquals(Q2, validMoves.get(19).iterator().next().getPosition());
+        try {
+            validMoves.remove(19);
+            fail("Exception not thrown.");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        try {
+            validMoves.get(19).clear();
+            fail("Exception not thrown.");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testGetValidMovesBuiltOncePerPosition() {
+        testBoard = new GameBoard();
+        Map<Integer, Set<GamePiece>> validMoves = testBoard.getValidMoves();
+        assertSame(validMoves, testBoard.getValidMoves());
+
+        assertTrue(testBoard.placePiece(19));
+        assertNotSame(validMoves, testBoard.getValidMoves());
+        assertEquals(Long.bitCount(testBoard.getValidMoveMask()), testBoard.getValidMoves().size());
+
+        assertTrue(testBoard.makeMove(18));
+        assertEquals(testBoard.getValidMoveSquares().nextInt(),
+                (int) new TreeSet<>(testBoard.getValidMoves().keySet()).first());
+    }
+
+    @Test
+    public void testReadOnlyPathsUseSharedPieces() {
+        testBoard = new GameBoard();
+        assertTrue(testBoard.makeMove(19));
+        JSONObject testJson = testBoard.toJson();
+        assertEquals(5, testJson.getJSONArray("pieces").length());
+        for (GamePiece piece : testBoard.getValidMoves().get(18)) {
+            assertTrue(piece.isShared());
+        }
+
+        GamePiece q2 = testBoard.getBoard().get(Q2);
+        assertFalse(q2.isShared());
+        assertTrue(testBoard.makeMove(18));
+        assertTrue(testBoard.getValidMoves().values().stream().noneMatch(Set::isEmpty));
+        assertEquals(6, testBoard.toJson().getJSONArray("pieces").length());
+    }
+
+    @Test
+    public void testGetBoardPiecesCanChange() {
+        testBoard = new GameBoard();
+        GamePiece q2 = testBoard.getBoard().get(Q2);
+        assertFalse(q2.isShared());
+        assertTrue(testBoard.placePiece(19));
+        assertSame(q2, testBoard.getBoard().get(Q2));
+        assertEquals(FILL, q2.getState());
+        assertEquals(FILL, testBoard.getBoard().get(19).getState());
+        assertEquals(5, testBoard.getBoard().size());
+        assertTrue(testBoard.getValidMoves().get(18).contains(q2));
+
+        q2.flip();
+        testBoard.getBoard().get(19).setState(CLEAR);
+        testBoard.setValidMoves();
+        assertEquals(1L << Q2, testBoard.getPieces(CLEAR) & (1L << Q2));
+
+        GameBoard copy = new GameBoard(testBoard);
+        assertTrue(copy.makeMove(copy.getValidMoveSquares().nextInt()));
+        assertEquals(5, testBoard.getBoard().size());
+        assertEquals(CLEAR, q2.getState());
+    }
+
+    @Test
+    public void testSetPieces() {
+        testBoard = new GameBoard();
+        testBoard.getBoard();
+        testBoard.setPieces(1L, 2L);
+        assertEquals(1L, testBoard.getPieces(FILL));
+        assertEquals(2L, testBoard.getPieces(CLEAR));
+        assertEquals(1L << 2, testBoard.getValidMoveMask());
+        assertEquals(Zobrist.hash(1L, 2L, FILL), testBoard.getHash());
+        assertEquals(2, testBoard.getBoard().size());
+        assertEquals(CLEAR, getPieceState(testBoard, 1));
+        assertEquals(1L, testBoard.getPosition().getFill());
+        assertEquals(0, testBoard.getUndoDepth());
+    }
+
+    @Test
+    public void testFlipsFor() {
+        testBoard = new GameBoard();
+        assertEquals(1L << Q2, testBoard.flipsFor(19));
+        assertEquals(1L << Q2, testBoard.flipsFor(26));
+        assertEquals(0L, testBoard.flipsFor(0));
+        assertEquals(0L, testBoard.flipsFor(Q1));
+        assertEquals(0L, testBoard.flipsFor(-1));
+        assertEquals(0L, testBoard.flipsFor(BOARD_SIZE));
+    }
+
+    @Test
+    public void testFlipsForMatchesValidMoves() {
+        Random random = new Random(21);
+        testBoard = new GameBoard();
+        while (!testBoard.isGameOver()) {
+            Map<Integer, Set<GamePiece>> validMoves = testBoard.getValidMoves();
+            for (SquareIterator squares = testBoard.getValidMoveSquares(); squares.hasNext(); ) {
+                int square = squares.nextInt();
+                long flips = 0;
+                for (GamePiece piece : validMoves.get(square)) {
+                    flips |= 1L << piece.getPosition();
+                }
+                assertEquals(flips, testBoard.flipsFor(square));
+            }
+            assertTrue(testBoard.placePiece(randomMove(testBoard, random)));
+            testBoard.update();
+        }
+    }
+
     @Test
     public void testNextTurnFill() {
         testBoard.nextTurn();
@@ -455,7 +583,7 @@ public class GameBoardTest extends BoardTest {
             setPiece(testBoard, i, FILL);
         }
         testBoard.setValidMoves();
-        assertTrue(testBoard.getValidMoves().isEmpty());
+        assertEquals(0L, testBoard.getValidMoveMask());
     }
 
     @Test
@@ -599,4 +727,298 @@ public class GameBoardTest extends BoardTest {
             }
         }
     }
+
+    @Test
+    public void testPlayedSquares() {
+        testBoard.setUpGame();
+        testBoard.setValidMoves();
+        assertTrue(testBoard.placePiece(19));
+        assertEquals((1L << 19) | (1L << Q2), testBoard.getPlayedSquares());
+    }
+
+    @Test
+    public void testIncrementalPassTurn() {
+        for (int i = 0; i <= 23; i++) {
+            if (i != 7) {
+                setPiece(testBoard, i, FILL);
+            }
+        }
+        for (int i = 31; i <= 63; i += 8) {
+            setPiece(testBoard, i, CLEAR);
+        }
+        testBoard.setTurn(FILL);
+        testBoard.setIncremental(true);
+        assertTrue(testBoard.isIncremental());
+        assertEquals(0L, testBoard.getValidMoveMask());
+
+        testBoard.update();
+        assertEquals(CLEAR, testBoard.getTurn());
+        assertEquals(1L << 7, testBoard.getValidMoveMask());
+    }
+
+    @Test
+    public void testIncrementalMatchesFullRescan() {
+        Random random = new Random(210);
+        for (int game = 0; game < 200; game++) {
+            GameBoard incremental = new GameBoard();
+            GameBoard full = new GameBoard();
+            incremental.setIncremental(true);
+
+            while (!full.isGameOver()) {
+                assertEquals(full.getTurn(), incremental.getTurn());
+                assertEquals(full.getValidMoveMask(), incremental.getValidMoveMask());
+                int move = randomMove(full, random);
+                assertTrue(full.placePiece(move));
+                assertTrue(incremental.placePiece(move));
+                full.update();
+                incremental.update();
+            }
+            assertTrue(incremental.isGameOver());
+            assertEquals(full.getFillPieceCount(), incremental.getFillPieceCount());
+        }
+    }
+
+    @Test
+    public void testMakeAndUnmakeMove() {
+        testBoard = new GameBoard();
+        assertTrue(testBoard.makeMove(19));
+        assertEquals(CLEAR, testBoard.getTurn());
+        assertEquals(4, testBoard.getFillPieceCount());
+        assertEquals(1, testBoard.getClearPieceCount());
+        assertEquals(FILL, getPieceState(testBoard, Q2));
+        assertEquals(1, testBoard.getUndoDepth());
+
+        assertTrue(testBoard.unmakeMove());
+        assertEquals(FILL, testBoard.getTurn());
+        assertEquals(2, testBoard.getFillPieceCount());
+        assertEquals(2, testBoard.getClearPieceCount());
+        assertEquals(CLEAR, getPieceState(testBoard, Q2));
+        assertNull(testBoard.getBoard().get(19));
+        assertEquals(4, Long.bitCount(testBoard.getValidMoveMask()));
+        assertEquals(0, testBoard.getUndoDepth());
+        assertFalse(testBoard.unmakeMove());
+    }
+
+    @Test
+    public void testMakeMoveFailure() {
+        testBoard = new GameBoard();
+        assertFalse(testBoard.makeMove(0));
+        assertFalse(testBoard.makeMove(BOARD_SIZE));
+        assertFalse(testBoard.makeMove(PASS));
+        assertEquals(0, testBoard.getUndoDepth());
+    }
+
+    @Test
+    public void testMakeMovePass() {
+        for (int i = 0; i <= 23; i++) {
+            if (i != 7) {
+                setPiece(testBoard, i, FILL);
+            }
+        }
+        for (int i = 31; i <= 63; i += 8) {
+            setPiece(testBoard, i, CLEAR);
+        }
+        testBoard.setTurn(FILL);
+
+        assertTrue(testBoard.makeMove(PASS));
+        assertEquals(CLEAR, testBoard.getTurn());
+        assertEquals(1, testBoard.getGameOverCounter());
+        assertTrue(testBoard.makeMove(7));
+        assertEquals(0, testBoard.getGameOverCounter());
+
+        assertTrue(testBoard.unmakeMove());
+        assertTrue(testBoard.unmakeMove());
+        assertEquals(FILL, testBoard.getTurn());
+        assertEquals(0, testBoard.getGameOverCounter());
+        assertEquals(0L, testBoard.getValidMoveMask());
+    }
+
+    @Test
+    public void testMakeMovePassEndsGame() {
+        for (int i = 0; i <= 31; i++) {
+            setPiece(testBoard, i, FILL);
+        }
+        testBoard.setTurn(FILL);
+        Position published = testBoard.getPosition();
+
+        assertTrue(testBoard.makeMove(PASS));
+        assertTrue(testBoard.makeMove(PASS));
+        assertTrue(testBoard.isGameOver());
+        assertFalse(testBoard.makeMove(PASS));
+        // makeMove never publishes, even when it ends the game
+        assertSame(published, testBoard.getPosition());
+        testBoard.publish();
+        assertTrue(testBoard.getPosition().isGameOver());
+        assertEquals(testBoard.getHash(), testBoard.getPosition().getHash());
+
+        assertTrue(testBoard.unmakeMove());
+        assertFalse(testBoard.isGameOver());
+    }
+
+    @Test
+    public void testUnmakeAfterPlacePiece() {
+        testBoard = new GameBoard();
+        assertTrue(testBoard.placePiece(19));
+        assertTrue(testBoard.unmakeMove());
+        assertEquals(FILL, testBoard.getTurn());
+        assertEquals(4, getActivePiecesNum(testBoard));
+        assertEquals(CLEAR, getPieceState(testBoard, Q2));
+    }
+
+    @Test
+    public void testMakeUnmakeRandomGames() {
+        Random random = new Random(4);
+        for (int game = 0; game < 20; game++) {
+            testBoard = new GameBoard();
+            List<String> history = new ArrayList<>();
+            while (!testBoard.isGameOver()) {
+                history.add(testBoard.toJson().toString() + testBoard.getValidMoveMask());
+                if (testBoard.getValidMoveMask() == 0) {
+                    assertTrue(testBoard.makeMove(PASS));
+                } else {
+                    assertTrue(testBoard.makeMove(randomMove(testBoard, random)));
+                }
+            }
+            for (int i = history.size() - 1; i >= 0; i--) {
+                assertTrue(testBoard.unmakeMove());
+                assertEquals(history.get(i), testBoard.toJson().toString() + testBoard.getValidMoveMask());
+            }
+        }
+    }
+
+    @Test
+    public void testHashMatchesFullHashOverRandomGames() {
+        Random random = new Random(5);
+        for (int game = 0; game < 100; game++) {
+            testBoard = new GameBoard();
+            assertHashMatches(testBoard);
+            while (!testBoard.isGameOver()) {
+                assertTrue(testBoard.placePiece(randomMove(testBoard, random)));
+                assertHashMatches(testBoard);
+                testBoard.update();
+                assertHashMatches(testBoard);
+            }
+            while (testBoard.unmakeMove()) {
+                assertHashMatches(testBoard);
+            }
+        }
+    }
+
+    @Test
+    public void testHashAfterSetUpAndSetTurn() {
+        testBoard.setUpGame();
+        assertHashMatches(testBoard);
+        testBoard.setTurn(CLEAR);
+        assertHashMatches(testBoard);
+        assertNotEquals(new GameBoard().getHash(), testBoard.getHash());
+    }
+
+    @Test
+    public void testPositionPublishedAfterPlacePiece() {
+        GameBoard game = new GameBoard();
+        Position start = game.getPosition();
+        assertTrue(game.placePiece(19));
+        Position next = game.getPosition();
+
+        assertNotSame(start, next);
+        assertEquals(0x810000000L, start.getFill());
+        assertEquals(FILL, start.getTurn());
+        assertEquals(CLEAR, next.getTurn());
+        assertEquals(game.getPieces(FILL), next.getFill());
+        assertEquals(game.getPieces(CLEAR), next.getClear());
+        assertEquals(game.getValidMoveMask(), next.getValidMoveMask());
+        assertEquals(game.getHash(), next.getHash());
+        assertEquals(4, next.getFillPieceCount());
+        assertEquals(1, next.getClearPieceCount());
+
+        game.nextTurn();
+        assertEquals(FILL, game.getPosition().getTurn());
+        assertFalse(game.placePiece(0));
+        assertEquals(FILL, game.getPosition().getTurn());
+    }
+
+    @Test
+    public void testPositionPublishedAfterUpdate() {
+        GameBoard game = new GameBoard(FILL, 0, 0, 0);
+        setPiece(game, 0, FILL);
+        setPiece(game, 2, CLEAR);
+        game.setValidMoves();
+        game.update();
+
+        assertTrue(game.isGameOver());
+        assertTrue(game.getPosition().isGameOver());
+        assertEquals(2, game.getPosition().getGameOverCounter());
+    }
+
+    @Test
+    public void testMakeMoveNotPublished() {
+        GameBoard game = new GameBoard();
+        Position start = game.getPosition();
+        assertTrue(game.makeMove(19));
+        assertSame(start, game.getPosition());
+        game.publish();
+        assertEquals(CLEAR, game.getPosition().getTurn());
+        assertEquals(game.getPieces(FILL), game.getPosition().getFill());
+        assertTrue(game.unmakeMove());
+        game.publish();
+        assertEquals(start, game.getPosition());
+    }
+
+    @Test
+    public void testConstructFromPosition() {
+        GameBoard game = new GameBoard();
+        game.placePiece(19);
+        game.placePiece(18);
+        GameBoard copy = new GameBoard(game.getPosition());
+
+        assertSame(game.getPosition(), copy.getPosition());
+        assertEquals(game.getTurn(), copy.getTurn());
+        assertEquals(game.getPieces(FILL), copy.getPieces(FILL));
+        assertEquals(game.getPieces(CLEAR), copy.getPieces(CLEAR));
+        assertEquals(game.getValidMoveMask(), copy.getValidMoveMask());
+        assertEquals(game.getHash(), copy.getHash());
+        assertEquals(game.getBoard().size(), copy.getBoard().size());
+        assertEquals(0, copy.getUndoDepth());
+        assertHashMatches(copy);
+
+        int move = copy.getValidMoveSquares().nextInt();
+        assertTrue(copy.placePiece(move));
+        assertEquals(game.getPosition().getFill(), game.getPieces(FILL));
+    }
+
+    @Test
+    public void testPositionReadWhilePlaying() throws InterruptedException {
+        AtomicReference<GameBoard> game = new AtomicReference<>(new GameBoard());
+        AtomicBoolean isConsistent = new AtomicBoolean(true);
+        AtomicBoolean isDone = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            while (!isDone.get()) {
+                Position position = game.get().getPosition();
+                long own = position.getPieces(position.getTurn());
+                long opp = position.getPieces(BitBoard.opposite(position.getTurn()));
+                if ((own & opp) != 0 || position.getValidMoveMask() != BitBoard.generateMoves(own, opp)
+                        || position.getFillPieceCount() != Long.bitCount(position.getFill())) {
+                    isConsistent.set(false);
+                }
+            }
+        });
+        reader.start();
+        Random random = new Random(14);
+        for (int i = 0; i < 50; i++) {
+            GameBoard played = new GameBoard();
+            game.set(played);
+            while (!played.isGameOver()) {
+                played.placePiece(randomMove(played, random));
+                played.update();
+            }
+        }
+        isDone.set(true);
+        reader.join();
+        assertTrue(isConsistent.get());
+    }
+
+    // EFFECTS: Asserts that the hash kept by gb matches a hash computed from scratch
+    private void assertHashMatches(GameBoard gb) {
+        assertEquals(Zobrist.hash(gb.getPieces(FILL), gb.getPieces(CLEAR), gb.getTurn()), gb.getHash());
+    }
 }
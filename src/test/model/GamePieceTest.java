@@ -51,4 +51,34 @@ class GamePieceTest {
         assertEquals(0, testJson.getInt("position"));
         assertEquals(FILL, testJson.get("state"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testOf() {
+        GamePiece shared = GamePiece.of(63, CLEAR);
+        assertEquals(63, shared.getPosition());
+        assertEquals(CLEAR, shared.getState());
+        assertTrue(shared.isShared());
+        assertFalse(testPiece.isShared());
+        assertSame(shared, GamePiece.of(63, CLEAR));
+        assertNotSame(shared, GamePiece.of(63, FILL));
+        assertEquals(FILL, GamePiece.of(0, FILL).toJson().get("state"));
+    }
+
+    @Test
+    public void testSharedPieceCannotChange() {
+        GamePiece shared = GamePiece.of(0, FILL);
+        try {
+            shared.flip();
+            fail("Exception not thrown.");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        try {
+            shared.setState(CLEAR);
+            fail("Exception not thrown.");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        assertEquals(FILL, shared.getState());
+    }
+}
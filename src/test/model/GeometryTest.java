@@ -0,0 +1,125 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static model.GameBoard.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for Geometry
+public class GeometryTest {
+    // Row and column steps of each direction, as in Geometry
+    private static final int[] ROW_STEPS = {0, 1, 0, -1, 1, 1, -1, -1};
+    private static final int[] COLUMN_STEPS = {1, 0, -1, 0, 1, -1, 1, -1};
+
+    @Test
+    public void testOf() {
+        assertEquals(1, Geometry.of(6).getWords());
+        assertEquals(1, Geometry.of(8).getWords());
+        assertEquals(2, Geometry.of(10).getWords());
+        assertEquals(3, Geometry.of(12).getWords());
+        assertEquals(4, Geometry.of(16).getWords());
+        assertEquals(100, Geometry.of(10).getSize());
+        assertSame(Geometry.of(12), Geometry.of(12));
+    }
+
+    @Test
+    public void testOfUnsupportedSide() {
+        int[] sides = {7, 2, 18, -8};
+        for (int side : sides) {
+            try {
+                Geometry.of(side);
+                fail("Exception not thrown.");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testStartSquares() {
+        assertArrayEquals(new int[]{Q1, Q2, Q3, Q4}, Geometry.of(SIDE_LENGTH).getStartSquares());
+        assertArrayEquals(new int[]{15, 14, 20, 21}, Geometry.of(6).getStartSquares());
+    }
+
+    @Test
+    public void testSetAndContains() {
+        long[] set = new long[3];
+        Geometry.set(set, 0);
+        Geometry.set(set, 64);
+        Geometry.set(set, 143);
+        assertTrue(Geometry.contains(set, 64));
+        assertFalse(Geometry.contains(set, 63));
+        assertEquals(1L << 15, set[2]);
+        Geometry.unset(set, 64);
+        assertEquals(0L, set[1]);
+    }
+
+    @Test
+    public void testSingleWordMatchesBitBoard() {
+        Geometry geometry = Geometry.of(SIDE_LENGTH);
+        Random random = new Random(24);
+        for (int i = 0; i < 2000; i++) {
+            long own = random.nextLong() & random.nextLong();
+            long opp = random.nextLong() & ~own;
+            assertEquals(BitBoard.generateMoves(own, opp), geometry.generateMoves(own, opp));
+            for (int dir = 0; dir < Geometry.DIRECTIONS; dir++) {
+                assertEquals(BitBoard.shift(own, dir), geometry.shift(own, dir));
+            }
+        }
+    }
+
+    @Test
+    public void testMultiWordShiftMatchesSquareBySquare() {
+        Random random = new Random(25);
+        for (int side = 10; side <= Geometry.MAX_SIDE; side += 2) {
+            Geometry geometry = Geometry.of(side);
+            long[] pieces = randomSet(geometry, random);
+            long[] shifted = new long[geometry.getWords()];
+            for (int dir = 0; dir < Geometry.DIRECTIONS; dir++) {
+                geometry.shift(pieces, dir, shifted);
+                for (int square = 0; square < geometry.getSize(); square++) {
+                    int row = square / side - ROW_STEPS[dir];
+                    int column = square % side - COLUMN_STEPS[dir];
+                    boolean isExpected = geometry.isOnBoard(row, column)
+                            && Geometry.contains(pieces, geometry.getSquare(row, column));
+                    assertEquals(isExpected, Geometry.contains(shifted, square));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMultiWordMovesMatchWalks() {
+        Random random = new Random(26);
+        for (int side = 10; side <= Geometry.MAX_SIDE; side += 2) {
+            Geometry geometry = Geometry.of(side);
+            int words = geometry.getWords();
+            for (int i = 0; i < 200; i++) {
+                long[] own = randomSet(geometry, random);
+                long[] opp = randomSet(geometry, random);
+                for (int w = 0; w < words; w++) {
+                    opp[w] &= ~own[w];
+                }
+                long[] moves = new long[words];
+                geometry.generateMoves(own, opp, moves, new long[words], new long[words]);
+                for (int square = 0; square < geometry.getSize(); square++) {
+                    boolean isEmpty = !Geometry.contains(own, square) && !Geometry.contains(opp, square);
+                    assertEquals(isEmpty && geometry.isValidMove(own, opp, square), Geometry.contains(moves, square));
+                }
+            }
+        }
+    }
+
+    // EFFECTS: Returns a random set of squares on geometry's board
+    private long[] randomSet(Geometry geometry, Random random) {
+        long[] set = new long[geometry.getWords()];
+        for (int square = 0; square < geometry.getSize(); square++) {
+            if (random.nextInt(3) == 0) {
+                Geometry.set(set, square);
+            }
+        }
+        return set;
+    }
+}
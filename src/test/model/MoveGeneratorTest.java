@@ -0,0 +1,114 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static model.GameBoard.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for MoveGenerator, run against every generator in MoveGenerator.ALL
+public class MoveGeneratorTest extends BoardTest {
+
+    @Test
+    public void testForName() {
+        assertSame(MoveGenerator.RAYS, MoveGenerator.forName("rays"));
+        assertSame(MoveGenerator.LINE_TABLE, MoveGenerator.forName("line-table"));
+        assertSame(MoveGenerator.KOGGE_STONE, MoveGenerator.forName("kogge-stone"));
+        assertSame(MoveGenerator.forName(System.getProperty(MoveGenerator.PROPERTY, "rays")), MoveGenerator.DEFAULT);
+        try {
+            MoveGenerator.forName("cursor");
+            fail("Exception not thrown.");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testStartingPosition() {
+        long fill = (1L << Q1) | (1L << Q3);
+        long clear = (1L << Q2) | (1L << Q4);
+        for (MoveGenerator generator : MoveGenerator.ALL) {
+            assertEquals((1L << 19) | (1L << 26) | (1L << 37) | (1L << 44), generator.generateMoves(fill, clear),
+                    generator.getName());
+            assertEquals(1L << Q2, generator.generateFlips(fill, clear, 26), generator.getName());
+        }
+    }
+
+    @Test
+    public void testLongRunsAndWrapping() {
+        long rowRun = 0x7eL;
+        long diagonalRun = 0x0040201008040200L;
+        for (MoveGenerator generator : MoveGenerator.ALL) {
+            assertEquals(1L << 7, generator.generateMoves(1L, rowRun), generator.getName());
+            assertEquals(rowRun, generator.generateFlips(1L, rowRun, 7), generator.getName());
+            assertEquals(1L << 63, generator.generateMoves(1L, diagonalRun), generator.getName());
+            assertEquals(diagonalRun, generator.generateFlips(1L, diagonalRun, 63), generator.getName());
+            // A run that would only reach its own piece by wrapping onto the next row flips nothing
+            assertEquals(0L, generator.generateMoves(1L << 7, 1L << 8), generator.getName());
+            assertEquals(0L, generator.generateMoves(1L << 8, 1L << 7), generator.getName());
+            assertEquals(0L, generator.generateFlips(1L << 15, 1L << 16, 17), generator.getName());
+        }
+    }
+
+    @Test
+    public void testRandomPositionsMatchWalks() {
+        Random random = new Random(25);
+        for (int i = 0; i < 3000; i++) {
+            long own = random.nextLong() & random.nextLong();
+            long opp = random.nextLong() & (i % 2 == 0 ? -1L : random.nextLong()) & ~own;
+            long expectedMoves = 0L;
+            for (int position = 0; position < BOARD_SIZE; position++) {
+                long expectedFlips = walkFlips(own, opp, position);
+                expectedMoves |= expectedFlips != 0 ? 1L << position : 0L;
+                for (MoveGenerator generator : MoveGenerator.ALL) {
+                    if (((own | opp) & (1L << position)) == 0) {
+                        assertEquals(expectedFlips, generator.generateFlips(own, opp, position), generator.getName());
+                    }
+                }
+            }
+            for (MoveGenerator generator : MoveGenerator.ALL) {
+                assertEquals(expectedMoves, generator.generateMoves(own, opp), generator.getName());
+            }
+        }
+    }
+
+    @Test
+    public void testGameBoardPlaysWithEachGenerator() {
+        for (MoveGenerator generator : MoveGenerator.ALL) {
+            Random random = new Random(7);
+            for (int game = 0; game < 20; game++) {
+                GameBoard expected = new GameBoard();
+                expected.setMoveGenerator(MoveGenerator.RAYS);
+                GameBoard board = new GameBoard();
+                board.setMoveGenerator(generator);
+                board.setIncremental(game % 2 == 0);
+                assertSame(generator, new GameBoard(board).getMoveGenerator());
+                while (!expected.isGameOver()) {
+                    assertEquals(expected.getValidMoveMask(), board.getValidMoveMask(), generator.getName());
+                    assertEquals(expected.getHash(), board.getHash(), generator.getName());
+                    int move = randomMove(expected, random);
+                    assertEquals(expected.flipsFor(move), board.flipsFor(move), generator.getName());
+                    assertTrue(expected.placePiece(move) && board.placePiece(move));
+                    expected.update();
+                    board.update();
+                }
+                assertEquals(expected.getFillPieceCount(), board.getFillPieceCount());
+                assertTrue(board.isGameOver());
+            }
+        }
+    }
+
+    // EFFECTS: Returns the pieces own would flip by placing a piece at position, walking every ray one square at a
+    //          time, or 0 if position is not empty
+    private long walkFlips(long own, long opp, int position) {
+        if (((own | opp) & (1L << position)) != 0) {
+            return 0L;
+        }
+        long flips = 0L;
+        for (int dir = 0; dir < BitBoard.DIRECTIONS; dir++) {
+            flips |= Rays.walk(own, opp, position, dir);
+        }
+        return flips;
+    }
+}
@@ -0,0 +1,61 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static model.GameBoard.*;
+import static model.State.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for Position
+public class PositionTest {
+
+    @Test
+    public void testStartPosition() {
+        Position start = new GameBoard().getPosition();
+
+        assertEquals(FILL, start.getTurn());
+        assertEquals(0x810000000L, start.getFill());
+        assertEquals(0x1008000000L, start.getClear());
+        assertEquals(start.getFill(), start.getPieces(FILL));
+        assertEquals(start.getClear(), start.getPieces(CLEAR));
+        assertEquals(2, start.getFillPieceCount());
+        assertEquals(2, start.getClearPieceCount());
+        assertEquals(BOARD_SIZE - 4, start.getEmptyCount());
+        assertEquals(BitBoard.generateMoves(start.getFill(), start.getClear()), start.getValidMoveMask());
+        assertEquals(Zobrist.hash(start.getFill(), start.getClear(), FILL), start.getHash());
+        assertEquals(0, start.getGameOverCounter());
+        assertFalse(start.isGameOver());
+    }
+
+    @Test
+    public void testGetState() {
+        Position start = new GameBoard().getPosition();
+        assertEquals(FILL, start.getState(Q1));
+        assertEquals(CLEAR, start.getState(Q2));
+        assertNull(start.getState(0));
+    }
+
+    @Test
+    public void testIsValidMove() {
+        Position start = new GameBoard().getPosition();
+        assertTrue(start.isValidMove(19));
+        assertFalse(start.isValidMove(0));
+        assertFalse(start.isValidMove(PASS));
+        assertFalse(start.isValidMove(BOARD_SIZE));
+    }
+
+    @Test
+    public void testEquals() {
+        Position first = new Position(1L, 2L, FILL, 4L, 5L, 1, 1, 0, false);
+        Position same = new Position(1L, 2L, FILL, 4L, 5L, 1, 1, 0, false);
+        Position otherTurn = new Position(1L, 2L, CLEAR, 4L, 5L, 1, 1, 0, false);
+
+        assertEquals(first, first);
+        assertEquals(first, same);
+        assertEquals(first.hashCode(), same.hashCode());
+        assertNotEquals(first, otherTurn);
+        assertNotEquals(first, new Position(1L, 2L, FILL, 4L, 5L, 1, 1, 2, true));
+        assertNotEquals(first, null);
+        assertNotEquals(first, "position");
+    }
+}
@@ -0,0 +1,74 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static model.Rays.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for Rays
+public class RaysTest {
+
+    @Test
+    public void testNeighboursInsideBoard() {
+        assertEquals(28, getNeighbour(RIGHT, 27));
+        assertEquals(35, getNeighbour(DOWN, 27));
+        assertEquals(26, getNeighbour(LEFT, 27));
+        assertEquals(19, getNeighbour(UP, 27));
+        assertEquals(36, getNeighbour(LOWER_RIGHT, 27));
+        assertEquals(34, getNeighbour(LOWER_LEFT, 27));
+        assertEquals(20, getNeighbour(UPPER_RIGHT, 27));
+        assertEquals(18, getNeighbour(UPPER_LEFT, 27));
+    }
+
+    @Test
+    public void testNeighboursAtEdges() {
+        assertEquals(NONE, getNeighbour(RIGHT, 7));
+        assertEquals(NONE, getNeighbour(LEFT, 8));
+        assertEquals(NONE, getNeighbour(UP, 3));
+        assertEquals(NONE, getNeighbour(DOWN, 60));
+        assertEquals(NONE, getNeighbour(UPPER_RIGHT, 15));
+        assertEquals(NONE, getNeighbour(LOWER_LEFT, 56));
+    }
+
+    @Test
+    public void testDistances() {
+        assertEquals(7, getDistance(RIGHT, 0));
+        assertEquals(0, getDistance(LEFT, 0));
+        assertEquals(7, getDistance(LOWER_RIGHT, 0));
+        assertEquals(0, getDistance(LOWER_LEFT, 0));
+        assertEquals(3, getDistance(UP, 27));
+        assertEquals(3, getDistance(UPPER_LEFT, 27));
+        assertEquals(3, getDistance(UPPER_RIGHT, 27));
+    }
+
+    @Test
+    public void testWalkClosedRun() {
+        long own = 1L << 3;
+        long opp = (1L << 1) | (1L << 2);
+        assertEquals(opp, walk(own, opp, 0, RIGHT));
+    }
+
+    @Test
+    public void testWalkOpenRuns() {
+        long opp = (1L << 1) | (1L << 2);
+        // Run reaches an empty square
+        assertEquals(0L, walk(0L, opp, 0, RIGHT));
+        // Run reaches the edge of the board
+        assertEquals(0L, walk(0L, (1L << 6) | (1L << 7), 5, RIGHT));
+        // No opposing pieces next to the starting square
+        assertEquals(0L, walk(1L << 1, 0L, 0, RIGHT));
+        // Nothing to walk from a corner towards its edge
+        assertEquals(0L, walk(-1L, -1L, 0, UP));
+    }
+
+    @Test
+    public void testGetLine() {
+        long line = getLine(0);
+        assertEquals(21, Long.bitCount(line));
+        assertEquals(0L, line & 1L);
+        assertNotEquals(0L, line & (1L << 63));
+        assertNotEquals(0L, line & (1L << 7));
+        assertNotEquals(0L, line & (1L << 56));
+        assertEquals(0L, line & (1L << 10));
+    }
+}
@@ -0,0 +1,70 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for SquareIterator
+public class SquareIteratorTest {
+
+    @Test
+    public void testEmptyMask() {
+        SquareIterator squares = new SquareIterator(0L);
+        assertFalse(squares.hasNext());
+        try {
+            squares.nextInt();
+            fail("Exception not thrown.");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testLowestFirst() {
+        SquareIterator squares = new SquareIterator((1L << 63) | (1L << 19) | 1L);
+        assertTrue(squares.hasNext());
+        assertEquals(0, squares.nextInt());
+        assertEquals(19, squares.nextInt());
+        assertEquals(63, squares.nextInt());
+        assertFalse(squares.hasNext());
+    }
+
+    @Test
+    public void testReset() {
+        SquareIterator squares = new SquareIterator(1L << 5);
+        assertEquals(5, squares.nextInt());
+        assertSame(squares, squares.reset(1L << 7));
+        assertEquals(7, squares.nextInt());
+        assertFalse(squares.hasNext());
+    }
+
+    @Test
+    public void testValidMoveSquares() {
+        GameBoard game = new GameBoard();
+        SquareIterator squares = game.getValidMoveSquares();
+        long moves = 0;
+        while (squares.hasNext()) {
+            moves |= 1L << squares.nextInt();
+        }
+        assertEquals(game.getValidMoveMask(), moves);
+        assertEquals(4, Long.bitCount(moves));
+    }
+
+    @Test
+    public void testValidMoveSquaresReused() {
+        GameBoard game = new GameBoard();
+        SquareIterator reuse = new SquareIterator(0L);
+        assertSame(reuse, game.getValidMoveSquares(reuse));
+        assertEquals(19, reuse.nextInt());
+
+        assertTrue(game.placePiece(19));
+        assertSame(reuse, game.getValidMoveSquares(reuse));
+        long moves = 0;
+        while (reuse.hasNext()) {
+            moves |= 1L << reuse.nextInt();
+        }
+        assertEquals(game.getValidMoveMask(), moves);
+    }
+}
@@ -0,0 +1,91 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static model.GameBoard.*;
+import static model.State.*;
+import static model.Symmetry.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for Symmetry
+public class SymmetryTest extends BoardTest {
+
+    @Test
+    public void testMaskTransformsMatchSquareTransforms() {
+        for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) {
+            for (int square = 0; square < BOARD_SIZE; square++) {
+                assertEquals(1L << transformSquare(square, symmetry), transform(1L << square, symmetry));
+            }
+        }
+        assertEquals(1L << 7, mirror(1L));
+        assertEquals(1L << 56, flip(1L));
+        assertEquals(1L << 8, transpose(1L << 1));
+        assertEquals(PASS, transformSquare(PASS, TRANSPOSE));
+    }
+
+    @Test
+    public void testSymmetriesAreDistinct() {
+        Set<Long> images = new HashSet<>();
+        long pieces = (1L << 1) | (1L << 2) | (1L << 10);
+        for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) {
+            images.add(transform(pieces, symmetry));
+        }
+        assertEquals(SYMMETRIES, images.size());
+    }
+
+    @Test
+    public void testInverse() {
+        Random random = new Random(12);
+        for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) {
+            long pieces = random.nextLong();
+            assertEquals(pieces, transform(transform(pieces, symmetry), inverse(symmetry)));
+            for (int square = 0; square < BOARD_SIZE; square++) {
+                assertEquals(square, fromCanonical(toCanonical(square, symmetry), symmetry));
+            }
+        }
+        assertEquals(IDENTITY, inverse(IDENTITY));
+        // A quarter turn one way is undone by a quarter turn the other way
+        assertEquals(TRANSPOSE | MIRROR, inverse(TRANSPOSE | FLIP));
+    }
+
+    @Test
+    public void testCanonicalFormSharedByVariants() {
+        Random random = new Random(13);
+        for (int i = 0; i < 200; i++) {
+            long fill = random.nextLong() & random.nextLong();
+            long clear = random.nextLong() & ~fill;
+            int canonical = getCanonicalSymmetry(fill, clear);
+            long canonicalFill = transform(fill, canonical);
+            long canonicalClear = transform(clear, canonical);
+            for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) {
+                long variantFill = transform(fill, symmetry);
+                long variantClear = transform(clear, symmetry);
+                int variantCanonical = getCanonicalSymmetry(variantFill, variantClear);
+                assertEquals(canonicalFill, transform(variantFill, variantCanonical));
+                assertEquals(canonicalClear, transform(variantClear, variantCanonical));
+            }
+        }
+    }
+
+    @Test
+    public void testTransformGameBoard() {
+        GameBoard game = new GameBoard();
+        game.placePiece(19);
+        for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) {
+            GameBoard variant = Symmetry.transform(game, symmetry);
+            assertEquals(CLEAR, variant.getTurn());
+            assertEquals(game.getFillPieceCount(), variant.getFillPieceCount());
+            assertEquals(transform(game.getPieces(FILL), symmetry), variant.getPieces(FILL));
+            assertEquals(transform(game.getValidMoveMask(), symmetry), variant.getValidMoveMask());
+            assertEquals(canonicalHash(game), canonicalHash(variant));
+        }
+        // The starting position is its own canonical form
+        GameBoard start = new GameBoard();
+        assertEquals(IDENTITY, getCanonicalSymmetry(start));
+        assertEquals(start.getHash(), canonicalHash(start));
+    }
+}
@@ -0,0 +1,181 @@
+package model;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import tools.Perft;
+import tools.VariantPerft;
+
+import java.util.Random;
+
+import static model.GameBoard.*;
+import static model.State.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for VariantBoard
+public class VariantBoardTest extends BoardTest {
+
+    @Test
+    public void testConstructor() {
+        VariantBoard board = new VariantBoard(10);
+        assertEquals(10, board.getSideLength());
+        assertEquals(FILL, board.getTurn());
+        assertEquals(2, board.getFillPieceCount());
+        assertEquals(2, board.getClearPieceCount());
+        assertEquals(FILL, board.getState(45));
+        assertEquals(CLEAR, board.getState(44));
+        assertNull(board.getState(0));
+        assertNull(board.getState(100));
+        assertEquals(4, board.getValidMoveCount());
+        assertFalse(board.isGameOver());
+    }
+
+    @Test
+    public void testUnsupportedSide() {
+        try {
+            new VariantBoard(9);
+            fail("Exception not thrown.");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testNextValidMove() {
+        VariantBoard board = new VariantBoard(12);
+        int first = board.nextValidMove(0);
+        assertTrue(board.isValidMove(first));
+        int count = 0;
+        for (int move = first; move >= 0; move = board.nextValidMove(move + 1)) {
+            assertTrue(board.isValidMove(move));
+            count++;
+        }
+        assertEquals(board.getValidMoveCount(), count);
+        assertEquals(-1, board.nextValidMove(board.getGeometry().getSize()));
+        assertFalse(board.isValidMove(-1));
+    }
+
+    @Test
+    public void testPlacePiece() {
+        VariantBoard board = new VariantBoard(10);
+        assertFalse(board.placePiece(0));
+        assertTrue(board.placePiece(34));
+        assertEquals(CLEAR, board.getTurn());
+        assertEquals(FILL, board.getState(34));
+        assertEquals(FILL, board.getState(44));
+        assertEquals(4, board.getFillPieceCount());
+        assertEquals(1, board.getClearPieceCount());
+        assertEquals(3, board.getValidMoveCount());
+    }
+
+    @Test
+    public void testMatchesGameBoard() {
+        Random random = new Random(27);
+        for (int game = 0; game < 50; game++) {
+            GameBoard expected = new GameBoard();
+            VariantBoard board = new VariantBoard(SIDE_LENGTH);
+            while (!expected.isGameOver()) {
+                assertEquals(expected.getTurn(), board.getTurn());
+                assertEquals(expected.getPieces(FILL), board.getPieces(FILL, 0));
+                assertEquals(expected.getPieces(CLEAR), board.getPieces(CLEAR, 0));
+                assertEquals(expected.getValidMoveMask(), board.getValidMoves(0));
+                assertEquals(expected.getFillPieceCount(), board.getFillPieceCount());
+                int move = randomMove(expected, random);
+                assertTrue(expected.placePiece(move));
+                assertTrue(board.placePiece(move));
+                expected.update();
+                board.update();
+            }
+            assertTrue(board.isGameOver());
+            assertEquals(expected.declareVictor(), board.declareVictor());
+        }
+    }
+
+    @Test
+    public void testRandomGamesOnEverySize() {
+        Random random = new Random(28);
+        for (int side = Geometry.MIN_SIDE; side <= 12; side += 2) {
+            for (int game = 0; game < 20; game++) {
+                VariantBoard board = new VariantBoard(side);
+                while (!board.isGameOver()) {
+                    assertMovesMatchWalks(board);
+                    int skip = random.nextInt(board.getValidMoveCount());
+                    int move = board.nextValidMove(0);
+                    for (; skip > 0; skip--) {
+                        move = board.nextValidMove(move + 1);
+                    }
+                    assertTrue(board.placePiece(move));
+                    board.update();
+                }
+                assertEquals(-1, board.nextValidMove(0));
+            }
+        }
+    }
+
+    @Test
+    public void testPerftMatchesReference() {
+        VariantBoard start = new VariantBoard(SIDE_LENGTH);
+        for (int depth = 0; depth <= 6; depth++) {
+            assertEquals(Perft.REFERENCE[depth], VariantPerft.count(start, depth));
+        }
+        assertEquals(VariantPerft.count(new VariantBoard(10), 5), VariantPerft.count(new VariantBoard(12), 5));
+    }
+
+    @Test
+    public void testCopy() {
+        VariantBoard board = new VariantBoard(10);
+        VariantBoard copy = new VariantBoard(board);
+        assertEquals(board, copy);
+        assertEquals(board.hashCode(), copy.hashCode());
+        assertTrue(copy.placePiece(copy.nextValidMove(0)));
+        assertNotEquals(board, copy);
+        assertEquals(FILL, board.getTurn());
+        assertEquals(4, board.getValidMoveCount());
+    }
+
+    @Test
+    public void testSetStateAndGameOver() {
+        VariantBoard board = new VariantBoard(6, FILL, 0);
+        board.setState(0, FILL);
+        board.setState(1, CLEAR);
+        board.setState(1, FILL);
+        board.setState(35, CLEAR);
+        board.setValidMoves();
+        assertEquals(2, board.getFillPieceCount());
+        assertEquals(1, board.getClearPieceCount());
+        assertEquals(0, board.getValidMoveCount());
+
+        // Neither player can move, so the game ends after both pass
+        board.update();
+        assertEquals(FILL, board.getTurn());
+        assertEquals(2, board.getGameOverCounter());
+        assertTrue(board.isGameOver());
+        assertEquals("fill", board.declareVictor());
+    }
+
+    @Test
+    public void testToJson() {
+        VariantBoard board = new VariantBoard(12);
+        JSONObject json = board.toJson();
+        assertEquals(12, json.getInt("size"));
+        assertEquals(FILL, json.get("turn"));
+        assertEquals(4, json.getJSONArray("pieces").length());
+        assertEquals(65, json.getJSONArray("pieces").getJSONObject(0).getInt("position"));
+        assertEquals(SIDE_LENGTH, new GameBoard().toJson().getInt("size"));
+    }
+
+    // EFFECTS: Checks that board's valid moves are the empty squares where a walk in some direction finds pieces to
+    //          flip
+    private void assertMovesMatchWalks(VariantBoard board) {
+        Geometry geometry = board.getGeometry();
+        long[] own = new long[geometry.getWords()];
+        long[] opp = new long[geometry.getWords()];
+        for (int w = 0; w < own.length; w++) {
+            own[w] = board.getPieces(board.getTurn(), w);
+            opp[w] = board.getPieces(BitBoard.opposite(board.getTurn()), w);
+        }
+        for (int square = 0; square < geometry.getSize(); square++) {
+            boolean isExpected = board.getState(square) == null && geometry.isValidMove(own, opp, square);
+            assertEquals(isExpected, board.isValidMove(square));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static model.State.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for Zobrist
+public class ZobristTest {
+
+    @Test
+    public void testHashEmptyBoard() {
+        assertEquals(0L, Zobrist.hash(0L, 0L, FILL));
+        assertEquals(Zobrist.TURN_KEY, Zobrist.hash(0L, 0L, CLEAR));
+    }
+
+    @Test
+    public void testHashSinglePieces() {
+        assertEquals(Zobrist.getKey(FILL, 5), Zobrist.hash(1L << 5, 0L, FILL));
+        assertEquals(Zobrist.getKey(CLEAR, 63), Zobrist.hash(0L, 1L << 63, FILL));
+        assertNotEquals(Zobrist.getKey(FILL, 5), Zobrist.getKey(CLEAR, 5));
+        assertNotEquals(Zobrist.getKey(FILL, 5), Zobrist.getKey(FILL, 6));
+    }
+
+    @Test
+    public void testFlipKey() {
+        long flips = (1L << 10) | (1L << 20);
+        long before = Zobrist.hash(flips, 0L, FILL);
+        long after = Zobrist.hash(0L, flips, FILL);
+        assertEquals(after, before ^ Zobrist.getFlipKey(flips));
+        assertEquals(0L, Zobrist.getFlipKey(0L));
+    }
+}
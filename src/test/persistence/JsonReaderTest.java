@@ -2,6 +2,8 @@ package persistence;
 
 import model.BoardTest;
 import model.GameBoard;
+import model.VariantBoard;
+import model.Zobrist;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -70,5 +72,26 @@ public class JsonReaderTest extends BoardTest {
         assertEquals(4, testBoard.getClearPieceCount());
         assertEquals(5, testBoard.getFillPieceCount());
         assertEquals(0, testBoard.getGameOverCounter());
+        assertEquals(5, Long.bitCount(testBoard.getPieces(FILL)));
+        assertEquals(Zobrist.hash(testBoard.getPieces(FILL), testBoard.getPieces(CLEAR), CLEAR), testBoard.getHash());
+    }
+
+    @Test
+    public void testReaderVariantOfOldSave() {
+        JsonReader reader = new JsonReader("./data/test/testReaderGeneralBoard.json");
+        VariantBoard variant = null;
+        try {
+            testBoard = reader.read();
+            variant = reader.readVariant();
+        } catch (IOException e) {
+            fail("Exception not expected.");
+        }
+
+        assertEquals(GameBoard.SIDE_LENGTH, variant.getSideLength());
+        assertEquals(CLEAR, variant.getTurn());
+        assertEquals(testBoard.getFillPieceCount(), variant.getFillPieceCount());
+        assertEquals(testBoard.getClearPieceCount(), variant.getClearPieceCount());
+        assertEquals(testBoard.getPieces(FILL), variant.getPieces(FILL, 0));
+        assertEquals(testBoard.getPieces(CLEAR), variant.getPieces(CLEAR, 0));
     }
 }
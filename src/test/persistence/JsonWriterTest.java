@@ -2,6 +2,7 @@ package persistence;
 
 import model.BoardTest;
 import model.GameBoard;
+import model.VariantBoard;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -10,6 +11,7 @@ import java.io.IOException;
 
 import static model.State.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 // JUnit test class for JsonWriter
@@ -93,4 +95,34 @@ public class JsonWriterTest extends BoardTest {
         assertEquals(19, testBoard.getClearPieceCount());
     }
 
+    @Test
+    public void testWriterVariantBoard() {
+        VariantBoard variant = new VariantBoard(10);
+        variant.placePiece(34);
+        VariantBoard loaded = null;
+
+        try {
+            JsonWriter writer = new JsonWriter("./data/test/testWriterVariantBoard.json");
+            writer.open();
+            writer.write(variant);
+            writer.close();
+
+            JsonReader reader = new JsonReader("./data/test/testWriterVariantBoard.json");
+            loaded = reader.readVariant();
+        } catch (IOException e) {
+            fail("Exception not expected.");
+        }
+
+        assertEquals(variant, loaded);
+        assertEquals(10, loaded.getSideLength());
+        assertEquals(4, loaded.getFillPieceCount());
+        assertEquals(1, loaded.getClearPieceCount());
+        assertTrue(loaded.isValidMove(33));
+        try {
+            new JsonReader("./data/test/testWriterVariantBoard.json").read();
+            fail("Exception not thrown.");
+        } catch (IOException e) {
+            // expected
+        }
+    }
 }
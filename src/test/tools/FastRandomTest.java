@@ -0,0 +1,49 @@
+package tools;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for FastRandom
+public class FastRandomTest {
+
+    @Test
+    public void testSameSeedSameSequence() {
+        FastRandom first = new FastRandom(42);
+        FastRandom second = new FastRandom(7);
+        second.setSeed(42);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.nextLong(), second.nextLong());
+        }
+    }
+
+    @Test
+    public void testZeroSeed() {
+        FastRandom random = new FastRandom(0);
+        long first = random.nextLong();
+        assertNotEquals(0, first);
+        assertNotEquals(first, random.nextLong());
+        assertNotEquals(first, new FastRandom(1).nextLong());
+    }
+
+    @Test
+    public void testNextIntCoversBound() {
+        FastRandom random = new FastRandom(3);
+        int[] counts = new int[10];
+        for (int i = 0; i < 10000; i++) {
+            int value = random.nextInt(10);
+            assertTrue(value >= 0 && value < 10);
+            counts[value]++;
+        }
+        for (int count : counts) {
+            assertEquals(1000, count, 150);
+        }
+        assertEquals(0, random.nextInt(1));
+    }
+
+    @Test
+    public void testMix() {
+        assertNotEquals(FastRandom.mix(1), FastRandom.mix(2));
+        assertEquals(FastRandom.mix(12345), FastRandom.mix(12345));
+    }
+}
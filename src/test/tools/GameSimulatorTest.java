@@ -0,0 +1,91 @@
+package tools;
+
+import model.GameBoard;
+import org.junit.jupiter.api.Test;
+
+import static model.GameBoard.PASS;
+import static model.State.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for GameSimulator
+public class GameSimulatorTest {
+
+    @Test
+    public void testTotals() throws Exception {
+        GameSimulator simulator = new GameSimulator(MovePolicy.RANDOM, MovePolicy.RANDOM, 1);
+        SimulationResult result = simulator.run(5, 1000);
+
+        assertEquals(1, simulator.getThreads());
+        assertEquals(1000, result.getGames());
+        assertEquals(1000, result.getFillWins() + result.getClearWins() + result.getDraws());
+        // Every game fills at most the 60 empty squares, and most fill all of them
+        assertTrue(result.getPlies() <= 60 * 1000);
+        assertTrue(result.getPlies() > 55 * 1000);
+        assertTrue(result.getFillWins() > 300 && result.getClearWins() > 300);
+        assertTrue(result.getGamesPerSecond() > 0);
+        assertTrue(result.getPliesPerSecond() > result.getGamesPerSecond());
+    }
+
+    @Test
+    public void testDeterministic() throws Exception {
+        SimulationResult first = new GameSimulator(MovePolicy.RANDOM, MovePolicy.GREEDY, 1).run(9, 10000);
+        SimulationResult again = new GameSimulator(MovePolicy.RANDOM, MovePolicy.GREEDY, 1).run(9, 10000);
+        // Games are shared out in blocks, so 3 threads get uneven shares
+        SimulationResult threaded = new GameSimulator(MovePolicy.RANDOM, MovePolicy.GREEDY, 3).run(9, 10000);
+        SimulationResult other = new GameSimulator(MovePolicy.RANDOM, MovePolicy.GREEDY, 1).run(10, 10000);
+
+        assertEquals(first.getChecksum(), again.getChecksum());
+        assertEquals(first.getChecksum(), threaded.getChecksum());
+        assertEquals(first.getPlies(), threaded.getPlies());
+        assertEquals(first.getFillWins(), threaded.getFillWins());
+        assertEquals(first.getAverageDifference(), threaded.getAverageDifference());
+        assertNotEquals(first.getChecksum(), other.getChecksum());
+    }
+
+    @Test
+    public void testGreedyBeatsRandom() throws Exception {
+        SimulationResult result = new GameSimulator(MovePolicy.GREEDY, MovePolicy.RANDOM, 2).run(1, 2000);
+        assertTrue(result.getFillWins() > result.getClearWins());
+        assertTrue(result.getAverageDifference() > 0);
+    }
+
+    @Test
+    public void testMatchesGameBoard() {
+        GameSimulator simulator = new GameSimulator(MovePolicy.RANDOM, MovePolicy.RANDOM, 1);
+        for (int game = 0; game < 20; game++) {
+            SimulationResult result = new SimulationResult();
+            simulator.playGame(new FastRandom(game), result);
+
+            // Replays the same game on a GameBoard, drawing the same random numbers
+            FastRandom random = new FastRandom(game);
+            GameBoard board = new GameBoard();
+            int plies = 0;
+            while (!board.isGameOver()) {
+                long moves = board.getValidMoveMask();
+                if (moves != 0) {
+                    plies++;
+                }
+                board.makeMove(moves == 0 ? PASS : MovePolicy.pick(moves, random));
+            }
+            assertEquals(plies, result.getPlies());
+            long fill = board.getPieces(FILL);
+            long clear = board.getPieces(CLEAR);
+            SimulationResult expected = new SimulationResult();
+            expected.addGame(plies, 0, fill, clear);
+            assertEquals(expected.getChecksum(), result.getChecksum());
+            assertEquals(Long.bitCount(fill) - Long.bitCount(clear), result.getAverageDifference());
+        }
+    }
+
+    @Test
+    public void testForName() {
+        assertSame(MovePolicy.RANDOM, MovePolicy.forName("random"));
+        assertSame(MovePolicy.GREEDY, MovePolicy.forName("greedy"));
+        try {
+            MovePolicy.forName("minimax");
+            fail("Exception not thrown.");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package tools;
+
+import engine.Search;
+import engine.SquareEvaluator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for Match
+public class MatchTest {
+
+    @Test
+    public void testToElo() {
+        assertEquals(0, Match.toElo(0.5), 1e-9);
+        assertEquals(190.8, Match.toElo(0.75), 0.1);
+        assertEquals(-190.8, Match.toElo(0.25), 0.1);
+        assertTrue(Match.toElo(1.0) > 1000);
+    }
+
+    @Test
+    public void testNoGames() {
+        Match match = new Match(new Search(new SquareEvaluator(), 1), new Search(new SquareEvaluator(), 1), 1, 1000);
+        assertEquals(0, match.getGames());
+        assertEquals(0.5, match.getScore());
+        assertEquals(0, match.getElo(), 1e-9);
+        assertEquals(0, match.getEloMargin());
+        assertEquals(0, match.getNodesPerMove(0));
+    }
+
+    @Test
+    public void testPlay() {
+        Search selective = new Search(new SquareEvaluator(), 1);
+        selective.setSelective(true);
+        Match match = new Match(selective, new Search(new SquareEvaluator(), 1), 3, 100000);
+        match.play(3);
+
+        assertEquals(6, match.getGames());
+        assertEquals(6, match.getWins() + match.getDraws() + match.getLosses());
+        for (int player = 0; player < 2; player++) {
+            assertTrue(match.getNodesPerMove(player) > 0);
+            assertTrue(match.getDepthPerMove(player) >= 1 && match.getDepthPerMove(player) <= 3);
+        }
+        assertTrue(match.getEloMargin() >= 0);
+    }
+}
@@ -0,0 +1,70 @@
+package tools;
+
+import model.BoardTest;
+import model.GameBoard;
+import persistence.JsonReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static model.State.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for Perft
+public class PerftTest extends BoardTest {
+
+    @Test
+    public void testCountMatchesReference() {
+        GameBoard game = new GameBoard();
+        for (int depth = 0; depth <= 7; depth++) {
+            assertEquals(Perft.REFERENCE[depth], Perft.count(game, depth, false));
+            assertEquals(Perft.REFERENCE[depth], Perft.count(game, depth, true));
+        }
+        assertEquals(Perft.REFERENCE[9], Perft.count(game, 9, true));
+        assertEquals(0, game.getUndoDepth());
+    }
+
+    @Test
+    public void testCountLegacyMatchesReference() {
+        GameBoard game = new GameBoard();
+        for (int depth = 0; depth <= 5; depth++) {
+            assertEquals(Perft.REFERENCE[depth], Perft.countLegacy(game, depth));
+        }
+        assertEquals(4, Long.bitCount(game.getValidMoveMask()));
+    }
+
+    @Test
+    public void testCountFromSave() {
+        try {
+            GameBoard game = new JsonReader("./data/test/testReaderGeneralBoard.json").read();
+            long hash = game.getHash();
+            for (int depth = 1; depth <= 4; depth++) {
+                long expected = Perft.countLegacy(game, depth);
+                assertEquals(expected, Perft.count(game, depth, false));
+                assertEquals(expected, Perft.count(game, depth, true));
+            }
+            assertEquals(hash, game.getHash());
+        } catch (IOException e) {
+            fail("Unexpected IOException");
+        }
+    }
+
+    @Test
+    public void testCountPassAndFinishedGame() {
+        GameBoard game = new GameBoard(FILL, 0, 0, 0);
+        setPiece(game, 0, FILL);
+        setPiece(game, 1, CLEAR);
+        game.setValidMoves();
+        // Fill has the only move, after which neither player can move again
+        assertEquals(1, Perft.count(game, 1, false));
+        assertEquals(1, Perft.count(game, 3, false));
+        assertEquals(1, Perft.count(game, 3, true));
+        assertEquals(1, Perft.countLegacy(game, 3));
+
+        game.setTurn(CLEAR);
+        // Clear must pass before fill can take its move
+        assertEquals(1, Perft.count(game, 1, true));
+        assertEquals(1, Perft.count(game, 2, false));
+        assertEquals(1, Perft.countLegacy(game, 2));
+    }
+}
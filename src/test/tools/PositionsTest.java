@@ -0,0 +1,47 @@
+package tools;
+
+import model.GameBoard;
+import org.junit.jupiter.api.Test;
+
+import static model.GameBoard.*;
+import static model.State.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for Positions
+public class PositionsTest {
+
+    @Test
+    public void testRandomPositionIsReproducible() {
+        GameBoard first = Positions.randomPosition(3, 20);
+        GameBoard second = Positions.randomPosition(3, 20);
+        assertEquals(first.getHash(), second.getHash());
+        assertEquals(24, Long.bitCount(first.getPieces(FILL) | first.getPieces(CLEAR)));
+        assertEquals(0, first.getUndoDepth());
+        assertEquals(4, Positions.randomPositions(4, 10).length);
+    }
+
+    @Test
+    public void testFromObfStart() {
+        String line = "---------------------------OX------XO--------------------------- X ; start";
+        GameBoard game = Positions.fromObf(line);
+        GameBoard start = new GameBoard();
+        assertEquals(FILL, game.getTurn());
+        assertEquals(start.getHash(), game.getHash());
+        assertEquals(start.getValidMoveMask(), game.getValidMoveMask());
+        assertEquals(2, game.getFillPieceCount());
+        assertEquals(2, game.getClearPieceCount());
+    }
+
+    @Test
+    public void testFromObfClearToMove() {
+        StringBuilder squares = new StringBuilder();
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            squares.append(i == 0 ? 'X' : i == 1 ? 'O' : '-');
+        }
+        GameBoard game = Positions.fromObf(squares + " O");
+        assertEquals(CLEAR, game.getTurn());
+        assertEquals(1L, game.getPieces(FILL));
+        assertEquals(2L, game.getPieces(CLEAR));
+        assertEquals(0L, game.getValidMoveMask());
+    }
+}
@@ -0,0 +1,60 @@
+package tools;
+
+import engine.EndgameSolver;
+import engine.Evaluator;
+import engine.PatternEvaluator;
+import engine.Search;
+import model.GameBoard;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for Trainer
+public class TrainerTest {
+
+    @Test
+    public void testPlayGameLabelsEveryPosition() {
+        Search search = new Search(PatternEvaluator.fromSquareWeights(), 1);
+        TrainingSet set = new TrainingSet();
+        Trainer.playGame(5, search, new EndgameSolver(), 1, set);
+
+        assertTrue(set.size() >= 30);
+        // The game starts from the starting position, labelled with the score of a search of it
+        assertEquals(0x810000000L, set.getOwn(0));
+        assertEquals(0x1008000000L, set.getOpp(0));
+        GameBoard start = new GameBoard();
+        assertEquals(search.findBestMove(start, 1, 1000).getScore(), set.getTarget(0));
+        for (int i = 0; i < set.size(); i++) {
+            assertEquals(0L, set.getOwn(i) & set.getOpp(i));
+        }
+        // The last position is solved exactly, so its label is the final piece difference it leads to
+        int last = set.size() - 1;
+        long empty = ~(set.getOwn(last) | set.getOpp(last));
+        assertTrue(Long.bitCount(empty) <= Trainer.SOLVE_EMPTIES);
+        assertEquals(0, set.getTarget(last) % Trainer.DISC_WEIGHT);
+
+        TrainingSet again = new TrainingSet();
+        Trainer.playGame(5, new Search(PatternEvaluator.fromSquareWeights(), 1), new EndgameSolver(), 1, again);
+        assertEquals(set.size(), again.size());
+        assertEquals(set.getOwn(last), again.getOwn(last));
+        assertEquals(set.getTarget(last), again.getTarget(last));
+    }
+
+    @Test
+    public void testLabel() {
+        assertEquals(37, Trainer.label(37));
+        assertEquals(-Evaluator.WIN_SCORE, Trainer.label(-Evaluator.WIN_SCORE));
+        assertEquals(0, Trainer.label(Search.exactScore(0)));
+        assertEquals(6 * Trainer.DISC_WEIGHT, Trainer.label(Search.exactScore(6)));
+        assertEquals(-64 * Trainer.DISC_WEIGHT, Trainer.label(Search.exactScore(-64)));
+    }
+
+    @Test
+    public void testGenerateAndFit() throws Exception {
+        PatternEvaluator evaluator = PatternEvaluator.fromSquareWeights();
+        TrainingSet set = Trainer.generate(evaluator, 4, 1, 2);
+        assertTrue(set.size() >= 4 * 30);
+        PatternEvaluator trained = Trainer.fit(evaluator, set, 2);
+        assertEquals(PatternEvaluator.PHASES, trained.getTables().length);
+    }
+}
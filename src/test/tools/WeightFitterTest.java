@@ -0,0 +1,72 @@
+package tools;
+
+import engine.PatternEvaluator;
+import model.BitBoard;
+import model.GameBoard;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static engine.PatternEvaluator.PHASES;
+import static org.junit.jupiter.api.Assertions.*;
+
+// JUnit test class for WeightFitter
+public class WeightFitterTest {
+
+    @Test
+    public void testUnfittedWeightsMatchEvaluator() {
+        PatternEvaluator evaluator = PatternEvaluator.fromSquareWeights();
+        WeightFitter fitter = new WeightFitter(evaluator);
+        TrainingSet set = new TrainingSet();
+        GameBoard[] positions = Positions.randomPositions(20, 30);
+        for (GameBoard position : positions) {
+            long own = position.getPieces(position.getTurn());
+            long opp = position.getPieces(BitBoard.opposite(position.getTurn()));
+            set.add(own, opp, evaluator.evaluate(position));
+        }
+        fitter.setTrainingSet(set);
+        assertEquals(0.0, fitter.getError(), 1e-3);
+        for (int i = 0; i < positions.length; i++) {
+            assertEquals(evaluator.evaluate(positions[i]), fitter.predict(i), 1e-3);
+        }
+        PatternEvaluator copy = fitter.toEvaluator();
+        for (int phase = 0; phase < PHASES; phase++) {
+            assertArrayEquals(evaluator.getTables()[phase], copy.getTables()[phase]);
+        }
+        assertArrayEquals(evaluator.getMobilityWeights(), copy.getMobilityWeights());
+    }
+
+    @Test
+    public void testFittingReducesError() {
+        // Targets that favour the player holding more corners, which the seed weights only partly capture
+        TrainingSet set = new TrainingSet();
+        for (GameBoard position : Positions.randomPositions(500, 40)) {
+            long own = position.getPieces(position.getTurn());
+            long opp = position.getPieces(BitBoard.opposite(position.getTurn()));
+            long corners = 0x8100000000000081L;
+            set.add(own, opp, 200 * (Long.bitCount(own & corners) - Long.bitCount(opp & corners)));
+        }
+        WeightFitter fitter = new WeightFitter(PatternEvaluator.fromSquareWeights());
+        fitter.setTrainingSet(set);
+        double before = fitter.getError();
+        Random random = new Random(1);
+        for (int epoch = 0; epoch < 30; epoch++) {
+            fitter.runEpoch(WeightFitter.DEFAULT_BATCH_SIZE, WeightFitter.DEFAULT_RATE, random);
+        }
+        assertTrue(fitter.getError() < before * 0.8);
+    }
+
+    @Test
+    public void testTrainingSetGrows() {
+        TrainingSet set = new TrainingSet();
+        for (int i = 0; i < 5000; i++) {
+            set.add(i, -i, i * 2);
+        }
+        TrainingSet copy = new TrainingSet();
+        copy.addAll(set);
+        assertEquals(5000, copy.size());
+        assertEquals(4321L, copy.getOwn(4321));
+        assertEquals(-4321L, copy.getOpp(4321));
+        assertEquals(8642, copy.getTarget(4321));
+    }
+}